@@ -0,0 +1,156 @@
+package de.gnmyt.mcdash.benchmarks;
+
+import com.sun.net.httpserver.HttpHandler;
+import de.gnmyt.mcdash.api.engine.HttpEngine;
+import de.gnmyt.mcdash.api.http.ResponseController;
+import de.gnmyt.mcdash.api.json.ArrayBuilder;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the requests per second and the latency percentiles of the http engines under concurrent load.
+ * Usage: <code>java -cp benchmarks.jar de.gnmyt.mcdash.benchmarks.EngineLoadTest [connections] [seconds]</code>
+ */
+public class EngineLoadTest {
+
+    private static final String[] ENGINES = {"jdk", "nio"};
+
+    public static void main(String[] args) throws Exception {
+        int connections = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 15;
+
+        ArrayBuilder players = Payloads.players(50);
+        HttpHandler handler = exchange -> new ResponseController(exchange).compress(1024).json(players);
+
+        System.out.printf("%-6s %12s %10s %10s %10s %8s%n", "engine", "requests/s", "p50 ms", "p99 ms", "p999 ms", "errors");
+        for (String name : ENGINES) {
+            run(name, handler, connections, 3);
+            Result result = run(name, handler, connections, seconds);
+            System.out.printf("%-6s %12.0f %10.2f %10.2f %10.2f %8d%n", name, result.throughput(),
+                    result.percentile(0.5), result.percentile(0.99), result.percentile(0.999), result.errors());
+        }
+    }
+
+    /**
+     * Starts an engine and sends requests to it from the provided amount of clients
+     * @param name The name of the engine
+     * @param handler The handler answering the requests
+     * @param connections The amount of concurrent clients
+     * @param seconds The duration of the run
+     * @return the result of the run
+     * @throws Exception An exception that can occur while starting the engine or the clients
+     */
+    private static Result run(String name, HttpHandler handler, int connections, int seconds) throws Exception {
+        int port = freePort();
+        HttpEngine engine = HttpEngine.create(name);
+        engine.createContext("/api/", handler);
+
+        try (ExecutorService serverExecutor = Executors.newVirtualThreadPerTaskExecutor();
+             ExecutorService clientExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            engine.start(new InetSocketAddress("127.0.0.1", port), serverExecutor);
+
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/api/players"))
+                    .header("Accept-Encoding", "gzip").build();
+
+            return load(request, connections, seconds, clientExecutor);
+        } finally {
+            engine.stop();
+        }
+    }
+
+    /**
+     * Sends the same request from the provided amount of clients until the duration is over
+     * @param request The request the clients should send
+     * @param connections The amount of concurrent clients
+     * @param seconds The duration of the run
+     * @param clientExecutor The executor the clients run on
+     * @return the result of the run
+     * @throws Exception An exception that can occur while waiting for the clients
+     */
+    static Result load(HttpRequest request, int connections, int seconds, ExecutorService clientExecutor) throws Exception {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+                .executor(clientExecutor).build();
+
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        List<Future<long[]>> clients = new ArrayList<>();
+        int[] errors = new int[connections];
+
+        for (int i = 0; i < connections; i++) {
+            int index = i;
+            clients.add(clientExecutor.submit(() -> {
+                long[] latencies = new long[1024];
+                int count = 0;
+
+                while (System.nanoTime() < end) {
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                        if (response.statusCode() != 200) errors[index]++;
+                    } catch (IOException e) {
+                        errors[index]++;
+                        continue;
+                    }
+
+                    if (count == latencies.length) latencies = Arrays.copyOf(latencies, count * 2);
+                    latencies[count++] = System.nanoTime() - start;
+                }
+
+                return Arrays.copyOf(latencies, count);
+            }));
+        }
+
+        List<long[]> results = new ArrayList<>();
+        for (Future<long[]> future : clients) results.add(future.get());
+
+        return Result.of(results, Arrays.stream(errors).sum(), seconds);
+    }
+
+    /**
+     * Finds a port that is currently not in use
+     * @return the free port
+     * @throws IOException An exception that can occur while opening the socket
+     */
+    static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    /**
+     * The result of a load test run
+     * @param latencies The sorted latencies of all successful requests in nanoseconds
+     * @param errors The amount of failed requests
+     * @param seconds The duration of the run
+     */
+    record Result(long[] latencies, int errors, int seconds) {
+
+        static Result of(List<long[]> results, int errors, int seconds) {
+            long[] latencies = results.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+            return new Result(latencies, errors, seconds);
+        }
+
+        double throughput() {
+            return (double) latencies.length / seconds;
+        }
+
+        double percentile(double percentile) {
+            if (latencies.length == 0) return 0;
+            int index = (int) Math.min(latencies.length - 1, Math.ceil(percentile * latencies.length) - 1);
+            return latencies[Math.max(0, index)] / 1e6;
+        }
+    }
+
+}
@@ -0,0 +1,423 @@
+package de.gnmyt.mcdash.benchmarks;
+
+import de.gnmyt.mcdash.api.platform.CommandResult;
+import de.gnmyt.mcdash.api.platform.OfflinePlayerInfo;
+import de.gnmyt.mcdash.api.platform.PlayerInfo;
+import de.gnmyt.mcdash.api.platform.PluginInfo;
+import de.gnmyt.mcdash.api.platform.Platform;
+import de.gnmyt.mcdash.api.platform.WorldInfo;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * An in-memory {@link Platform} that simulates a minecraft server: a main thread ticking 20 times per second,
+ * players joining and quitting and loading chunks, worlds whose time advances and a fixed list of plugins.
+ * The random generator is seeded, so that every run sees the same server
+ */
+public class FakePlatform implements Platform {
+
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final String[] WORLDS = {"world", "world_nether", "world_the_end"};
+    private static final String[] ENVIRONMENTS = {"NORMAL", "NETHER", "THE_END"};
+    private static final String[] GAME_MODES = {"SURVIVAL", "CREATIVE", "ADVENTURE", "SPECTATOR"};
+
+    private final Logger logger = Logger.getLogger(FakePlatform.class.getName());
+    private final File dataFolder;
+    private final int maxPlayers;
+    private final Random random;
+
+    private final Queue<FutureTask<?>> syncTasks = new ConcurrentLinkedQueue<>();
+    private final List<RepeatingTask> repeatingTasks = new CopyOnWriteArrayList<>();
+    private final List<PlayerListener> listeners = new CopyOnWriteArrayList<>();
+    private final List<ChunkListener> chunkListeners = new CopyOnWriteArrayList<>();
+    private final List<PluginInfo> plugins = new ArrayList<>();
+    private final List<OfflinePlayerInfo> bannedPlayers = new ArrayList<>();
+    private final List<OfflinePlayerInfo> whitelistedPlayers = new ArrayList<>();
+
+    private final List<PlayerInfo> players = new ArrayList<>();
+    private final long[] worldTimes = new long[WORLDS.length];
+    private volatile List<PlayerInfo> playerView = List.of();
+    private volatile List<WorldInfo> worldView = List.of();
+
+    private double churn = 0.05;
+    private long tickWork;
+    private volatile long tick;
+    private int joinedPlayers;
+
+    private volatile boolean running;
+    private Thread mainThread;
+
+    /**
+     * Basic constructor of the {@link FakePlatform}
+     * @param dataFolder The folder the dashboard should store its data in
+     * @param players The amount of players that are online when the server starts
+     * @param seed The seed of the random generator
+     */
+    public FakePlatform(File dataFolder, int players, long seed) {
+        this.dataFolder = dataFolder;
+        this.maxPlayers = Math.max(20, players * 2);
+        this.random = new Random(seed);
+
+        for (int i = 0; i < players; i++) this.players.add(createPlayer());
+        for (int i = 0; i < 25; i++) {
+            bannedPlayers.add(new OfflinePlayerInfo(new UUID(random.nextLong(), random.nextLong()), "Banned_" + i,
+                    "Simulated ban", 1_700_000_000_000L + random.nextInt(Integer.MAX_VALUE)));
+        }
+        for (PlayerInfo player : this.players) {
+            whitelistedPlayers.add(new OfflinePlayerInfo(player.uuid(), player.name(), null, System.currentTimeMillis()));
+        }
+        for (int i = 0; i < 12; i++) {
+            plugins.add(new PluginInfo("Plugin" + i, "Author" + i, "A simulated plugin", "Plugin" + i + ".jar",
+                    i % 6 != 5, "1." + i + ".0"));
+        }
+        publish();
+    }
+
+    /**
+     * Sets the probability per tick that a player quits and another one joins
+     * @param churn The probability between 0 and 1
+     * @return the current instance
+     */
+    public FakePlatform setChurn(double churn) {
+        this.churn = churn;
+        return this;
+    }
+
+    /**
+     * Sets the time the main thread is busy in every tick, to simulate the load of a real server
+     * @param tickWork The busy time per tick in nanoseconds
+     * @return the current instance
+     */
+    public FakePlatform setTickWork(long tickWork) {
+        this.tickWork = tickWork;
+        return this;
+    }
+
+    /**
+     * Starts the main thread of the server
+     * @return the current instance
+     */
+    public synchronized FakePlatform start() {
+        if (running) return this;
+        running = true;
+
+        mainThread = new Thread(this::run, "Server thread");
+        mainThread.start();
+        return this;
+    }
+
+    /**
+     * Stops the main thread of the server after the current tick
+     */
+    public synchronized void stop() {
+        running = false;
+        if (mainThread != null) LockSupport.unpark(mainThread);
+    }
+
+    /**
+     * Waits until the main thread of the server has stopped
+     * @throws InterruptedException An exception that can occur while waiting
+     */
+    public void awaitStop() throws InterruptedException {
+        Thread thread;
+        synchronized (this) {
+            thread = mainThread;
+        }
+        if (thread != null) thread.join();
+    }
+
+    /**
+     * Checks if the main thread of the server is running
+     * @return <code>true</code> if the server is running, otherwise <code>false</code>
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Gets the amount of ticks the server has run
+     * @return the amount of ticks
+     */
+    public long getTicks() {
+        return tick;
+    }
+
+    @Override
+    public String getName() {
+        return "Headless";
+    }
+
+    @Override
+    public String getVersion() {
+        return "1.21.11-R0.1-SNAPSHOT";
+    }
+
+    @Override
+    public String getIp() {
+        return "";
+    }
+
+    @Override
+    public int getPort() {
+        return 25565;
+    }
+
+    @Override
+    public String getMotd() {
+        return "A simulated Minecraft Server";
+    }
+
+    @Override
+    public int getMaxPlayers() {
+        return maxPlayers;
+    }
+
+    @Override
+    public boolean hasWhitelist() {
+        return false;
+    }
+
+    @Override
+    public int getOnlinePlayerCount() {
+        return playerView.size();
+    }
+
+    @Override
+    public List<PlayerInfo> getOnlinePlayers() {
+        return playerView;
+    }
+
+    @Override
+    public List<OfflinePlayerInfo> getBannedPlayers() {
+        return bannedPlayers;
+    }
+
+    @Override
+    public List<OfflinePlayerInfo> getWhitelistedPlayers() {
+        return whitelistedPlayers;
+    }
+
+    @Override
+    public List<WorldInfo> getWorlds() {
+        return worldView;
+    }
+
+    @Override
+    public List<PluginInfo> getPlugins() {
+        return plugins;
+    }
+
+    @Override
+    public List<File> saveWorlds() {
+        List<File> folders = new ArrayList<>();
+        for (String world : WORLDS) {
+            File folder = new File(dataFolder, "worlds/" + world);
+            if (!folder.exists() && !folder.mkdirs()) logger.warning("Could not create the world folder " + folder);
+            folders.add(folder);
+        }
+        return folders;
+    }
+
+    /**
+     * Executes the simulated commands <code>list</code> and <code>say</code>, all other commands are unknown
+     * @param command The command without the leading slash
+     * @return the result of the command
+     */
+    @Override
+    public CommandResult dispatchCommand(String command) {
+        long start = System.nanoTime();
+        String[] args = command.split(" ", 2);
+
+        List<String> output;
+        boolean success = true;
+        if (args[0].equalsIgnoreCase("list")) {
+            List<String> names = new ArrayList<>();
+            for (PlayerInfo player : players) names.add(player.name());
+            output = List.of("There are " + players.size() + " of a max of " + maxPlayers + " players online: "
+                    + String.join(", ", names));
+        } else if (args[0].equalsIgnoreCase("say") && args.length > 1) {
+            output = List.of();
+            logger.info("[Server] " + args[1]);
+        } else {
+            output = List.of("Unknown or incomplete command, see below for error", command + "<--[HERE]");
+            success = false;
+        }
+
+        return new CommandResult(command, success, output, System.nanoTime() - start);
+    }
+
+    @Override
+    public File getDataFolder() {
+        return dataFolder;
+    }
+
+    @Override
+    public Logger getLogger() {
+        return logger;
+    }
+
+    @Override
+    public <T> Future<T> callSync(Callable<T> task) {
+        FutureTask<T> future = new FutureTask<>(task);
+        syncTasks.add(future);
+        return future;
+    }
+
+    @Override
+    public Task runSyncRepeating(Runnable task, long delay, long period) {
+        RepeatingTask repeating = new RepeatingTask(task, tick + Math.max(1, delay), Math.max(1, period));
+        repeatingTasks.add(repeating);
+        return () -> repeatingTasks.remove(repeating);
+    }
+
+    @Override
+    public void registerPlayerListener(PlayerListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void registerChunkListener(ChunkListener listener) {
+        chunkListeners.add(listener);
+    }
+
+    @Override
+    public void disable() {
+        stop();
+    }
+
+    /**
+     * The loop of the main thread. Ticks every 50 ms and catches up without sleeping if a tick took too long
+     */
+    private void run() {
+        long next = System.nanoTime();
+
+        while (running) {
+            tick();
+
+            next += TICK_NANOS;
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            } else {
+                next = System.nanoTime();
+            }
+        }
+
+        FutureTask<?> task;
+        while ((task = syncTasks.poll()) != null) task.cancel(false);
+    }
+
+    /**
+     * Runs a single tick: the scheduled tasks, the simulated players, chunks and worlds and the simulated load
+     */
+    private void tick() {
+        tick++;
+
+        FutureTask<?> task;
+        while ((task = syncTasks.poll()) != null) task.run();
+
+        for (RepeatingTask repeating : repeatingTasks) {
+            if (repeating.nextTick > tick) continue;
+            repeating.nextTick = tick + repeating.period;
+            try {
+                repeating.task.run();
+            } catch (Exception e) {
+                logger.log(Level.WARNING, "A repeating task failed", e);
+            }
+        }
+
+        if (!players.isEmpty() && random.nextDouble() < churn) {
+            PlayerInfo player = players.remove(random.nextInt(players.size()));
+            for (PlayerListener listener : listeners) listener.onQuit(player.uuid(), player.name());
+
+            PlayerInfo joined = createPlayer();
+            players.add(joined);
+            for (PlayerListener listener : listeners) listener.onJoin(joined.uuid(), joined.name());
+        }
+
+        if (!players.isEmpty() && !chunkListeners.isEmpty()) {
+            PlayerInfo player = players.get(random.nextInt(players.size()));
+            boolean generated = random.nextInt(10) == 0;
+            for (ChunkListener listener : chunkListeners) {
+                listener.onChunkLoad(player.world(), generated, generated ? player.uuid() : null,
+                        generated ? player.name() : null);
+            }
+        }
+
+        if (tickWork > 0) {
+            long end = System.nanoTime() + tickWork;
+            while (System.nanoTime() < end) Thread.onSpinWait();
+        }
+
+        publish();
+    }
+
+    /**
+     * Publishes the current players and worlds for the threads reading them
+     */
+    private void publish() {
+        int[] worldPlayers = new int[WORLDS.length];
+        for (PlayerInfo player : players) {
+            for (int i = 0; i < WORLDS.length; i++) if (WORLDS[i].equals(player.world())) worldPlayers[i]++;
+        }
+
+        List<WorldInfo> worlds = new ArrayList<>(WORLDS.length);
+        for (int i = 0; i < WORLDS.length; i++) {
+            worldTimes[i] = (worldTimes[i] + 1) % 24000;
+            worlds.add(new WorldInfo(WORLDS[i], ENVIRONMENTS[i], 42L * (i + 1), "NORMAL", worldTimes[i], "clear",
+                    worldPlayers[i], worldPlayers[i] * 441 + 625));
+        }
+
+        playerView = List.copyOf(players);
+        worldView = List.copyOf(worlds);
+    }
+
+    /**
+     * Creates a new simulated player
+     * @return the created player
+     */
+    private PlayerInfo createPlayer() {
+        int number = joinedPlayers++;
+        return new PlayerInfo(new UUID(random.nextLong(), random.nextLong()), "Player_" + number,
+                random.nextInt(10_000_000), WORLDS[random.nextInt(WORLDS.length)],
+                "192.168." + random.nextInt(256) + "." + random.nextInt(256), random.nextInt(21),
+                random.nextInt(21), GAME_MODES[random.nextInt(GAME_MODES.length)], random.nextInt(50) == 0);
+    }
+
+    /**
+     * A task that runs every few ticks on the main thread
+     */
+    private static class RepeatingTask {
+
+        private final Runnable task;
+        private final long period;
+        private long nextTick;
+
+        /**
+         * Basic constructor of the {@link RepeatingTask}
+         * @param task The task that should run
+         * @param nextTick The tick the task should run first
+         * @param period The amount of ticks between two runs
+         */
+        RepeatingTask(Runnable task, long nextTick, long period) {
+            this.task = task;
+            this.nextTick = nextTick;
+            this.period = period;
+        }
+    }
+
+}
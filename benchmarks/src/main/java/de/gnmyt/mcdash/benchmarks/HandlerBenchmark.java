@@ -0,0 +1,127 @@
+package de.gnmyt.mcdash.benchmarks;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import de.gnmyt.mcdash.api.handler.DefaultHandler;
+import de.gnmyt.mcdash.api.handler.Router;
+import de.gnmyt.mcdash.api.http.Request;
+import de.gnmyt.mcdash.api.http.ResponseController;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the way of a request from the router to the route method: matching the path,
+ * preparing the request and dispatching it through the method table of the route
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HandlerBenchmark {
+
+    /**
+     * The path templates of the plugin routes
+     */
+    private static final List<String> TEMPLATES = List.of("/batch", "/console", "/events", "/metrics", "/ping",
+            "/server", "/session", "/update", "/action/reload", "/action/shutdown", "/action/whitelist", "/backups",
+            "/backups/{backup_id}/download", "/backups/download", "/backups/restore", "/filebrowser/file",
+            "/filebrowser/folder", "/filebrowser/upload", "/filebrowser/upload/{upload_id}", "/manage/properties",
+            "/manage/property", "/players/banlist", "/players/kick", "/players/online", "/players/op", "/players/tp",
+            "/players/whitelist", "/plugin", "/plugin/list", "/schedules", "/schedules/actions",
+            "/schedules/execution", "/schedules/name", "/services/ssh", "/stats", "/stats/players/concurrency",
+            "/store", "/worlds", "/worlds/difficulty", "/worlds/time", "/worlds/weather");
+
+    private static final URI GET_URI = URI.create("/api/filebrowser/folder?path=.%2Fplugins");
+    private static final URI PATCH_URI = URI.create("/api/filebrowser/file");
+
+    private final Router router = new Router("/api");
+    private final BenchmarkRoute route = new BenchmarkRoute();
+    private final Headers headers = new Headers();
+    private byte[] body;
+
+    @Setup
+    public void setup() {
+        for (String template : TEMPLATES) router.register(template, route);
+        route.prepare();
+
+        headers.set("Content-Type", "application/x-www-form-urlencoded");
+        body = Payloads.form(8).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Router.Route findStatic() {
+        return router.find("/api/players/online");
+    }
+
+    @Benchmark
+    public Router.Route findTemplate() {
+        return router.find("/api/backups/1700000000000/download");
+    }
+
+    @Benchmark
+    public Request prepareRequest() {
+        Request request = route.prepare(new BenchmarkExchange("PATCH", PATCH_URI, headers, body));
+        request.getBody();
+        return request;
+    }
+
+    @Benchmark
+    public long dispatch() {
+        BenchmarkExchange exchange = new BenchmarkExchange("GET", GET_URI, headers, new byte[0]);
+        route.execute(route.prepare(exchange), new ResponseController(exchange));
+        return exchange.getResponseSize();
+    }
+
+    /**
+     * A route that answers like the small routes of the plugin
+     */
+    public static class BenchmarkRoute extends DefaultHandler {
+
+        @Override
+        public long maxBodySize() {
+            return 1024 * 1024;
+        }
+
+        /**
+         * Builds the method table without registering the route in the plugin
+         */
+        void prepare() {
+            prepareRouteMethods();
+        }
+
+        /**
+         * Prepares a request like the handler does
+         * @param exchange The exchange of the request
+         * @return the prepared request
+         */
+        Request prepare(HttpExchange exchange) {
+            return prepareRequest(exchange, true);
+        }
+
+        @Override
+        public void get(Request request, ResponseController response) {
+            response.json("path=" + getStringFromQuery(request, "path"), "files=42");
+        }
+
+        @Override
+        public void patch(Request request, ResponseController response) {
+            response.message("File successfully updated.");
+        }
+    }
+
+}
@@ -0,0 +1,52 @@
+package de.gnmyt.mcdash.benchmarks;
+
+import de.gnmyt.mcdash.MinecraftDashboard;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Starts the dashboard on a {@link FakePlatform} and reports the requests per second and the latency percentiles
+ * of the read routes, including the authentication, the rate limit checks, the metrics and the access log.
+ * Usage: <code>java -cp benchmarks.jar de.gnmyt.mcdash.benchmarks.HeadlessLoadTest [connections] [seconds] [players] [engine]</code>
+ */
+public class HeadlessLoadTest {
+
+    private static final List<String> ROUTES = List.of("/api/ping", "/api/players/online", "/api/worlds",
+            "/api/plugin/list", "/api/players/banlist", "/api/players/whitelist", "/api/stats", "/api/server");
+
+    public static void main(String[] args) throws Exception {
+        int connections = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int players = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+        String engine = args.length > 3 ? args[3] : "jdk";
+
+        int port = EngineLoadTest.freePort();
+        File dataFolder = Files.createTempDirectory("mcdash-headless").toFile();
+        FakePlatform platform = HeadlessServer.start(dataFolder, port, players, engine);
+
+        try (ExecutorService clientExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            String token = MinecraftDashboard.getSessionController().createSession(HeadlessServer.USERNAME);
+
+            System.out.printf("%-22s %12s %10s %10s %10s %8s%n", "route", "requests/s", "p50 ms", "p99 ms", "p999 ms", "errors");
+            for (String route : ROUTES) {
+                HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + route))
+                        .header("Authorization", "Bearer " + token)
+                        .header("Accept-Encoding", "gzip").build();
+
+                EngineLoadTest.load(request, connections, Math.min(3, seconds), clientExecutor);
+                EngineLoadTest.Result result = EngineLoadTest.load(request, connections, seconds, clientExecutor);
+                System.out.printf("%-22s %12.0f %10.2f %10.2f %10.2f %8d%n", route, result.throughput(),
+                        result.percentile(0.5), result.percentile(0.99), result.percentile(0.999), result.errors());
+            }
+        } finally {
+            HeadlessServer.stop(platform);
+        }
+    }
+
+}
@@ -0,0 +1,87 @@
+package de.gnmyt.mcdash.benchmarks;
+
+import de.gnmyt.mcdash.MinecraftDashboard;
+import de.gnmyt.mcdash.api.config.AccountManager;
+import de.gnmyt.mcdash.api.config.ConfigurationManager;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Starts the web server, the controllers and the statistics of the dashboard on a {@link FakePlatform},
+ * so that the api can be load tested without a minecraft server.
+ * Usage: <code>java -cp benchmarks.jar de.gnmyt.mcdash.benchmarks.HeadlessServer [port] [players] [engine]</code>
+ */
+public class HeadlessServer {
+
+    public static final String USERNAME = "bench";
+    public static final String PASSWORD = "bench";
+
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 7867;
+        int players = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        String engine = args.length > 2 ? args[2] : "jdk";
+
+        FakePlatform platform = start(new File("headless"), port, players, engine);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> stop(platform)));
+
+        System.out.printf("Listening on http://127.0.0.1:%d/api with %d players (user %s, password %s)%n",
+                port, players, USERNAME, PASSWORD);
+        platform.awaitStop();
+    }
+
+    /**
+     * Starts the dashboard on a new {@link FakePlatform}. The rate limit is disabled, so that the
+     * clients of a load test are not rejected
+     * @param dataFolder The folder the dashboard should store its data in
+     * @param port The port of the web server
+     * @param players The amount of simulated players
+     * @param engine The name of the http engine
+     * @return the started platform
+     * @throws IOException An exception that can occur while writing the configuration or if the web server could not be started
+     */
+    public static FakePlatform start(File dataFolder, int port, int players, String engine) throws IOException {
+        writeConfig(dataFolder, port, engine);
+
+        FakePlatform platform = new FakePlatform(dataFolder, players, 42).start();
+        MinecraftDashboard.start(platform);
+        if (!platform.isRunning()) throw new IOException("Could not start the web server on port " + port);
+
+        MinecraftDashboard.registerRoutes();
+
+        AccountManager accounts = MinecraftDashboard.getAccountManager();
+        if (!accounts.accountExists(USERNAME)) accounts.register(USERNAME, PASSWORD);
+
+        return platform;
+    }
+
+    /**
+     * Stops the dashboard and the platform
+     * @param platform The platform you want to stop
+     */
+    public static void stop(FakePlatform platform) {
+        MinecraftDashboard.stop();
+        platform.stop();
+    }
+
+    /**
+     * Writes the configuration of the headless server
+     * @param dataFolder The folder the configuration should be written to
+     * @param port The port of the web server
+     * @param engine The name of the http engine
+     * @throws IOException An exception that can occur while writing the configuration
+     */
+    private static void writeConfig(File dataFolder, int port, String engine) throws IOException {
+        ConfigurationManager defaults = new ConfigurationManager(dataFolder);
+        if (!defaults.configExists()) defaults.generateDefault();
+
+        File file = new File(dataFolder, "config.yml");
+        YamlConfiguration config = YamlConfiguration.loadConfiguration(file);
+        config.set("port", port);
+        config.set("http_engine", engine);
+        config.set("rate_limit_enabled", false);
+        config.save(file);
+    }
+
+}
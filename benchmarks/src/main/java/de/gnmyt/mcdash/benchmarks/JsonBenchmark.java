@@ -0,0 +1,65 @@
+package de.gnmyt.mcdash.benchmarks;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import de.gnmyt.mcdash.api.json.ArrayBuilder;
+import de.gnmyt.mcdash.api.json.JsonFactoryHolder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares building a json string with {@link ArrayBuilder#toJSON()} to streaming the same builder
+ * through the shared generator. Run with <code>-prof gc</code> to see the allocation per response
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonBenchmark {
+
+    /**
+     * The payload: 500 online players, or a directory listing with 5000 or 10000 files
+     */
+    @Param({"players-500", "files-5000", "files-10000"})
+    public String payload;
+
+    private ArrayBuilder builder;
+
+    @Setup
+    public void setup() {
+        builder = build();
+    }
+
+    @Benchmark
+    public ArrayBuilder build() {
+        int size = Integer.parseInt(payload.substring(payload.indexOf('-') + 1));
+        return payload.startsWith("players") ? Payloads.players(size) : Payloads.files(size);
+    }
+
+    @Benchmark
+    public String toJson() {
+        return builder.toJSON();
+    }
+
+    @Benchmark
+    public void stream() throws IOException {
+        try (JsonGenerator generator = JsonFactoryHolder.getFactory().createGenerator(OutputStream.nullOutputStream())) {
+            builder.write(generator);
+        }
+    }
+
+}
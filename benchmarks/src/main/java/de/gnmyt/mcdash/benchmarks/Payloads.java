@@ -0,0 +1,99 @@
+package de.gnmyt.mcdash.benchmarks;
+
+import de.gnmyt.mcdash.api.json.ArrayBuilder;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Generates the payloads of the benchmarks. The data has the same shape as the responses of the
+ * player and file browser routes, the random generator is seeded so that every run sees the same values
+ */
+public final class Payloads {
+
+    private static final String[] WORLDS = {"world", "world_nether", "world_the_end"};
+    private static final String[] GAME_MODES = {"SURVIVAL", "CREATIVE", "ADVENTURE", "SPECTATOR"};
+    private static final String[] EXTENSIONS = {".yml", ".json", ".jar", ".log", ".dat", ".mca", ".properties"};
+
+    private Payloads() {
+    }
+
+    /**
+     * Builds a list of online players like the <code>players/online</code> route
+     * @param amount The amount of players
+     * @return the builder containing the players
+     */
+    public static ArrayBuilder players(int amount) {
+        Random random = new Random(42);
+        ArrayBuilder builder = new ArrayBuilder();
+
+        for (int i = 0; i < amount; i++) {
+            builder.addNode()
+                    .add("uuid", new UUID(random.nextLong(), random.nextLong()).toString())
+                    .add("name", "Player_" + i)
+                    .add("player_time", random.nextInt(10_000_000))
+                    .add("current_world", WORLDS[random.nextInt(WORLDS.length)])
+                    .add("address", "192.168." + random.nextInt(256) + "." + random.nextInt(256))
+                    .add("health", (long) random.nextInt(21))
+                    .add("food_level", (long) random.nextInt(21))
+                    .add("game_mode", GAME_MODES[random.nextInt(GAME_MODES.length)])
+                    .add("is_op", random.nextInt(50) == 0)
+                    .register();
+        }
+
+        return builder;
+    }
+
+    /**
+     * Builds a directory listing like the <code>filebrowser/folder</code> route
+     * @param amount The amount of files
+     * @return the builder containing the files
+     */
+    public static ArrayBuilder files(int amount) {
+        Random random = new Random(42);
+        ArrayBuilder builder = new ArrayBuilder();
+
+        for (int i = 0; i < amount; i++) {
+            boolean folder = random.nextInt(8) == 0;
+            builder.addNode()
+                    .add("name", folder ? "folder_" + i : "file_" + i + EXTENSIONS[random.nextInt(EXTENSIONS.length)])
+                    .add("is_folder", folder)
+                    .add("last_modified", 1_700_000_000_000L + random.nextInt(Integer.MAX_VALUE))
+                    .add("size", folder ? 4096L : (long) random.nextInt(50_000_000))
+                    .register();
+        }
+
+        return builder;
+    }
+
+    /**
+     * Builds a form encoded body with the provided amount of fields
+     * @param fields The amount of fields
+     * @return the form encoded body
+     */
+    public static String form(int fields) {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < fields; i++) {
+            if (i > 0) body.append('&');
+            body.append("field_").append(i).append('=').append(URLEncoder.encode("value " + i + " / ä", StandardCharsets.UTF_8));
+        }
+        return body.toString();
+    }
+
+    /**
+     * Builds the body of a file save in the file editor
+     * @param size The size of the file content in bytes
+     * @return the form encoded body
+     */
+    public static String fileContent(int size) {
+        StringBuilder content = new StringBuilder(size);
+        int line = 0;
+        while (content.length() < size) content.append("setting-").append(line++).append(": value # comment\n");
+
+        return "path=" + URLEncoder.encode("./plugins/Example/config.yml", StandardCharsets.UTF_8)
+                + "&content=" + URLEncoder.encode(content.substring(0, size), StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,61 @@
+package de.gnmyt.mcdash.benchmarks;
+
+import de.gnmyt.mcdash.api.http.Request;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the parsing of request bodies and queries
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestBenchmark {
+
+    private static final String QUERY = "path=.%2Fplugins%2FExample%2Fconfig.yml&sort=name&order=asc&page=3";
+
+    @Benchmark
+    public Request mapBody(Body body) {
+        return new Request().mapBody(body.content);
+    }
+
+    @Benchmark
+    public Request mapQuery() {
+        return new Request().mapQuery(QUERY);
+    }
+
+    /**
+     * The request bodies
+     */
+    @State(Scope.Benchmark)
+    public static class Body {
+
+        /**
+         * <code>form</code> is a small form like the ones of the dialogs,
+         * <code>file</code> is a 64 KiB file saved from the file editor
+         */
+        @Param({"form", "file"})
+        public String body;
+
+        private String content;
+
+        @Setup
+        public void setup() {
+            content = body.equals("file") ? Payloads.fileContent(64 * 1024) : Payloads.form(8);
+        }
+    }
+
+}
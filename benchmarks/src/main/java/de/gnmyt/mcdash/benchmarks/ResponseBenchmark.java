@@ -0,0 +1,96 @@
+package de.gnmyt.mcdash.benchmarks;
+
+import com.sun.net.httpserver.Headers;
+import de.gnmyt.mcdash.api.http.ResponseController;
+import de.gnmyt.mcdash.api.json.ArrayBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures sending responses through the {@link ResponseController}, including the entity tag of
+ * <code>GET</code> responses and, if enabled, the compression
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseBenchmark {
+
+    private static final URI PATH = URI.create("/api/players/online");
+
+    @Benchmark
+    public long jsonStream(Payload payload) {
+        BenchmarkExchange exchange = new BenchmarkExchange("GET", PATH, payload.headers, new byte[0]);
+        payload.controller(exchange).json(payload.builder);
+        return exchange.getResponseSize();
+    }
+
+    @Benchmark
+    public long jsonString(Payload payload) {
+        BenchmarkExchange exchange = new BenchmarkExchange("GET", PATH, payload.headers, new byte[0]);
+        payload.controller(exchange).text(payload.builder.toJSON());
+        return exchange.getResponseSize();
+    }
+
+    @Benchmark
+    public long jsonValues() {
+        BenchmarkExchange exchange = new BenchmarkExchange("GET", PATH, new Headers(), new byte[0]);
+        new ResponseController(exchange).json("tps=19.98", "processors=8", "free_memory=1234567890",
+                "total_memory=4294967296", "used_memory=3060399406", "free_space=51234567890",
+                "total_space=256000000000", "used_space=204765432110", "max_players=100", "online_players=42");
+        return exchange.getResponseSize();
+    }
+
+    @Benchmark
+    public long message() {
+        BenchmarkExchange exchange = new BenchmarkExchange("POST", PATH, new Headers(), new byte[0]);
+        new ResponseController(exchange).message("File successfully updated.");
+        return exchange.getResponseSize();
+    }
+
+    /**
+     * The list responses, sent with and without compression
+     */
+    @State(Scope.Benchmark)
+    public static class Payload {
+
+        @Param({"players-500", "files-10000"})
+        public String payload;
+
+        /**
+         * The compression threshold in bytes, <code>-1</code> disables the compression
+         */
+        @Param({"-1", "1024"})
+        public int compressionThreshold;
+
+        private ArrayBuilder builder;
+        private Headers headers;
+
+        @Setup
+        public void setup() {
+            int size = Integer.parseInt(payload.substring(payload.indexOf('-') + 1));
+            builder = payload.startsWith("players") ? Payloads.players(size) : Payloads.files(size);
+
+            headers = new Headers();
+            headers.set("Accept-Encoding", "gzip, deflate");
+        }
+
+        ResponseController controller(BenchmarkExchange exchange) {
+            return new ResponseController(exchange).compress(compressionThreshold);
+        }
+    }
+
+}
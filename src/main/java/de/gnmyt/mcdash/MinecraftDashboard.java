@@ -1,15 +1,21 @@
 package de.gnmyt.mcdash;
 
+import java.io.File;
 import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.logging.Level;
 
-import org.bukkit.Bukkit;
 import org.bukkit.plugin.java.JavaPlugin;
-import org.reflections.Reflections;
 
-import com.sun.net.httpserver.HttpServer;
 
 import de.gnmyt.mcdash.api.config.AccountManager;
 import de.gnmyt.mcdash.api.config.BackupManager;
@@ -19,18 +25,42 @@ import de.gnmyt.mcdash.api.config.SSHManager;
 import de.gnmyt.mcdash.api.config.ScheduleManager;
 import de.gnmyt.mcdash.api.config.UpdateManager;
 import de.gnmyt.mcdash.api.config.WorldManager;
+import de.gnmyt.mcdash.api.controller.AccessLogController;
 import de.gnmyt.mcdash.api.controller.BackupController;
+import de.gnmyt.mcdash.api.controller.EventController;
+import de.gnmyt.mcdash.api.controller.MetricsController;
+import de.gnmyt.mcdash.api.controller.RateLimitController;
+import de.gnmyt.mcdash.api.controller.SessionController;
+import de.gnmyt.mcdash.api.controller.SnapshotController;
+import de.gnmyt.mcdash.api.controller.StatsController;
+import de.gnmyt.mcdash.api.controller.UploadController;
+import de.gnmyt.mcdash.api.engine.HttpEngine;
 import de.gnmyt.mcdash.api.handler.DefaultHandler;
+import de.gnmyt.mcdash.api.handler.Router;
 import de.gnmyt.mcdash.api.handler.StaticHandler;
+import de.gnmyt.mcdash.api.http.ResponseCompressor;
+import de.gnmyt.mcdash.api.platform.BukkitPlatform;
+import de.gnmyt.mcdash.api.platform.Platform;
+import de.gnmyt.mcdash.api.tasks.MainThreadQueue;
 import de.gnmyt.mcdash.commands.PasswordCommand;
+import de.gnmyt.mcdash.listener.EventStreamListener;
+import de.gnmyt.mcdash.listener.ResourceVersionListener;
+import de.gnmyt.mcdash.panel.RouteIndex;
 import de.gnmyt.mcdash.stats.StatsModule;
 
 public class MinecraftDashboard extends JavaPlugin {
 
     private static final ScheduledExecutorService executor = Executors.newScheduledThreadPool(4);
+    private static final List<ScheduledFuture<?>> scheduledTasks = new ArrayList<>();
     private static ConfigurationManager config;
     private static Metrics metrics;
     private static BackupController backupController;
+    private static SessionController sessionController;
+    private static RateLimitController rateLimitController;
+    private static EventController eventController;
+    private static MetricsController metricsController;
+    private static AccessLogController accessLogController;
+    private static UploadController uploadController;
     private static UpdateManager updateManager;
     private static AccountManager accountManager;
     private static BackupManager backupManager;
@@ -38,76 +68,171 @@ public class MinecraftDashboard extends JavaPlugin {
     private static SSHManager sshManager;
     private static ScheduleManager scheduleManager;
     private static MinecraftDashboard instance;
-    private static HttpServer server;
-    private StatsModule statsModule;
+    private static Platform platform;
+    private static StatsController statsController;
+    private static SnapshotController snapshotController;
+    private static MainThreadQueue mainThreadQueue;
+    private static HttpEngine engine;
+    private static Router router;
+    private static ExecutorService serverExecutor;
+    private static StatsModule statsModule;
 
     @Override
     public void onEnable() {
         instance = this;
+        start(new BukkitPlatform(this));
+
         updateManager = new UpdateManager(instance);
-        accountManager = new AccountManager(instance);
-        backupManager = new BackupManager(instance);
         sshManager = new SSHManager(instance);
         worldManager = new WorldManager(instance);
-        config = new ConfigurationManager(instance);
-        backupController = new BackupController();
         scheduleManager = new ScheduleManager(instance);
-        if (!config.configExists()) config.generateDefault();
         metrics = new Metrics(this, 18915);
 
-        String serverId = getServer().getName(); // ou "ostal-neige"
+        registerRoutes();
+        registerWebUI();
+
+        getServer().getPluginManager().registerEvents(new ResourceVersionListener(), this);
+        getServer().getPluginManager().registerEvents(new EventStreamListener(eventController), this);
+
+        getCommand("panel").setExecutor(new PasswordCommand(accountManager));
+    }
+
+    @Override
+    public void onDisable() {
+        stop();
+        if (updateManager != null) updateManager.shutdownScheduler();
+    }
+
+    /**
+     * Starts the controllers, the statistics and the web server of the dashboard.
+     * The routes are registered separately with {@link #registerRoutes()}, so that the managers
+     * which only exist on a real server can be created before
+     * @param platform The platform the dashboard runs on
+     */
+    public static void start(Platform platform) {
+        MinecraftDashboard.platform = platform;
+        File dataFolder = platform.getDataFolder();
+
+        config = new ConfigurationManager(dataFolder);
+        if (!config.configExists()) config.generateDefault();
+        accountManager = new AccountManager(dataFolder);
+        backupManager = new BackupManager(dataFolder);
+        backupController = new BackupController();
+        sessionController = new SessionController(config.getSessionDuration());
+        rateLimitController = new RateLimitController(config);
+        scheduledTasks.add(executor.scheduleAtFixedRate(rateLimitController::purge, 1, 1, TimeUnit.MINUTES));
+        metricsController = new MetricsController();
+        mainThreadQueue = new MainThreadQueue(platform, metricsController, config.getMainThreadBudget());
+        mainThreadQueue.start();
+        snapshotController = new SnapshotController(platform, mainThreadQueue, config.getSnapshotInterval());
+        snapshotController.start();
+        statsController = new StatsController(platform, snapshotController);
+        eventController = new EventController(statsController);
+        eventController.start(executor);
+        uploadController = new UploadController();
+        accessLogController = new AccessLogController(new File(dataFolder, "logs"), config.getAccessLogMaxFileSize(),
+                config.getAccessLogMaxFiles(), config.getAccessLogSyncInterval());
+        if (config.isAccessLogEnabled()) accessLogController.start();
+        scheduledTasks.add(executor.scheduleAtFixedRate(uploadController::purge, 1, 1, TimeUnit.HOURS));
+
+        String serverId = platform.getName(); // ou "ostal-neige"
         if (serverId == null || serverId.isBlank()) serverId = "default";
 
-        this.statsModule = new StatsModule(this, serverId);
-        this.statsModule.start();
+        statsModule = new StatsModule(platform, serverId);
+        statsModule.start();
 
         try {
-            server = HttpServer.create(new InetSocketAddress(config.getPort()), 0);
-            server.setExecutor(Executors.newCachedThreadPool());
-            server.start();
+            engine = HttpEngine.create(config.getHttpEngine());
+            serverExecutor = createServerExecutor();
+            router = new Router("/api");
+            engine.createContext("/api/", router);
+            engine.start(new InetSocketAddress(config.getPort()), serverExecutor);
         } catch (IOException e) {
             disablePlugin("Could not open the port for the web server: " + e.getMessage());
         }
 
-        registerRoutes();
-        registerWebUI();
-
-        getCommand("panel").setExecutor(new PasswordCommand(accountManager));
+        registerMetrics();
     }
 
-    @Override
-    public void onDisable() {
-        if (this.statsModule != null) {
-            this.statsModule.stop();
-            this.statsModule = null;
+    /**
+     * Stops the web server, the statistics, the snapshots, the main thread queue, the scheduled tasks
+     * and the access log of the dashboard
+     */
+    public static void stop() {
+        for (ScheduledFuture<?> task : scheduledTasks) task.cancel(false);
+        scheduledTasks.clear();
+        if (eventController != null) eventController.stop();
+
+        if (snapshotController != null) snapshotController.stop();
+        if (mainThreadQueue != null) mainThreadQueue.stop();
+        if (statsModule != null) {
+            statsModule.stop();
+            statsModule = null;
         }
 
-        if (server != null) server.stop(0);
-        if (updateManager != null) updateManager.shutdownScheduler();
-        server = null;
+        if (engine != null) engine.stop();
+        if (serverExecutor != null) serverExecutor.shutdownNow();
+        if (accessLogController != null) accessLogController.stop();
+        engine = null;
+        serverExecutor = null;
+    }
+
+    /**
+     * Creates the executor the web server runs the requests on
+     * @return a virtual thread per request executor or a fixed thread pool,
+     * depending on the configured execution mode
+     */
+    private static ExecutorService createServerExecutor() {
+        if (config.getExecutionMode().equalsIgnoreCase("pooled"))
+            return Executors.newFixedThreadPool(config.getHttpThreads());
+
+        return Executors.newVirtualThreadPerTaskExecutor();
     }
 
     /**
      * Registers the static handler of the web ui
      */
-    public void registerWebUI() {
+    public static void registerWebUI() {
         try {
-            server.createContext("/", new StaticHandler());
+            engine.createContext("/", new StaticHandler());
         } catch (Exception e) {
             disablePlugin("Could not register the web ui: " + e.getMessage());
         }
     }
 
     /**
-     * Registers all routes in the {@link de.gnmyt.mcdash.panel.routes} package
+     * Registers all routes in the {@link de.gnmyt.mcdash.panel.routes} package.
+     * The routes are listed in the {@link RouteIndex}, which gets generated while compiling
      */
-    public void registerRoutes() {
-        Reflections reflections = new Reflections(getRoutePackageName());
-        reflections.getSubTypesOf(DefaultHandler.class).forEach(clazz -> {
+    public static void registerRoutes() {
+        long start = System.nanoTime();
+        long slowestTime = 0;
+        String slowestRoute = null;
+        int registered = 0;
+
+        for (Supplier<? extends DefaultHandler> route : RouteIndex.getRoutes()) {
+            long routeStart = System.nanoTime();
+            DefaultHandler handler = null;
             try {
-                clazz.getDeclaredConstructor().newInstance().register();
-            } catch (Exception ignored) { }
-        });
+                handler = route.get();
+                handler.register();
+                registered++;
+            } catch (Exception e) {
+                platform.getLogger().log(Level.WARNING, "Could not register a route"
+                        + (handler == null ? "" : " (" + handler.getClass().getName() + ")"), e);
+                continue;
+            }
+
+            long routeTime = System.nanoTime() - routeStart;
+            if (routeTime > slowestTime) {
+                slowestTime = routeTime;
+                slowestRoute = handler.getClass().getSimpleName();
+            }
+        }
+
+        platform.getLogger().info(String.format("Registered %d of %d routes in %.1f ms (slowest: %s, %.1f ms)",
+                registered, RouteIndex.getRoutes().size(), (System.nanoTime() - start) / 1e6,
+                slowestRoute, slowestTime / 1e6));
     }
 
 
@@ -116,8 +241,8 @@ public class MinecraftDashboard extends JavaPlugin {
      * @param message The reason why the plugin should be disabled
      */
     public static void disablePlugin(String message) {
-        System.out.println(getPrefix()+message);
-        Bukkit.getPluginManager().disablePlugin(Bukkit.getPluginManager().getPlugin(getInstance().getName()));
+        platform.getLogger().severe(message);
+        platform.disable();
     }
 
     /**
@@ -137,11 +262,51 @@ public class MinecraftDashboard extends JavaPlugin {
     }
 
     /**
-     * Gets the current http server
-     * @return the current http server
+     * Gets the platform the dashboard runs on
+     * @return the platform
      */
-    public static HttpServer getHttpServer() {
-        return server;
+    public static Platform getPlatform() {
+        return platform;
+    }
+
+    /**
+     * Gets the statistics controller
+     * @return the statistics controller
+     */
+    public static StatsController getStatsController() {
+        return statsController;
+    }
+
+    /**
+     * Gets the snapshot controller
+     * @return the snapshot controller
+     */
+    public static SnapshotController getSnapshotController() {
+        return snapshotController;
+    }
+
+    /**
+     * Gets the queue the actions of the dashboard run on the main thread with
+     * @return the main thread queue
+     */
+    public static MainThreadQueue getMainThreadQueue() {
+        return mainThreadQueue;
+    }
+
+    /**
+     * Gets the router all api routes are registered in
+     * @return the api router
+     */
+    public static Router getRouter() {
+        return router;
+    }
+
+    /**
+     * Gets the engine of the web server
+     * @return the current http engine
+     */
+    public static HttpEngine getHttpEngine() {
+        return engine;
     }
 
 
@@ -150,7 +315,7 @@ public class MinecraftDashboard extends JavaPlugin {
      * @return the name of the route package
      */
     public static String getRoutePackageName() {
-        return getInstance().getClass().getPackage().getName()+".panel.routes";
+        return MinecraftDashboard.class.getPackage().getName()+".panel.routes";
     }
 
     /**
@@ -169,6 +334,105 @@ public class MinecraftDashboard extends JavaPlugin {
         return accountManager;
     }
 
+    /**
+     * Registers the metrics of the executors and controllers that are read while scraping
+     */
+    private static void registerMetrics() {
+        metricsController
+                .gauge("mcdash_executor_queue_depth", "Tasks waiting in the queue of the plugin executor",
+                        () -> executor instanceof ThreadPoolExecutor pool ? pool.getQueue().size() : 0)
+                .gauge("mcdash_http_executor_queue_depth", "Requests waiting for a thread of the web server",
+                        () -> serverExecutor instanceof ThreadPoolExecutor pool ? pool.getQueue().size() : 0)
+                .gauge("mcdash_snapshot_capture_seconds", "Time the last snapshot of the server took on the main thread",
+                        () -> snapshotController.getCaptureTime() / 1e9)
+                .gauge("mcdash_snapshot_age_seconds", "Age of the snapshot the read routes are served from",
+                        () -> snapshotController.getAge() / 1e3)
+                .gauge("mcdash_main_thread_queue_depth", "Actions waiting for the main thread",
+                        mainThreadQueue::getQueueDepth)
+                .gauge("mcdash_main_thread_budget_seconds", "Time the actions may take on the main thread per tick",
+                        () -> mainThreadQueue.getBudget() / 1e9)
+                .gauge("mcdash_main_thread_budget_usage_ratio", "Share of the budget the actions used in the last tick",
+                        mainThreadQueue::getBudgetUsage)
+                .counter("mcdash_main_thread_seconds_total", "Time the actions took on the main thread",
+                        () -> mainThreadQueue.getTotalUsage() / 1e9)
+                .counter("mcdash_main_thread_overruns_total", "Ticks in which the actions exceeded the budget",
+                        mainThreadQueue::getOverruns)
+                .counter("mcdash_main_thread_actions_total", "Actions that have run on the main thread",
+                        mainThreadQueue::getExecutedActions)
+                .counter("mcdash_main_thread_expired_total", "Actions dropped because they could not start before their deadline",
+                        mainThreadQueue::getExpiredActions)
+                .counter("mcdash_main_thread_coalesced_total", "Actions merged into a waiting action with the same key",
+                        mainThreadQueue::getCoalescedActions)
+                .counter("mcdash_chunk_loads_total", "Chunks loaded from the disk or generated",
+                        () -> statsModule != null && statsModule.getChunkSampler() != null
+                                ? statsModule.getChunkSampler().getLoadedTotal() : 0)
+                .counter("mcdash_chunk_generations_total", "Chunks generated for the first time",
+                        () -> statsModule != null && statsModule.getChunkSampler() != null
+                                ? statsModule.getChunkSampler().getGeneratedTotal() : 0)
+                .counter("mcdash_rate_limited_requests_total", "Requests rejected by the rate limit",
+                        rateLimitController::getRejectedRequests)
+                .gauge("mcdash_event_subscribers", "Connected clients of the event stream",
+                        eventController::getSubscriberCount)
+                .counter("mcdash_event_subscribers_dropped_total", "Event stream clients dropped for being too slow",
+                        eventController::getDroppedSubscribers)
+                .counter("mcdash_access_log_dropped_total", "Access log entries dropped because the writer fell behind",
+                        accessLogController::getDroppedEntries)
+                .counter("mcdash_compressed_responses_total", "Responses that have been sent compressed",
+                        ResponseCompressor::getCompressedResponses)
+                .counter("mcdash_compression_input_bytes_total", "Size of the compressed responses before compression",
+                        ResponseCompressor::getUncompressedBytes)
+                .counter("mcdash_compression_saved_bytes_total", "Bytes saved by compressing responses",
+                        ResponseCompressor::getBytesSaved);
+    }
+
+    /**
+     * Gets the session controller
+     * @return the session controller
+     */
+    public static SessionController getSessionController() {
+        return sessionController;
+    }
+
+    /**
+     * Gets the rate limit controller
+     * @return the rate limit controller
+     */
+    public static RateLimitController getRateLimitController() {
+        return rateLimitController;
+    }
+
+    /**
+     * Gets the event controller
+     * @return the event controller
+     */
+    public static EventController getEventController() {
+        return eventController;
+    }
+
+    /**
+     * Gets the metrics controller
+     * @return the metrics controller
+     */
+    public static MetricsController getMetricsController() {
+        return metricsController;
+    }
+
+    /**
+     * Gets the access log controller
+     * @return the access log controller
+     */
+    public static AccessLogController getAccessLogController() {
+        return accessLogController;
+    }
+
+    /**
+     * Gets the upload controller
+     * @return the upload controller
+     */
+    public static UploadController getUploadController() {
+        return uploadController;
+    }
+
     /**
      * Gets the ssh manager
      * @return the ssh manager
@@ -225,5 +489,11 @@ public class MinecraftDashboard extends JavaPlugin {
         return scheduleManager;
     }
 
-    public StatsModule getStatsModule() { return statsModule; }
+    /**
+     * Gets the statistics module
+     * @return the statistics module
+     */
+    public static StatsModule getStatsModule() {
+        return statsModule;
+    }
 }
@@ -1,6 +1,5 @@
 package de.gnmyt.mcdash.api.config;
 
-import de.gnmyt.mcdash.MinecraftDashboard;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.mindrot.jbcrypt.BCrypt;
@@ -17,9 +16,10 @@ public class AccountManager {
     /**
      * Basic constructor of the {@link AccountManager}
      * Loads the accounts.yml file
+     * @param dataFolder The data folder of the plugin
      */
-    public AccountManager(MinecraftDashboard api) {
-        file = new File("plugins//"+api.getName()+"//accounts.yml");
+    public AccountManager(File dataFolder) {
+        file = new File(dataFolder, "accounts.yml");
 
         config = YamlConfiguration.loadConfiguration(file);
 
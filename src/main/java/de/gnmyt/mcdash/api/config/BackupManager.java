@@ -1,6 +1,5 @@
 package de.gnmyt.mcdash.api.config;
 
-import de.gnmyt.mcdash.MinecraftDashboard;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 
@@ -15,9 +14,10 @@ public class BackupManager {
     /**
      * Basic constructor of the {@link BackupManager}
      * Loads the backups.yml file
+     * @param dataFolder The data folder of the plugin
      */
-    public BackupManager(MinecraftDashboard api) {
-        file = new File("plugins//"+api.getName()+"//backups.yml");
+    public BackupManager(File dataFolder) {
+        file = new File(dataFolder, "backups.yml");
 
         config = YamlConfiguration.loadConfiguration(file);
 
@@ -1,23 +1,26 @@
 package de.gnmyt.mcdash.api.config;
 
-import de.gnmyt.mcdash.MinecraftDashboard;
+import de.gnmyt.mcdash.api.http.RateLimitClass;
 import org.apache.commons.lang.RandomStringUtils;
 import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
 
 import java.io.File;
+import java.io.IOException;
 
 public class ConfigurationManager {
 
-    private final MinecraftDashboard api;
+    private final File file;
     private final FileConfiguration config;
 
     /**
      * Basic constructor of the {@link ConfigurationManager}
-     * @param api The main instance of the plugin
+     * Loads the config.yml file
+     * @param dataFolder The data folder of the plugin
      */
-    public ConfigurationManager(MinecraftDashboard api) {
-        this.api = api;
-        config = api.getConfig();
+    public ConfigurationManager(File dataFolder) {
+        file = new File(dataFolder, "config.yml");
+        config = YamlConfiguration.loadConfiguration(file);
     }
 
     /**
@@ -25,7 +28,7 @@ public class ConfigurationManager {
      * @return true when the configuration file exists
      */
     public boolean configExists() {
-        return new File("plugins//"+api.getName()+"//config.yml").exists();
+        return file.exists();
     }
 
     /**
@@ -34,6 +37,26 @@ public class ConfigurationManager {
     public void generateDefault() {
         // Wrapper configuration
         config.set("port", 7867);
+        config.set("session_duration", 30);
+        config.set("http_engine", "jdk");
+        config.set("http_execution_mode", "virtual");
+        config.set("http_threads", 16);
+        config.set("route_concurrency", 16);
+        config.set("route_queue_timeout", 30);
+        config.set("max_body_size", 1024);
+        config.set("compression_threshold", 1024);
+        config.set("rate_limit_enabled", true);
+        for (RateLimitClass limitClass : RateLimitClass.values()) {
+            config.set("rate_limits." + limitClass.getConfigName() + ".capacity", limitClass.getDefaultCapacity());
+            config.set("rate_limits." + limitClass.getConfigName() + ".refill", limitClass.getDefaultRefill());
+        }
+        config.set("access_log.enabled", true);
+        config.set("access_log.max_file_size", 10);
+        config.set("access_log.max_files", 14);
+        config.set("access_log.sync_interval", 1000);
+        config.set("snapshot_interval", 10);
+        config.set("main_thread_budget", 2.0);
+        config.set("main_thread_timeout", 5);
 
         saveConfig();
     }
@@ -73,12 +96,167 @@ public class ConfigurationManager {
         return getInt("port");
     }
 
+    /**
+     * Gets the lifetime of a dashboard session from the configuration
+     * @return the lifetime of a session in minutes
+     */
+    public int getSessionDuration() {
+        return config.getInt("session_duration", 30);
+    }
+
+
+    /**
+     * Gets the engine of the web server from the configuration
+     * @return <code>jdk</code> for the http server of the jdk or <code>nio</code> for the non-blocking engine
+     */
+    public String getHttpEngine() {
+        return config.getString("http_engine", "jdk");
+    }
+
+    /**
+     * Gets the execution mode of the web server from the configuration
+     * @return <code>virtual</code> to run every request on its own virtual thread or <code>pooled</code>
+     * to run the requests on a fixed platform thread pool
+     */
+    public String getExecutionMode() {
+        return config.getString("http_execution_mode", "virtual");
+    }
+
+    /**
+     * Gets the amount of platform threads used in the <code>pooled</code> execution mode
+     * @return the amount of web server threads
+     */
+    public int getHttpThreads() {
+        return Math.max(1, config.getInt("http_threads", 16));
+    }
+
+    /**
+     * Gets the default amount of requests a single route may execute at the same time
+     * @return the default concurrency limit of a route
+     */
+    public int getRouteConcurrency() {
+        return Math.max(1, config.getInt("route_concurrency", 16));
+    }
+
+    /**
+     * Gets how long a request may wait for a free slot of its route
+     * @return the time in seconds a request waits before it gets rejected
+     */
+    public int getRouteQueueTimeout() {
+        return Math.max(0, config.getInt("route_queue_timeout", 30));
+    }
+
+    /**
+     * Gets the default maximum size of a request body
+     * @return the maximum body size in bytes
+     */
+    public long getMaxBodySize() {
+        return Math.max(1, config.getInt("max_body_size", 1024)) * 1024L;
+    }
+
+    /**
+     * Gets the minimum size a response body needs to get compressed
+     * @return the compression threshold in bytes or <code>-1</code> if compression is disabled
+     */
+    public int getCompressionThreshold() {
+        return config.getInt("compression_threshold", 1024);
+    }
+
+    /**
+     * Checks if the requests should be rate limited
+     * @return <code>true</code> if the rate limits are enabled
+     */
+    public boolean isRateLimitEnabled() {
+        return config.getBoolean("rate_limit_enabled", true);
+    }
+
+    /**
+     * Gets the amount of requests of a rate limit class a client may burst
+     * @param limitClass The rate limit class
+     * @return the capacity of the token bucket
+     */
+    public int getRateLimitCapacity(RateLimitClass limitClass) {
+        return Math.max(1, config.getInt("rate_limits." + limitClass.getConfigName() + ".capacity",
+                limitClass.getDefaultCapacity()));
+    }
+
+    /**
+     * Gets the amount of requests of a rate limit class a client may send per second on average
+     * @param limitClass The rate limit class
+     * @return the refill rate of the token bucket
+     */
+    public double getRateLimitRefill(RateLimitClass limitClass) {
+        double refill = config.getDouble("rate_limits." + limitClass.getConfigName() + ".refill",
+                limitClass.getDefaultRefill());
+        return refill > 0 ? refill : limitClass.getDefaultRefill();
+    }
+
+    /**
+     * Checks if the requests should be written to the access log
+     * @return <code>true</code> if the access log is enabled
+     */
+    public boolean isAccessLogEnabled() {
+        return config.getBoolean("access_log.enabled", true);
+    }
+
+    /**
+     * Gets the size after which the access log gets rotated
+     * @return the maximum size of the access log in bytes
+     */
+    public long getAccessLogMaxFileSize() {
+        return Math.max(1, config.getInt("access_log.max_file_size", 10)) * 1024L * 1024L;
+    }
+
+    /**
+     * Gets the amount of rotated access logs that should be kept
+     * @return the amount of kept access logs
+     */
+    public int getAccessLogMaxFiles() {
+        return Math.max(1, config.getInt("access_log.max_files", 14));
+    }
+
+    /**
+     * Gets the interval in which the access log is synced to the disk
+     * @return the sync interval in milliseconds
+     */
+    public long getAccessLogSyncInterval() {
+        return Math.max(0, config.getInt("access_log.sync_interval", 1000));
+    }
+
+    /**
+     * Gets the interval in which the state of the server is captured for the routes
+     * @return the snapshot interval in ticks
+     */
+    public int getSnapshotInterval() {
+        return Math.max(1, config.getInt("snapshot_interval", 10));
+    }
+
+    /**
+     * Gets the time the actions of the dashboard may take on the main thread per tick
+     * @return the main thread budget in nanoseconds
+     */
+    public long getMainThreadBudget() {
+        double budget = config.getDouble("main_thread_budget", 2.0);
+        return (long) ((budget > 0 ? budget : 2.0) * 1_000_000);
+    }
+
+    /**
+     * Gets the time a route waits for its action on the main thread before it gives up
+     * @return the main thread timeout in milliseconds
+     */
+    public long getMainThreadTimeout() {
+        return Math.max(1, config.getInt("main_thread_timeout", 5)) * 1000L;
+    }
 
     /**
      * Saves the current configuration
      */
     public void saveConfig() {
-        api.saveConfig();
+        try {
+            config.save(file);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
     }
 
 }
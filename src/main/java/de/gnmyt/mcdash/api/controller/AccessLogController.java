@@ -0,0 +1,366 @@
+package de.gnmyt.mcdash.api.controller;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes the access log of the web server. Request threads only copy references into a preallocated ring buffer,
+ * a single background thread formats the entries and writes them in batches. If the writer falls behind and the
+ * ring is full, new entries are dropped and counted instead of blocking the requests
+ */
+public class AccessLogController {
+
+    private static final Logger LOG = Logger.getLogger(AccessLogController.class.getName());
+
+    private static final int CAPACITY = 8192;
+    private static final int MASK = CAPACITY - 1;
+    private static final int BATCH_SIZE = 1024;
+    private static final long IDLE_WAIT = TimeUnit.MILLISECONDS.toNanos(20);
+    private static final String FILE_NAME = "access.log";
+    private static final DateTimeFormatter ARCHIVE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd-HHmmss-SSS");
+
+    private final Entry[] entries = new Entry[CAPACITY];
+    private final AtomicLongArray sequences = new AtomicLongArray(CAPACITY);
+    private final AtomicLong tail = new AtomicLong();
+    private long head;
+
+    private final LongAdder droppedEntries = new LongAdder();
+    private final LongAdder writtenEntries = new LongAdder();
+
+    private final File directory;
+    private final long maxFileSize;
+    private final int maxFiles;
+    private final long syncInterval;
+
+    private final StringBuilder line = new StringBuilder(256);
+    private ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+    private FileChannel channel;
+    private LocalDate fileDate;
+    private long lastSync;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    /**
+     * Basic constructor of the {@link AccessLogController}
+     * @param directory The directory the log files should be written to
+     * @param maxFileSize The size in bytes after which the log file gets rotated
+     * @param maxFiles The amount of rotated files that should be kept
+     * @param syncInterval The interval in milliseconds in which the written entries are synced to the disk
+     */
+    public AccessLogController(File directory, long maxFileSize, int maxFiles, long syncInterval) {
+        this.directory = directory;
+        this.maxFileSize = maxFileSize;
+        this.maxFiles = maxFiles;
+        this.syncInterval = syncInterval;
+
+        for (int i = 0; i < CAPACITY; i++) {
+            entries[i] = new Entry();
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Starts the writer thread
+     */
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+
+        writer = new Thread(this::run, "MCDash-AccessLog");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Stops the writer thread after it has written all pending entries
+     */
+    public synchronized void stop() {
+        if (!running) return;
+        running = false;
+
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Adds a request to the access log. The method does not allocate and never blocks
+     * @param address The address of the client
+     * @param username The name of the account or <code>null</code> if the request was not authenticated
+     * @param method The http method of the request
+     * @param path The path of the request without its query
+     * @param status The status code of the response
+     * @param nanos The duration of the request in nanoseconds
+     * @param bytesIn The amount of bytes read from the request body
+     * @param bytesOut The amount of bytes written to the response body
+     */
+    public void log(InetAddress address, String username, String method, String path, int status, long nanos,
+                    long bytesIn, long bytesOut) {
+        if (!running) return;
+
+        long sequence;
+        while (true) {
+            sequence = tail.get();
+            long available = sequences.get((int) sequence & MASK) - sequence;
+
+            if (available < 0) {
+                droppedEntries.increment();
+                return;
+            }
+            if (available == 0 && tail.compareAndSet(sequence, sequence + 1)) break;
+        }
+
+        Entry entry = entries[(int) sequence & MASK];
+        entry.time = System.currentTimeMillis();
+        entry.address = address;
+        entry.username = username;
+        entry.method = method;
+        entry.path = path;
+        entry.status = status;
+        entry.nanos = nanos;
+        entry.bytesIn = bytesIn;
+        entry.bytesOut = bytesOut;
+
+        sequences.lazySet((int) sequence & MASK, sequence + 1);
+    }
+
+    /**
+     * Gets the amount of entries that have been dropped because the ring buffer was full
+     * @return the amount of dropped entries
+     */
+    public long getDroppedEntries() {
+        return droppedEntries.sum();
+    }
+
+    /**
+     * Gets the amount of entries that have been written to the log file
+     * @return the amount of written entries
+     */
+    public long getWrittenEntries() {
+        return writtenEntries.sum();
+    }
+
+    /**
+     * The loop of the writer thread
+     */
+    private void run() {
+        try {
+            Files.createDirectories(directory.toPath());
+            openFile();
+
+            while (running) {
+                int written = drain();
+                sync(false);
+                if (written == 0) LockSupport.parkNanos(IDLE_WAIT);
+            }
+
+            int written;
+            do {
+                written = drain();
+            } while (written > 0);
+            sync(true);
+        } catch (IOException e) {
+            LOG.log(Level.WARNING, "Could not write the access log", e);
+            running = false;
+        } finally {
+            closeFile();
+        }
+    }
+
+    /**
+     * Writes the published entries to the log file, at most one batch at a time
+     * @return the amount of written entries
+     * @throws IOException An exception that can occur while writing the file
+     */
+    private int drain() throws IOException {
+        int written = 0;
+
+        while (written < BATCH_SIZE) {
+            int index = (int) head & MASK;
+            if (sequences.get(index) != head + 1) break;
+
+            Entry entry = entries[index];
+            format(entry);
+            entry.clear();
+
+            sequences.lazySet(index, head + CAPACITY);
+            head++;
+            written++;
+        }
+
+        if (written == 0) return 0;
+
+        flushBuffer();
+        writtenEntries.add(written);
+        return written;
+    }
+
+    /**
+     * Formats an entry into the write buffer
+     * @param entry The entry you want to format
+     */
+    private void format(Entry entry) {
+        line.setLength(0);
+        line.append(Instant.ofEpochMilli(entry.time)).append(' ')
+                .append(entry.address != null ? entry.address.getHostAddress() : "-").append(' ')
+                .append(entry.username != null ? entry.username : "-").append(' ')
+                .append(entry.method).append(' ')
+                .append(entry.path).append(' ')
+                .append(entry.status).append(' ')
+                .append(entry.nanos / 1000).append("us ")
+                .append(entry.bytesIn).append(' ')
+                .append(entry.bytesOut).append('\n');
+
+        byte[] bytes = line.toString().getBytes(StandardCharsets.UTF_8);
+        if (buffer.remaining() < bytes.length) {
+            buffer.flip();
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.limit() + bytes.length));
+            buffer = larger.put(buffer);
+        }
+        buffer.put(bytes);
+    }
+
+    /**
+     * Writes the buffer to the log file and rotates the file if it got too large or a new day has started
+     * @throws IOException An exception that can occur while writing the file
+     */
+    private void flushBuffer() throws IOException {
+        if (channel.size() >= maxFileSize || !LocalDate.now().equals(fileDate)) rotate();
+
+        buffer.flip();
+        while (buffer.hasRemaining()) channel.write(buffer);
+        buffer.clear();
+    }
+
+    /**
+     * Syncs the written entries to the disk, at most once per sync interval
+     * @param force Should the interval be ignored?
+     * @throws IOException An exception that can occur while syncing
+     */
+    private void sync(boolean force) throws IOException {
+        long now = System.currentTimeMillis();
+        if (!force && now - lastSync < syncInterval) return;
+
+        channel.force(false);
+        lastSync = now;
+    }
+
+    /**
+     * Opens the current log file
+     * @throws IOException An exception that can occur while opening the file
+     */
+    private void openFile() throws IOException {
+        Path file = directory.toPath().resolve(FILE_NAME);
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        fileDate = Files.size(file) > 0
+                ? LocalDate.ofInstant(Files.getLastModifiedTime(file).toInstant(), ZoneId.systemDefault())
+                : LocalDate.now();
+    }
+
+    /**
+     * Closes the current log file
+     */
+    private void closeFile() {
+        if (channel == null) return;
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+        }
+        channel = null;
+    }
+
+    /**
+     * Compresses the current log file into an archive, opens a new one and deletes the oldest archives
+     * @throws IOException An exception that can occur while rotating the files
+     */
+    private void rotate() throws IOException {
+        channel.force(false);
+        closeFile();
+
+        Path file = directory.toPath().resolve(FILE_NAME);
+        LocalDateTime time = LocalDateTime.now();
+        Path archive;
+        do {
+            archive = directory.toPath().resolve("access-" + time.format(ARCHIVE_FORMAT) + ".log.gz");
+            time = time.plus(1, ChronoUnit.MILLIS);
+        } while (Files.exists(archive));
+
+        try (InputStream input = Files.newInputStream(file);
+             OutputStream output = new GZIPOutputStream(Files.newOutputStream(archive), 64 * 1024)) {
+            input.transferTo(output);
+        }
+        Files.delete(file);
+
+        openFile();
+        deleteOldArchives();
+    }
+
+    /**
+     * Deletes the oldest archives until only the configured amount is left
+     */
+    private void deleteOldArchives() {
+        File[] archives = directory.listFiles((dir, name) -> name.startsWith("access-") && name.endsWith(".log.gz"));
+        if (archives == null || archives.length <= maxFiles) return;
+
+        Arrays.sort(archives, Comparator.comparing(File::getName));
+        for (int i = 0; i < archives.length - maxFiles; i++) {
+            if (!archives[i].delete()) LOG.warning("Could not delete the access log " + archives[i].getName());
+        }
+    }
+
+    /**
+     * A slot of the ring buffer
+     */
+    private static class Entry {
+
+        private long time;
+        private InetAddress address;
+        private String username;
+        private String method;
+        private String path;
+        private int status;
+        private long nanos;
+        private long bytesIn;
+        private long bytesOut;
+
+        /**
+         * Removes the references of the entry, so that the request data can be collected
+         */
+        void clear() {
+            address = null;
+            username = null;
+            method = null;
+            path = null;
+        }
+    }
+
+}
@@ -2,6 +2,8 @@ package de.gnmyt.mcdash.api.controller;
 
 import de.gnmyt.mcdash.MinecraftDashboard;
 import de.gnmyt.mcdash.api.config.BackupManager;
+import de.gnmyt.mcdash.api.entities.EventTopic;
+import de.gnmyt.mcdash.api.http.ResourceVersion;
 import de.gnmyt.mcdash.panel.routes.filebrowser.FileRoute;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
@@ -12,6 +14,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
@@ -45,33 +48,54 @@ public class BackupController {
      * @param directory The directory to zip
      * @param parent The parent of the directory
      * @param zipOutputStream The zip output stream
+     * @param progress The progress of the backup
      */
-    private void zipDirectory(File directory, String parent, ZipOutputStream zipOutputStream) {
+    private void zipDirectory(File directory, String parent, ZipOutputStream zipOutputStream, BackupProgress progress) {
         if (directory.getName().equals(backupFolder.getName())) return;
         for (File file : Objects.requireNonNull(directory.listFiles())) {
             if (file.isDirectory()) {
-                zipDirectory(file, parent + "/" + file.getName(), zipOutputStream);
+                zipDirectory(file, parent + "/" + file.getName(), zipOutputStream, progress);
             } else {
                 try {
                     zipOutputStream.putNextEntry(new ZipEntry(parent + "/" + file.getName()));
                     zipOutputStream.write(IOUtils.toByteArray(Files.newInputStream(file.toPath())));
                     zipOutputStream.closeEntry();
                 } catch (Exception ignored) { }
+                progress.fileDone();
             }
         }
     }
 
+    /**
+     * Counts the files that will be written into a backup
+     * @param file The file or directory to count
+     * @return the amount of files
+     */
+    private int countFiles(File file) {
+        if (!file.isDirectory()) return file.exists() ? 1 : 0;
+        if (file.getName().equals(backupFolder.getName())) return 0;
+
+        File[] children = file.listFiles();
+        if (children == null) return 0;
+
+        int count = 0;
+        for (File child : children) count += countFiles(child);
+        return count;
+    }
+
     /**
      * Writes a file to a zip output stream
      * @param file The file to write
      * @param zipOutputStream The zip output stream
+     * @param progress The progress of the backup
      */
-    private void zipFile(File file, ZipOutputStream zipOutputStream) {
+    private void zipFile(File file, ZipOutputStream zipOutputStream, BackupProgress progress) {
         try {
             zipOutputStream.putNextEntry(new ZipEntry(file.getName()));
             zipOutputStream.write(IOUtils.toByteArray(Files.newInputStream(file.toPath())));
             zipOutputStream.closeEntry();
         } catch (Exception ignored) { }
+        progress.fileDone();
     }
 
     /**
@@ -81,16 +105,28 @@ public class BackupController {
      * @throws IOException An exception that will be thrown if the backup could not be created
      */
     public void createBackup(String modeSuffix, File... paths) throws IOException {
-        File backupFile = new File(backupFolder, (new Date().getTime()) + "-" + modeSuffix + ".zip");
+        String name = String.valueOf(new Date().getTime());
+        File backupFile = new File(backupFolder, name + "-" + modeSuffix + ".zip");
+
+        int total = 0;
+        for (File file : paths) total += countFiles(file);
+        BackupProgress progress = new BackupProgress(name, total);
 
+        boolean success = false;
         try (ZipOutputStream zipOutputStream = new ZipOutputStream(Files.newOutputStream(backupFile.toPath()))) {
+            ResourceVersion.BACKUPS.increment();
+            progress.publish("started");
             for (File file : paths) {
                 if (file.exists()) {
                     if (file.isDirectory()) {
-                        zipDirectory(file, file.getName(), zipOutputStream);
-                    } else zipFile(file, zipOutputStream);
+                        zipDirectory(file, file.getName(), zipOutputStream, progress);
+                    } else zipFile(file, zipOutputStream, progress);
                 }
             }
+            success = true;
+        } finally {
+            ResourceVersion.BACKUPS.increment();
+            progress.publish(success ? "finished" : "failed");
         }
     }
 
@@ -101,6 +137,15 @@ public class BackupController {
      */
     public void deleteBackup(String name) throws IOException {
         Files.deleteIfExists(getBackup(name).toPath());
+        ResourceVersion.BACKUPS.increment();
+    }
+
+    /**
+     * Gets the folder containing all backups
+     * @return the backup folder
+     */
+    public File getBackupFolder() {
+        return backupFolder;
     }
 
     /**
@@ -179,4 +224,58 @@ public class BackupController {
         return backupFiles[0];
     }
 
+    /**
+     * Publishes the progress of a running backup to the event stream
+     */
+    private static class BackupProgress {
+
+        private static final long PUBLISH_INTERVAL = TimeUnit.MILLISECONDS.toNanos(250);
+
+        private final String name;
+        private final int total;
+        private int done;
+        private long lastPublish = System.nanoTime();
+
+        /**
+         * Basic constructor of the {@link BackupProgress}
+         * @param name The name of the backup
+         * @param total The amount of files in the backup
+         */
+        BackupProgress(String name, int total) {
+            this.name = name;
+            this.total = total;
+        }
+
+        /**
+         * Marks a file as written and publishes the progress at most every {@link #PUBLISH_INTERVAL}
+         */
+        void fileDone() {
+            done++;
+
+            long now = System.nanoTime();
+            if (now - lastPublish < PUBLISH_INTERVAL) return;
+
+            lastPublish = now;
+            publish("running");
+        }
+
+        /**
+         * Publishes the current state of the backup
+         * @param state The state of the backup
+         */
+        void publish(String state) {
+            EventController events = MinecraftDashboard.getEventController();
+            if (events == null) return;
+
+            events.publish(EventTopic.BACKUPS, generator -> {
+                generator.writeStartObject();
+                generator.writeStringField("name", name);
+                generator.writeStringField("state", state);
+                generator.writeNumberField("done", done);
+                generator.writeNumberField("total", total);
+                generator.writeEndObject();
+            });
+        }
+    }
+
 }
@@ -0,0 +1,306 @@
+package de.gnmyt.mcdash.api.controller;
+
+import de.gnmyt.mcdash.api.entities.EventTopic;
+import de.gnmyt.mcdash.api.json.JsonFactoryHolder;
+import de.gnmyt.mcdash.api.json.JsonWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Pushes live updates to the clients of the event stream.
+ * Every update is serialized once and then put into the queues of all subscribers of its topic.
+ * The queues are bounded: a subscriber that can not keep up gets dropped instead of slowing down the others
+ */
+public class EventController {
+
+    private static final Logger LOG = Logger.getLogger(EventController.class.getName());
+
+    private static final int QUEUE_CAPACITY = 256;
+    private static final long TICK_INTERVAL = 500;
+    private static final int STATS_TICKS = 2;
+    private static final long PING_INTERVAL = TimeUnit.SECONDS.toMillis(15);
+    private static final int MAX_LOG_READ = 256 * 1024;
+
+    private static final byte[] RETRY = "retry: 5000\n\n".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] PING = ": ping\n\n".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] DROPPED = new byte[0];
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicIntegerArray topicSubscribers = new AtomicIntegerArray(EventTopic.values().length);
+    private final LongAdder droppedSubscribers = new LongAdder();
+
+    private final StatsController stats;
+    private final Path logFile = Paths.get("logs/latest.log");
+    private long logPosition = -1;
+    private long ticks;
+    private ScheduledFuture<?> task;
+
+    /**
+     * Basic constructor of the {@link EventController}
+     * @param stats The controller the server statistics are read from
+     */
+    public EventController(StatsController stats) {
+        this.stats = stats;
+    }
+
+    /**
+     * Starts the task that produces the periodic updates (stats and console lines).
+     * The task only does work while a topic has subscribers
+     * @param executor The executor the task should run on
+     */
+    public synchronized void start(ScheduledExecutorService executor) {
+        if (task == null)
+            task = executor.scheduleWithFixedDelay(this::tick, TICK_INTERVAL, TICK_INTERVAL, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops producing updates and disconnects all subscribers
+     */
+    public synchronized void stop() {
+        if (task != null) task.cancel(false);
+        task = null;
+
+        for (Subscriber subscriber : subscribers) {
+            unsubscribe(subscriber);
+            subscriber.drop();
+        }
+    }
+
+    /**
+     * Subscribes a client to the provided topics
+     * @param topics The topics the client wants to receive
+     * @return the subscriber, which needs to be passed to {@link #unsubscribe} once the client disconnects
+     */
+    public Subscriber subscribe(Set<EventTopic> topics) {
+        Subscriber subscriber = new Subscriber(topics);
+        subscribers.add(subscriber);
+        for (EventTopic topic : topics) topicSubscribers.incrementAndGet(topic.ordinal());
+        return subscriber;
+    }
+
+    /**
+     * Removes a subscriber
+     * @param subscriber The subscriber you want to remove
+     */
+    public void unsubscribe(Subscriber subscriber) {
+        if (!subscribers.remove(subscriber)) return;
+        for (EventTopic topic : subscriber.topics) topicSubscribers.decrementAndGet(topic.ordinal());
+    }
+
+    /**
+     * Checks if any client is subscribed to a topic
+     * @param topic The topic you want to check
+     * @return <code>true</code> if the topic has subscribers
+     */
+    public boolean hasSubscribers(EventTopic topic) {
+        return topicSubscribers.get(topic.ordinal()) > 0;
+    }
+
+    /**
+     * Sends an update to all subscribers of a topic. The data is only serialized if the topic has subscribers
+     * @param topic The topic of the update
+     * @param data The writer of the json data
+     */
+    public void publish(EventTopic topic, JsonWriter data) {
+        if (!hasSubscribers(topic)) return;
+
+        byte[] event;
+        try {
+            event = ("event: " + topic.getName() + "\ndata: " + JsonFactoryHolder.toString(data, false) + "\n\n")
+                    .getBytes(StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            LOG.log(Level.WARNING, "Could not serialize the " + topic.getName() + " event", e);
+            return;
+        }
+
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.topics.contains(topic) || subscriber.offer(event)) continue;
+
+            unsubscribe(subscriber);
+            droppedSubscribers.increment();
+        }
+    }
+
+    /**
+     * Gets the amount of connected subscribers
+     * @return the amount of subscribers
+     */
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Gets the amount of subscribers that have been dropped because they could not keep up
+     * @return the amount of dropped subscribers
+     */
+    public long getDroppedSubscribers() {
+        return droppedSubscribers.sum();
+    }
+
+    /**
+     * Produces the periodic updates
+     */
+    private void tick() {
+        try {
+            if (hasSubscribers(EventTopic.STATS) && ticks++ % STATS_TICKS == 0) publishStats();
+
+            if (hasSubscribers(EventTopic.CONSOLE)) publishConsole();
+            else logPosition = -1;
+        } catch (Exception e) {
+            LOG.log(Level.WARNING, "Could not produce the live updates", e);
+        }
+    }
+
+    /**
+     * Publishes the current server statistics
+     */
+    private void publishStats() {
+        publish(EventTopic.STATS, generator -> {
+            generator.writeStartObject();
+            generator.writeNumberField("tps", stats.getTPS());
+            generator.writeNumberField("processors", stats.getAvailableProcessors());
+            generator.writeNumberField("free_memory", stats.getFreeMemory());
+            generator.writeNumberField("total_memory", stats.getTotalMemory());
+            generator.writeNumberField("used_memory", stats.getUsedMemory());
+            generator.writeNumberField("free_space", stats.getFreeSpace());
+            generator.writeNumberField("total_space", stats.getTotalSpace());
+            generator.writeNumberField("used_space", stats.getUsedSpace());
+            generator.writeNumberField("max_players", stats.getMaxPlayers());
+            generator.writeNumberField("online_players", stats.getOnlinePlayers());
+            generator.writeEndObject();
+        });
+    }
+
+    /**
+     * Publishes the lines that have been appended to the log file since the last tick.
+     * Clients load the existing log through the console route, so the stream starts at the current end of the file
+     * @throws IOException An exception that can occur while reading the log file
+     */
+    private void publishConsole() throws IOException {
+        if (!Files.exists(logFile)) return;
+
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            long size = channel.size();
+
+            if (logPosition == -1) logPosition = size;
+            if (size < logPosition) logPosition = 0;
+            if (size == logPosition) return;
+
+            ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(MAX_LOG_READ, size - logPosition));
+            channel.read(buffer, logPosition);
+
+            int end = buffer.position();
+            while (end > 0 && buffer.get(end - 1) != '\n') end--;
+            if (end == 0) {
+                if (buffer.position() == buffer.capacity()) logPosition += buffer.position();
+                return;
+            }
+
+            logPosition += end;
+
+            List<String> lines = new ArrayList<>();
+            for (String line : new String(buffer.array(), 0, end - 1, StandardCharsets.UTF_8).split("\n"))
+                lines.add(line.endsWith("\r") ? line.substring(0, line.length() - 1) : line);
+
+            publish(EventTopic.CONSOLE, generator -> {
+                generator.writeStartObject();
+                generator.writeArrayFieldStart("lines");
+                for (String line : lines) generator.writeString(line);
+                generator.writeEndArray();
+                generator.writeEndObject();
+            });
+        }
+    }
+
+    /**
+     * A client of the event stream
+     */
+    public static class Subscriber {
+
+        private final Set<EventTopic> topics;
+        private final BlockingQueue<byte[]> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        private volatile boolean dropped;
+
+        /**
+         * Basic constructor of the {@link Subscriber}
+         * @param topics The topics of the subscriber
+         */
+        private Subscriber(Set<EventTopic> topics) {
+            this.topics = topics;
+        }
+
+        /**
+         * Puts an event into the queue of the subscriber
+         * @param event The serialized event
+         * @return <code>false</code> if the queue is full and the subscriber has been dropped
+         */
+        private boolean offer(byte[] event) {
+            if (dropped) return true;
+            if (queue.offer(event)) return true;
+
+            drop();
+            return false;
+        }
+
+        /**
+         * Drops the subscriber, its stream ends after the current event
+         */
+        private void drop() {
+            dropped = true;
+            queue.clear();
+            queue.offer(DROPPED);
+        }
+
+        /**
+         * Writes the queued events to the client until it disconnects or gets dropped.
+         * A comment is sent if there have been no events for a while, so that proxies keep the connection open
+         * @param output The stream of the response body
+         * @throws IOException An exception that can occur while writing to the client
+         */
+        public void pipe(OutputStream output) throws IOException {
+            output.write(RETRY);
+            output.flush();
+
+            try {
+                while (!dropped) {
+                    byte[] event = queue.poll(PING_INTERVAL, TimeUnit.MILLISECONDS);
+
+                    if (event == null) {
+                        output.write(PING);
+                    } else {
+                        do {
+                            if (event == DROPPED) return;
+                            output.write(event);
+                        } while ((event = queue.poll()) != null);
+                    }
+
+                    output.flush();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+}
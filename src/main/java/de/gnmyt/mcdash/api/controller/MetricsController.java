@@ -0,0 +1,288 @@
+package de.gnmyt.mcdash.api.controller;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+import java.util.function.IntSupplier;
+
+/**
+ * Collects the request metrics of the web server and renders them in the Prometheus text format.
+ * Recording only touches striped counters, so that the instrumentation does not slow down the routes
+ */
+public class MetricsController {
+
+    private static final double[] BUCKETS = {0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5,
+            1, 2.5, 5, 10, 30};
+
+    private final Map<String, RouteMetrics> routes = new ConcurrentHashMap<>();
+    private final List<Sample> samples = new ArrayList<>();
+    private final Histogram mainThreadWait = new Histogram();
+    private final Histogram mainThreadHop = new Histogram();
+
+    /**
+     * Gets or creates the metrics of a route
+     * @param route The path of the route
+     * @return the metrics of the route
+     */
+    public RouteMetrics getRoute(String route) {
+        return routes.computeIfAbsent(route, RouteMetrics::new);
+    }
+
+    /**
+     * Records how long a task waited for the main thread
+     * @param nanos The time between scheduling and running the task in nanoseconds
+     */
+    public void recordMainThreadWait(long nanos) {
+        mainThreadWait.record(nanos);
+    }
+
+    /**
+     * Records how long a route waited for the result of its action on the main thread
+     * @param nanos The time between submitting the action and receiving its result in nanoseconds
+     */
+    public void recordMainThreadHop(long nanos) {
+        mainThreadHop.record(nanos);
+    }
+
+    /**
+     * Adds a gauge whose value is read when the metrics are scraped
+     * @param name The name of the metric
+     * @param help The description of the metric
+     * @param value The supplier of the current value
+     * @return this class
+     */
+    public synchronized MetricsController gauge(String name, String help, DoubleSupplier value) {
+        samples.add(new Sample(name, help, "gauge", value));
+        return this;
+    }
+
+    /**
+     * Adds a counter whose value is read when the metrics are scraped
+     * @param name The name of the metric
+     * @param help The description of the metric
+     * @param value The supplier of the current value
+     * @return this class
+     */
+    public synchronized MetricsController counter(String name, String help, DoubleSupplier value) {
+        samples.add(new Sample(name, help, "counter", value));
+        return this;
+    }
+
+    /**
+     * Renders all metrics in the Prometheus text format
+     * @return the metrics
+     */
+    public String scrape() {
+        StringBuilder output = new StringBuilder(8192);
+        Map<String, RouteMetrics> sorted = new TreeMap<>(routes);
+
+        header(output, "mcdash_http_request_duration_seconds", "histogram", "Time from receiving a request until it has been answered");
+        sorted.values().forEach(route -> route.latency.write(output, "mcdash_http_request_duration_seconds", route.labels));
+
+        header(output, "mcdash_http_queue_wait_seconds", "histogram", "Time a request waited for a free slot of its route");
+        sorted.values().forEach(route -> route.queueWait.write(output, "mcdash_http_queue_wait_seconds", route.labels));
+
+        header(output, "mcdash_http_requests_total", "counter", "Answered requests by status code");
+        for (RouteMetrics route : sorted.values()) {
+            new TreeMap<>(route.statuses).forEach((status, count) -> output.append("mcdash_http_requests_total{")
+                    .append(route.labels).append(",status=\"").append(status).append("\"} ").append(count.sum()).append('\n'));
+        }
+
+        header(output, "mcdash_http_requests_in_flight", "gauge", "Requests that are currently being handled");
+        sorted.values().forEach(route -> sample(output, "mcdash_http_requests_in_flight", route.labels, route.inFlight.get()));
+
+        header(output, "mcdash_http_requests_queued", "gauge", "Requests that are waiting for a free slot of their route");
+        sorted.values().forEach(route -> sample(output, "mcdash_http_requests_queued", route.labels,
+                route.queued != null ? route.queued.getAsInt() : 0));
+
+        header(output, "mcdash_http_request_bytes_total", "counter", "Bytes read from request bodies");
+        sorted.values().forEach(route -> sample(output, "mcdash_http_request_bytes_total", route.labels, route.bytesIn.sum()));
+
+        header(output, "mcdash_http_response_bytes_total", "counter", "Bytes written to response bodies");
+        sorted.values().forEach(route -> sample(output, "mcdash_http_response_bytes_total", route.labels, route.bytesOut.sum()));
+
+        header(output, "mcdash_main_thread_wait_seconds", "histogram", "Time a task of the web server waited for the main thread");
+        mainThreadWait.write(output, "mcdash_main_thread_wait_seconds", null);
+
+        header(output, "mcdash_main_thread_hop_seconds", "histogram", "Time a route waited for the result of its action on the main thread");
+        mainThreadHop.write(output, "mcdash_main_thread_hop_seconds", null);
+
+        synchronized (this) {
+            for (Sample sample : samples) {
+                header(output, sample.name, sample.type, sample.help);
+                sample(output, sample.name, null, sample.value.getAsDouble());
+            }
+        }
+
+        return output.toString();
+    }
+
+    /**
+     * Writes the help and type lines of a metric
+     * @param output The builder of the output
+     * @param name The name of the metric
+     * @param type The type of the metric
+     * @param help The description of the metric
+     */
+    private static void header(StringBuilder output, String name, String type, String help) {
+        output.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        output.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    /**
+     * Writes a single sample
+     * @param output The builder of the output
+     * @param name The name of the metric
+     * @param labels The labels of the sample or <code>null</code>
+     * @param value The value of the sample
+     */
+    private static void sample(StringBuilder output, String name, String labels, double value) {
+        output.append(name);
+        if (labels != null) output.append('{').append(labels).append('}');
+        output.append(' ').append(format(value)).append('\n');
+    }
+
+    /**
+     * Formats a value like Prometheus expects it
+     * @param value The value you want to format
+     * @return the formatted value
+     */
+    private static String format(double value) {
+        if (value == Math.rint(value) && !Double.isInfinite(value)) return String.valueOf((long) value);
+        return Double.toString(value);
+    }
+
+    /**
+     * The metrics of a single route
+     */
+    public static class RouteMetrics {
+
+        private final String labels;
+        private final Histogram latency = new Histogram();
+        private final Histogram queueWait = new Histogram();
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final LongAdder bytesIn = new LongAdder();
+        private final LongAdder bytesOut = new LongAdder();
+        private volatile IntSupplier queued;
+
+        /**
+         * Basic constructor of the {@link RouteMetrics}
+         * @param route The path of the route
+         */
+        private RouteMetrics(String route) {
+            this.labels = "route=\"" + route.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+        }
+
+        /**
+         * Sets the supplier of the amount of requests waiting for a slot of the route
+         * @param queued The supplier of the queue length
+         */
+        public void setQueued(IntSupplier queued) {
+            this.queued = queued;
+        }
+
+        /**
+         * Marks a request as started
+         */
+        public void start() {
+            inFlight.incrementAndGet();
+        }
+
+        /**
+         * Records how long a request waited for a free slot
+         * @param nanos The waiting time in nanoseconds
+         */
+        public void recordQueueWait(long nanos) {
+            queueWait.record(nanos);
+        }
+
+        /**
+         * Marks a request as finished
+         * @param status The status code of the response
+         * @param nanos The duration of the request in nanoseconds
+         * @param bytesIn The amount of bytes read from the request body
+         * @param bytesOut The amount of bytes written to the response body
+         */
+        public void finish(int status, long nanos, long bytesIn, long bytesOut) {
+            inFlight.decrementAndGet();
+            latency.record(nanos);
+            statuses.computeIfAbsent(status, code -> new LongAdder()).increment();
+            this.bytesIn.add(bytesIn);
+            this.bytesOut.add(bytesOut);
+        }
+    }
+
+    /**
+     * A histogram with fixed buckets from half a millisecond to 30 seconds
+     */
+    private static class Histogram {
+
+        private static final long[] BOUNDS = new long[BUCKETS.length];
+
+        static {
+            for (int i = 0; i < BUCKETS.length; i++) BOUNDS[i] = (long) (BUCKETS[i] * TimeUnit.SECONDS.toNanos(1));
+        }
+
+        private final LongAdder[] counts = new LongAdder[BUCKETS.length + 1];
+        private final LongAdder sum = new LongAdder();
+
+        /**
+         * Basic constructor of the {@link Histogram}
+         */
+        Histogram() {
+            for (int i = 0; i < counts.length; i++) counts[i] = new LongAdder();
+        }
+
+        /**
+         * Records a value
+         * @param nanos The value in nanoseconds
+         */
+        void record(long nanos) {
+            int bucket = 0;
+            while (bucket < BOUNDS.length && nanos > BOUNDS[bucket]) bucket++;
+
+            counts[bucket].increment();
+            sum.add(nanos);
+        }
+
+        /**
+         * Writes the cumulative buckets, the sum and the count of the histogram
+         * @param output The builder of the output
+         * @param name The name of the metric
+         * @param labels The labels of the histogram or <code>null</code>
+         */
+        void write(StringBuilder output, String name, String labels) {
+            String prefix = labels != null ? labels + "," : "";
+            long cumulative = 0;
+
+            for (int i = 0; i < counts.length; i++) {
+                cumulative += counts[i].sum();
+                String bound = i < BUCKETS.length ? BigDecimal.valueOf(BUCKETS[i]).stripTrailingZeros().toPlainString() : "+Inf";
+                output.append(name).append("_bucket{").append(prefix).append("le=\"").append(bound).append("\"} ")
+                        .append(cumulative).append('\n');
+            }
+
+            sample(output, name + "_sum", labels, sum.sum() / 1e9);
+            sample(output, name + "_count", labels, cumulative);
+        }
+    }
+
+    /**
+     * A metric whose value is read while scraping
+     * @param name The name of the metric
+     * @param help The description of the metric
+     * @param type The Prometheus type of the metric
+     * @param value The supplier of the current value
+     */
+    private record Sample(String name, String help, String type, DoubleSupplier value) {
+    }
+
+}
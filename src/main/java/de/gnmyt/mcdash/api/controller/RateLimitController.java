@@ -0,0 +1,174 @@
+package de.gnmyt.mcdash.api.controller;
+
+import de.gnmyt.mcdash.api.config.ConfigurationManager;
+import de.gnmyt.mcdash.api.http.RateLimitClass;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class RateLimitController {
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final LongAdder rejectedRequests = new LongAdder();
+
+    private final boolean enabled;
+    private final int[] capacities = new int[RateLimitClass.values().length];
+    private final double[] refillRates = new double[RateLimitClass.values().length];
+
+    /**
+     * Basic constructor of the {@link RateLimitController}
+     * @param config The configuration containing the limits of the classes
+     */
+    public RateLimitController(ConfigurationManager config) {
+        this.enabled = config.isRateLimitEnabled();
+
+        for (RateLimitClass limitClass : RateLimitClass.values()) {
+            capacities[limitClass.ordinal()] = config.getRateLimitCapacity(limitClass);
+            refillRates[limitClass.ordinal()] = config.getRateLimitRefill(limitClass);
+        }
+    }
+
+    /**
+     * Takes a token from the bucket of the client and the bucket of the account.
+     * If one of them is empty, no token is taken from the other one.
+     * Only pass an account whose identity has already been verified, otherwise anyone could
+     * drain the bucket of another account by claiming its name
+     * @param limitClass The class of the requested route
+     * @param address The address of the client
+     * @param username The verified name of the account or <code>null</code> if it is not known yet
+     * @return <code>0</code> if the request is allowed, otherwise the seconds until the client should retry
+     */
+    public long acquire(RateLimitClass limitClass, String address, String username) {
+        if (!enabled) return 0;
+
+        long now = System.nanoTime();
+
+        TokenBucket addressBucket = getBucket(limitClass, "address:" + address);
+        long waitNanos = addressBucket.tryTake(now);
+
+        if (waitNanos == 0 && username != null) {
+            waitNanos = getBucket(limitClass, "account:" + username).tryTake(now);
+            if (waitNanos != 0) addressBucket.refund();
+        }
+
+        return retryAfter(waitNanos);
+    }
+
+    /**
+     * Takes a token from the bucket of an account whose credentials have just been verified
+     * @param limitClass The class of the requested route
+     * @param username The verified name of the account
+     * @return <code>0</code> if the request is allowed, otherwise the seconds until the client should retry
+     */
+    public long acquireAccount(RateLimitClass limitClass, String username) {
+        if (!enabled) return 0;
+
+        return retryAfter(getBucket(limitClass, "account:" + username).tryTake(System.nanoTime()));
+    }
+
+    /**
+     * Converts the waiting time of a bucket into the value of the <code>Retry-After</code> header
+     * @param waitNanos The time in nanoseconds until the bucket has a token again or <code>0</code>
+     * @return <code>0</code> if the request is allowed, otherwise the seconds until the client should retry
+     */
+    private long retryAfter(long waitNanos) {
+        if (waitNanos == 0) return 0;
+
+        rejectedRequests.increment();
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    /**
+     * Removes all buckets that are full again, so that the map does not grow with every client
+     */
+    public void purge() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    /**
+     * Gets the amount of requests that have been rejected since the start
+     * @return the amount of rejected requests
+     */
+    public long getRejectedRequests() {
+        return rejectedRequests.sum();
+    }
+
+    /**
+     * Gets or creates the bucket of a client
+     * @param limitClass The class of the requested route
+     * @param key The key of the client (address or account)
+     * @return the bucket of the client
+     */
+    private TokenBucket getBucket(RateLimitClass limitClass, String key) {
+        return buckets.computeIfAbsent(limitClass.getConfigName() + "|" + key,
+                k -> new TokenBucket(capacities[limitClass.ordinal()], refillRates[limitClass.ordinal()]));
+    }
+
+    /**
+     * A token bucket that gets refilled continuously
+     */
+    private static class TokenBucket {
+
+        private final double capacity;
+        private final double tokensPerNano;
+        private double tokens;
+        private long lastRefill = System.nanoTime();
+
+        /**
+         * Basic constructor of the {@link TokenBucket}
+         * @param capacity The maximum amount of tokens
+         * @param refillRate The amount of tokens added per second
+         */
+        TokenBucket(int capacity, double refillRate) {
+            this.capacity = capacity;
+            this.tokensPerNano = refillRate / TimeUnit.SECONDS.toNanos(1);
+            this.tokens = capacity;
+        }
+
+        /**
+         * Takes a token from the bucket
+         * @param now The current time in nanoseconds
+         * @return <code>0</code> if a token has been taken, otherwise the nanoseconds until the next token is available
+         */
+        synchronized long tryTake(long now) {
+            refill(now);
+
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+
+            return (long) Math.ceil((1 - tokens) / tokensPerNano);
+        }
+
+        /**
+         * Gives back a token that has been taken
+         */
+        synchronized void refund() {
+            tokens = Math.min(capacity, tokens + 1);
+        }
+
+        /**
+         * Checks if the bucket is full
+         * @param now The current time in nanoseconds
+         * @return <code>true</code> if the bucket is full
+         */
+        synchronized boolean isFull(long now) {
+            refill(now);
+            return tokens >= capacity;
+        }
+
+        /**
+         * Adds the tokens for the time passed since the last refill
+         * @param now The current time in nanoseconds
+         */
+        private void refill(long now) {
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+            lastRefill = now;
+        }
+    }
+
+}
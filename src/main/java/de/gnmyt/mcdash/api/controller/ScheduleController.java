@@ -6,6 +6,7 @@ import de.gnmyt.mcdash.api.entities.Schedule;
 import de.gnmyt.mcdash.api.entities.ScheduleAction;
 import de.gnmyt.mcdash.api.entities.ScheduleExecution;
 import de.gnmyt.mcdash.api.entities.ScheduleFrequency;
+import de.gnmyt.mcdash.api.entities.TaskPriority;
 import de.gnmyt.mcdash.panel.routes.backups.BackupRoute;
 import org.bukkit.Bukkit;
 
@@ -112,24 +113,31 @@ public class ScheduleController {
 
                         switch (action.getType()) {
                             case COMMAND:
-                                Bukkit.getScheduler().callSyncMethod(MinecraftDashboard.getInstance(), () ->
+                                MinecraftDashboard.getMainThreadQueue().submit(TaskPriority.LOW, null, () ->
                                         Bukkit.dispatchCommand(Bukkit.getConsoleSender(), action.getPayload()));
                                 break;
                             case BROADCAST:
-                                MinecraftDashboard.getInstance().getServer().broadcastMessage(action.getPayload());
+                                MinecraftDashboard.getMainThreadQueue().submit(TaskPriority.LOW, null, () ->
+                                        MinecraftDashboard.getInstance().getServer().broadcastMessage(action.getPayload()));
                                 break;
                             case RELOAD_SERVER:
-                                MinecraftDashboard.getInstance().getServer().reload();
+                                MinecraftDashboard.getMainThreadQueue().submit(TaskPriority.LOW, null, () -> {
+                                    MinecraftDashboard.getInstance().getServer().reload();
+                                    return null;
+                                });
                                 break;
                             case STOP_SERVER:
-                                MinecraftDashboard.getInstance().getServer().shutdown();
+                                MinecraftDashboard.getMainThreadQueue().submit(TaskPriority.LOW, null, () -> {
+                                    MinecraftDashboard.getInstance().getServer().shutdown();
+                                    return null;
+                                });
                                 break;
                             case CREATE_BACKUP:
                                 MinecraftDashboard.getBackupController().createBackup(action.getPayload(),
                                         BackupRoute.getBackupDirectories(action.getPayload()).toArray(new File[0]));
                                 break;
                             case KICK_ALL_PLAYERS:
-                                Bukkit.getScheduler().callSyncMethod(MinecraftDashboard.getInstance(), () -> {
+                                MinecraftDashboard.getMainThreadQueue().submit(TaskPriority.LOW, null, () -> {
                                     MinecraftDashboard.getInstance().getServer().getOnlinePlayers().forEach(player ->
                                             player.kickPlayer(action.getPayload()));
                                     return null;
@@ -0,0 +1,140 @@
+package de.gnmyt.mcdash.api.controller;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+public class SessionController {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final SecureRandom random = new SecureRandom();
+    private final Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+    private final Base64.Decoder decoder = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final long sessionDuration;
+
+    private final Map<String, Long> revokedSessions = new ConcurrentHashMap<>();
+    private final Map<String, Long> revokedUsers = new ConcurrentHashMap<>();
+
+    /**
+     * Basic constructor of the {@link SessionController}
+     * A new signing key gets generated on every start, which invalidates all previously issued sessions
+     * @param sessionDuration The lifetime of a session in minutes
+     */
+    public SessionController(int sessionDuration) {
+        byte[] secret = new byte[32];
+        random.nextBytes(secret);
+
+        this.key = new SecretKeySpec(secret, HMAC_ALGORITHM);
+        this.sessionDuration = TimeUnit.MINUTES.toMillis(Math.max(1, sessionDuration));
+    }
+
+    /**
+     * Creates a new signed session token
+     * The token has the format <code>user.issued.id.signature</code>
+     * @param username The name of the account the session belongs to
+     * @return the session token
+     */
+    public String createSession(String username) {
+        byte[] sessionId = new byte[16];
+        random.nextBytes(sessionId);
+
+        String payload = encoder.encodeToString(username.getBytes(StandardCharsets.UTF_8)) + "."
+                + System.currentTimeMillis() + "." + encoder.encodeToString(sessionId);
+
+        return payload + "." + encoder.encodeToString(sign(payload));
+    }
+
+    /**
+     * Validates a session token
+     * @param token The token provided by the client
+     * @return the name of the account or <code>null</code> if the token is invalid, expired or revoked
+     */
+    public String getUsername(String token) {
+        int signatureIndex = token.lastIndexOf('.');
+        if (signatureIndex <= 0) return null;
+
+        String payload = token.substring(0, signatureIndex);
+        String[] parts = payload.split("\\.");
+        if (parts.length != 3) return null;
+
+        try {
+            byte[] signature = decoder.decode(token.substring(signatureIndex + 1));
+            if (!MessageDigest.isEqual(signature, sign(payload))) return null;
+
+            long issued = Long.parseLong(parts[1]);
+            if (System.currentTimeMillis() > issued + sessionDuration) return null;
+            if (revokedSessions.containsKey(parts[2])) return null;
+
+            String username = new String(decoder.decode(parts[0]), StandardCharsets.UTF_8);
+
+            Long revokedBefore = revokedUsers.get(username);
+            if (revokedBefore != null && issued <= revokedBefore) return null;
+
+            return username;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Revokes a single session token
+     * @param token The token you want to revoke
+     */
+    public void revokeSession(String token) {
+        String[] parts = token.split("\\.");
+        if (parts.length != 4 || getUsername(token) == null) return;
+
+        revokedSessions.put(parts[2], Long.parseLong(parts[1]) + sessionDuration);
+        purgeRevokedSessions();
+    }
+
+    /**
+     * Revokes all sessions of an account that have been issued until now
+     * @param username The name of the account
+     */
+    public void revokeSessions(String username) {
+        revokedUsers.put(username, System.currentTimeMillis());
+    }
+
+    /**
+     * Gets the lifetime of a session
+     * @return the lifetime of a session in milliseconds
+     */
+    public long getSessionDuration() {
+        return sessionDuration;
+    }
+
+    /**
+     * Removes all revoked sessions that would have already expired
+     */
+    private void purgeRevokedSessions() {
+        long now = System.currentTimeMillis();
+        revokedSessions.values().removeIf(expiry -> expiry < now);
+    }
+
+    /**
+     * Signs the payload of a token
+     * @param payload The payload you want to sign
+     * @return the signature of the payload
+     */
+    private byte[] sign(String payload) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not sign the session token", e);
+        }
+    }
+
+}
@@ -0,0 +1,140 @@
+package de.gnmyt.mcdash.api.controller;
+
+import de.gnmyt.mcdash.api.entities.TaskPriority;
+import de.gnmyt.mcdash.api.http.ResourceVersion;
+import de.gnmyt.mcdash.api.platform.OfflinePlayerInfo;
+import de.gnmyt.mcdash.api.platform.Platform;
+import de.gnmyt.mcdash.api.platform.PluginInfo;
+import de.gnmyt.mcdash.api.platform.ServerSnapshot;
+import de.gnmyt.mcdash.api.tasks.MainThreadQueue;
+
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Captures the state of the server on the main thread every few ticks. The read routes serve the last
+ * {@link ServerSnapshot} instead of calling the server api from the threads of the web server
+ */
+public class SnapshotController {
+
+    private static final Logger LOG = Logger.getLogger(SnapshotController.class.getName());
+
+    private final Platform platform;
+    private final MainThreadQueue queue;
+    private final long interval;
+
+    private volatile ServerSnapshot snapshot = ServerSnapshot.EMPTY;
+    private volatile long captureTime;
+    private List<PluginInfo> plugins = List.of();
+    private long pluginVersion = -1;
+    private List<OfflinePlayerInfo> bannedPlayers = List.of();
+    private long bannedVersion;
+    private List<OfflinePlayerInfo> whitelistedPlayers = List.of();
+    private long whitelistVersion;
+    private Platform.Task task;
+
+    /**
+     * Basic constructor of the {@link SnapshotController}
+     * @param platform The platform the state is captured from
+     * @param queue The main thread queue the refreshes are submitted to
+     * @param interval The interval in ticks in which a new snapshot is captured
+     */
+    public SnapshotController(Platform platform, MainThreadQueue queue, long interval) {
+        this.platform = platform;
+        this.queue = queue;
+        this.interval = interval;
+    }
+
+    /**
+     * Starts capturing the snapshots
+     */
+    public synchronized void start() {
+        if (task == null) task = platform.runSyncRepeating(this::capture, 0, interval);
+    }
+
+    /**
+     * Stops capturing the snapshots
+     */
+    public synchronized void stop() {
+        if (task == null) return;
+        task.cancel();
+        task = null;
+    }
+
+    /**
+     * Captures a new snapshot after the actions that have already been queued.
+     * Routes call this after changing the state, so that the change is visible before the next interval.
+     * Refreshes requested while one is still waiting are merged into it
+     */
+    public void refresh() {
+        queue.submit(TaskPriority.LOW, "snapshot", () -> {
+            capture();
+            return null;
+        });
+    }
+
+    /**
+     * Gets the last captured snapshot
+     * @return the last snapshot or {@link ServerSnapshot#EMPTY} if none has been captured yet
+     */
+    public ServerSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Gets the time it took to capture the last snapshot on the main thread
+     * @return the capture time in nanoseconds
+     */
+    public long getCaptureTime() {
+        return captureTime;
+    }
+
+    /**
+     * Gets the age of the last snapshot
+     * @return the age in milliseconds
+     */
+    public long getAge() {
+        ServerSnapshot current = snapshot;
+        return current.capturedAt() == 0 ? 0 : System.currentTimeMillis() - current.capturedAt();
+    }
+
+    /**
+     * Captures a new snapshot. Must be called on the main thread.
+     * The plugin list is only captured again if a plugin has been enabled or disabled in the meantime.
+     * The ban list and the whitelist get a new version whenever their content differs from the last capture,
+     * since they can also be changed with commands the dashboard does not see
+     */
+    private void capture() {
+        long start = System.nanoTime();
+
+        try {
+            long version = ResourceVersion.PLUGINS.get();
+            if (version != pluginVersion) {
+                plugins = List.copyOf(platform.getPlugins());
+                pluginVersion = version;
+            }
+
+            List<OfflinePlayerInfo> banned = List.copyOf(platform.getBannedPlayers());
+            if (!banned.equals(bannedPlayers)) {
+                bannedPlayers = banned;
+                bannedVersion++;
+            }
+
+            List<OfflinePlayerInfo> whitelisted = List.copyOf(platform.getWhitelistedPlayers());
+            if (!whitelisted.equals(whitelistedPlayers)) {
+                whitelistedPlayers = whitelisted;
+                whitelistVersion++;
+            }
+
+            snapshot = new ServerSnapshot(System.currentTimeMillis(), platform.getMaxPlayers(), platform.hasWhitelist(),
+                    List.copyOf(platform.getOnlinePlayers()), List.copyOf(platform.getWorlds()), bannedPlayers,
+                    whitelistedPlayers, plugins, pluginVersion, bannedVersion, whitelistVersion);
+        } catch (Exception e) {
+            LOG.log(Level.WARNING, "Could not capture the state of the server", e);
+        }
+
+        captureTime = System.nanoTime() - start;
+    }
+
+}
@@ -1,9 +1,8 @@
 package de.gnmyt.mcdash.api.controller;
 
-import de.gnmyt.mcdash.MinecraftDashboard;
+import de.gnmyt.mcdash.api.platform.Platform;
 import de.gnmyt.mcdash.api.tasks.TPSRunnable;
 import org.apache.commons.io.FileUtils;
-import org.bukkit.Bukkit;
 
 import java.io.File;
 
@@ -12,14 +11,17 @@ public class StatsController {
     private final File SERVER_FOLDER = new File(".");
     private final TPSRunnable TPS_RUNNABLE = new TPSRunnable();
 
-    private final MinecraftDashboard instance;
+    private final Platform platform;
+    private final SnapshotController snapshots;
 
     /**
      * Basic constructor of the {@link StatsController}
-     * @param instance The main instance of the plugin
+     * @param platform The platform the tps are measured on
+     * @param snapshots The controller the player counts are read from
      */
-    public StatsController(MinecraftDashboard instance) {
-        this.instance = instance;
+    public StatsController(Platform platform, SnapshotController snapshots) {
+        this.platform = platform;
+        this.snapshots = snapshots;
         startTPSRunnable();
     }
 
@@ -28,7 +30,7 @@ public class StatsController {
      * The runnable gets the current tps from the server
      */
     private void startTPSRunnable() {
-        Bukkit.getScheduler().scheduleSyncRepeatingTask(instance, TPS_RUNNABLE, 0, 1);
+        platform.runSyncRepeating(TPS_RUNNABLE, 0, 1);
     }
 
     /**
@@ -39,6 +41,22 @@ public class StatsController {
         return TPS_RUNNABLE.getCurrentRoundedTPS();
     }
 
+    /**
+     * Gets the maximum amount of players
+     * @return the maximum amount of players
+     */
+    public int getMaxPlayers() {
+        return snapshots.getSnapshot().maxPlayers();
+    }
+
+    /**
+     * Gets the amount of online players
+     * @return the amount of online players
+     */
+    public int getOnlinePlayers() {
+        return snapshots.getSnapshot().players().size();
+    }
+
     /**
      * Gets the amount of free memory in the jvm
      * @return the amount of free memory in the jvm
@@ -0,0 +1,197 @@
+package de.gnmyt.mcdash.api.controller;
+
+import de.gnmyt.mcdash.api.http.UploadSizeExceededException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Manages resumable uploads. The data of an upload is appended to a <code>.part</code> file next to
+ * its target, which replaces the target once all bytes have been received. A client whose connection
+ * breaks asks for the current offset and continues from there
+ */
+public class UploadController {
+
+    private static final long EXPIRATION = TimeUnit.HOURS.toMillis(24);
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Map<String, Upload> uploads = new ConcurrentHashMap<>();
+
+    /**
+     * Starts a new upload
+     * @param target The file the upload should be written to
+     * @param size The size of the file in bytes
+     * @return the created upload
+     * @throws IOException An exception that can occur while creating the part file
+     */
+    public Upload createUpload(File target, long size) throws IOException {
+        String id = UUID.randomUUID().toString();
+        File part = new File(target.getParentFile(), "." + target.getName() + "." + id + ".part");
+        Files.createFile(part.toPath());
+
+        Upload upload = new Upload(id, target, part, size);
+        uploads.put(id, upload);
+
+        if (size == 0) complete(upload);
+        return upload;
+    }
+
+    /**
+     * Gets a running upload
+     * @param id The id of the upload
+     * @return the upload or <code>null</code> if no upload with this id is running
+     */
+    public Upload getUpload(String id) {
+        return id == null ? null : uploads.get(id);
+    }
+
+    /**
+     * Writes the next part of an upload. The part has to start at the current offset of the upload
+     * @param upload The upload you want to write to
+     * @param input The stream containing the data
+     * @return the offset after the write
+     * @throws IOException An exception that can occur while writing. The bytes written until then are kept
+     * @throws UploadSizeExceededException if the client sends more bytes than the announced size
+     */
+    public long write(Upload upload, InputStream input) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+
+        try (FileChannel channel = FileChannel.open(upload.part.toPath(), StandardOpenOption.WRITE)) {
+            channel.position(upload.offset);
+
+            int read;
+            while ((read = input.read(buffer, 0, (int) Math.min(buffer.length, upload.size - upload.offset + 1))) != -1) {
+                if (upload.offset + read > upload.size) throw new UploadSizeExceededException(upload.size);
+
+                ByteBuffer data = ByteBuffer.wrap(buffer, 0, read);
+                while (data.hasRemaining()) channel.write(data);
+
+                upload.offset += read;
+                upload.lastActivity = System.currentTimeMillis();
+            }
+        } finally {
+            upload.lastActivity = System.currentTimeMillis();
+        }
+
+        if (upload.isComplete()) complete(upload);
+        return upload.offset;
+    }
+
+    /**
+     * Cancels an upload and deletes its part file
+     * @param upload The upload you want to cancel
+     */
+    public void cancelUpload(Upload upload) {
+        uploads.remove(upload.id);
+        try {
+            Files.deleteIfExists(upload.part.toPath());
+        } catch (IOException ignored) {
+        }
+    }
+
+    /**
+     * Cancels all uploads that have not received any data within the expiration time
+     */
+    public void purge() {
+        long now = System.currentTimeMillis();
+        for (Upload upload : uploads.values()) {
+            if (now - upload.lastActivity > EXPIRATION && upload.lock.tryLock()) {
+                try {
+                    cancelUpload(upload);
+                } finally {
+                    upload.lock.unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves the part file of a finished upload to its target
+     * @param upload The finished upload
+     * @throws IOException An exception that can occur while moving the file
+     */
+    private void complete(Upload upload) throws IOException {
+        Files.move(upload.part.toPath(), upload.target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        uploads.remove(upload.id);
+    }
+
+    /**
+     * A running upload
+     */
+    public static class Upload {
+
+        private final String id;
+        private final File target;
+        private final File part;
+        private final long size;
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile long offset;
+        private volatile long lastActivity = System.currentTimeMillis();
+
+        /**
+         * Basic constructor of the {@link Upload}
+         * @param id The id of the upload
+         * @param target The file the upload should be written to
+         * @param part The file the received data is written to
+         * @param size The size of the file in bytes
+         */
+        private Upload(String id, File target, File part, long size) {
+            this.id = id;
+            this.target = target;
+            this.part = part;
+            this.size = size;
+        }
+
+        /**
+         * Gets the id of the upload
+         * @return the id of the upload
+         */
+        public String getId() {
+            return id;
+        }
+
+        /**
+         * Gets the amount of bytes that have been received
+         * @return the offset the next part has to start at
+         */
+        public long getOffset() {
+            return offset;
+        }
+
+        /**
+         * Gets the size of the file
+         * @return the size in bytes
+         */
+        public long getSize() {
+            return size;
+        }
+
+        /**
+         * Checks if all bytes have been received
+         * @return <code>true</code> if the upload is complete
+         */
+        public boolean isComplete() {
+            return offset == size;
+        }
+
+        /**
+         * Gets the lock that has to be held while writing to the upload
+         * @return the lock of the upload
+         */
+        public ReentrantLock getLock() {
+            return lock;
+        }
+    }
+
+}
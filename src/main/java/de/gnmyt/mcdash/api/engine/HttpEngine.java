@@ -0,0 +1,53 @@
+package de.gnmyt.mcdash.api.engine;
+
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.Executor;
+
+/**
+ * The http server the api and the web ui are served by.
+ * Handlers always receive a {@link com.sun.net.httpserver.HttpExchange}, so the routes
+ * do not depend on the engine that has been chosen in the configuration
+ */
+public interface HttpEngine {
+
+    /**
+     * Creates the engine with the provided name
+     * @param name The name of the engine (<code>jdk</code> or <code>nio</code>)
+     * @return the created engine, the jdk engine is used for unknown names
+     */
+    static HttpEngine create(String name) {
+        if (name.equalsIgnoreCase("nio")) return new NioHttpEngine();
+        return new JdkHttpEngine();
+    }
+
+    /**
+     * Binds the engine to the address and starts accepting connections
+     * @param address The address the engine should listen on
+     * @param executor The executor the handlers should run on
+     * @throws IOException An exception that can occur while binding the address
+     */
+    void start(InetSocketAddress address, Executor executor) throws IOException;
+
+    /**
+     * Registers a handler for all request paths starting with the provided path.
+     * Contexts can also be created after the engine has been started
+     * @param path The path prefix of the context
+     * @param handler The handler of the context
+     */
+    void createContext(String path, HttpHandler handler);
+
+    /**
+     * Stops the engine and closes all connections
+     */
+    void stop();
+
+    /**
+     * Gets the name of the engine
+     * @return the name of the engine
+     */
+    String getName();
+
+}
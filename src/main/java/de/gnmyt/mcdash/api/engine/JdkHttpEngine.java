@@ -0,0 +1,53 @@
+package de.gnmyt.mcdash.api.engine;
+
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * The engine based on the http server of the jdk ({@link HttpServer})
+ */
+public class JdkHttpEngine implements HttpEngine {
+
+    private final Map<String, HttpHandler> contexts = new LinkedHashMap<>();
+    private HttpServer server;
+
+    @Override
+    public synchronized void start(InetSocketAddress address, Executor executor) throws IOException {
+        server = HttpServer.create(address, 0);
+        server.setExecutor(executor);
+        contexts.forEach(server::createContext);
+        server.start();
+    }
+
+    @Override
+    public synchronized void createContext(String path, HttpHandler handler) {
+        contexts.put(path, handler);
+        if (server != null) server.createContext(path, handler);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (server != null) server.stop(0);
+        server = null;
+    }
+
+    @Override
+    public String getName() {
+        return "jdk";
+    }
+
+    /**
+     * Gets the underlying http server
+     * @return the http server or <code>null</code> if the engine is not running
+     */
+    public HttpServer getServer() {
+        return server;
+    }
+
+}
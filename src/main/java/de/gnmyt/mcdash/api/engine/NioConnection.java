@@ -0,0 +1,410 @@
+package de.gnmyt.mcdash.api.engine;
+
+import com.sun.net.httpserver.Headers;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * A single client connection of the {@link NioHttpEngine}.
+ * All methods except {@link #requestUpdate()} are only called by the selector thread
+ */
+class NioConnection {
+
+    private static final int MAX_HEADER_SIZE = 16 * 1024;
+    private static final int MAX_PIPELINED = 16;
+
+    private final NioHttpEngine engine;
+    private final SocketChannel channel;
+    private final SelectionKey key;
+    private final InetSocketAddress remoteAddress;
+    private final InetSocketAddress localAddress;
+
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(MAX_HEADER_SIZE);
+    private final Deque<NioHttpExchange> exchanges = new ArrayDeque<>();
+
+    private NioHttpExchange receiving;
+    private long remainingBody;
+    private boolean inputClosed;
+    private boolean stopParsing;
+    private volatile boolean closed;
+    private long lastActivity = System.currentTimeMillis();
+
+    /**
+     * Basic constructor of the {@link NioConnection}
+     * @param engine The engine the connection belongs to
+     * @param channel The channel of the connection
+     * @param key The selection key of the channel
+     * @throws IOException An exception that can occur while reading the addresses of the channel
+     */
+    NioConnection(NioHttpEngine engine, SocketChannel channel, SelectionKey key) throws IOException {
+        this.engine = engine;
+        this.channel = channel;
+        this.key = key;
+        this.remoteAddress = (InetSocketAddress) channel.getRemoteAddress();
+        this.localAddress = (InetSocketAddress) channel.getLocalAddress();
+    }
+
+    /**
+     * Reads the available bytes and parses them
+     */
+    void onReadable() {
+        try {
+            int read = channel.read(readBuffer);
+            if (read < 0) {
+                inputClosed = true;
+                if (receiving != null) {
+                    receiving = null;
+                    close();
+                    return;
+                }
+            }
+            if (read > 0) lastActivity = System.currentTimeMillis();
+        } catch (IOException e) {
+            close();
+            return;
+        }
+
+        parse();
+        if (inputClosed) flush();
+        updateInterest();
+    }
+
+    /**
+     * Writes the pending output of the exchanges
+     */
+    void onWritable() {
+        flush();
+        if (!closed) parse();
+        updateInterest();
+    }
+
+    /**
+     * Called by the selector thread after another thread requested an update
+     */
+    void onUpdate() {
+        if (closed) return;
+        flush();
+        if (!closed) parse();
+        updateInterest();
+    }
+
+    /**
+     * Asks the selector thread to update this connection. Can be called from any thread
+     */
+    void requestUpdate() {
+        if (!closed) engine.requestUpdate(this);
+    }
+
+    /**
+     * Parses all complete requests and request body parts that are available in the read buffer
+     */
+    private void parse() {
+        readBuffer.flip();
+
+        try {
+            while (readBuffer.hasRemaining() && !closed) {
+                if (receiving != null) {
+                    if (!receiveBody()) break;
+                    continue;
+                }
+
+                if (stopParsing) {
+                    readBuffer.position(readBuffer.limit());
+                    break;
+                }
+
+                if (exchanges.size() >= MAX_PIPELINED) break;
+                if (!parseHead()) break;
+            }
+        } finally {
+            readBuffer.compact();
+        }
+    }
+
+    /**
+     * Passes the available bytes of the current request body to its exchange
+     * @return <code>false</code> if the body buffer of the exchange is full
+     */
+    private boolean receiveBody() {
+        NioRequestBody body = receiving.getBody();
+        if (body.isFull()) return false;
+
+        int length = (int) Math.min(remainingBody, readBuffer.remaining());
+        byte[] chunk = new byte[length];
+        readBuffer.get(chunk);
+        body.offer(chunk);
+
+        remainingBody -= length;
+        if (remainingBody == 0) {
+            body.finish();
+            receiving = null;
+        }
+        return true;
+    }
+
+    /**
+     * Parses the request line and the headers of the next request
+     * @return <code>false</code> if the head of the request is not complete yet
+     */
+    private boolean parseHead() {
+        int start = readBuffer.position();
+        int end = findHeadEnd(start);
+
+        if (end == -1) {
+            if (readBuffer.remaining() >= MAX_HEADER_SIZE) reject(431, "HTTP/1.1");
+            return false;
+        }
+
+        String head = new String(readBuffer.array(), start, end - start, StandardCharsets.ISO_8859_1);
+        readBuffer.position(end + 4);
+
+        String[] lines = head.split("\r\n");
+        String[] requestLine = lines[0].split(" ");
+        if (requestLine.length != 3 || !requestLine[2].startsWith("HTTP/1.")) {
+            reject(400, "HTTP/1.1");
+            return true;
+        }
+
+        String method = requestLine[0];
+        String protocol = requestLine[2];
+
+        Headers headers = new Headers();
+        for (int i = 1; i < lines.length; i++) {
+            int separator = lines[i].indexOf(':');
+            if (separator <= 0) {
+                reject(400, protocol);
+                return true;
+            }
+            String name = lines[i].substring(0, separator).trim();
+            String value = lines[i].substring(separator + 1).trim();
+            if (!isToken(name) || !isFieldValue(value)) {
+                reject(400, protocol);
+                return true;
+            }
+            headers.add(name, value);
+        }
+
+        URI uri;
+        try {
+            uri = new URI(requestLine[1]);
+        } catch (URISyntaxException e) {
+            reject(400, protocol);
+            return true;
+        }
+
+        if (headers.containsKey("Transfer-Encoding")) {
+            reject(411, protocol);
+            return true;
+        }
+
+        long contentLength;
+        try {
+            String value = headers.getFirst("Content-Length");
+            contentLength = value == null ? 0 : Long.parseLong(value);
+            if (contentLength < 0) throw new NumberFormatException();
+        } catch (NumberFormatException e) {
+            reject(400, protocol);
+            return true;
+        }
+
+        boolean keepAlive = isKeepAlive(protocol, headers.getFirst("Connection"));
+        if (!keepAlive) stopParsing = true;
+
+        NioHttpExchange exchange = new NioHttpExchange(this, method, uri, protocol, headers,
+                engine.findContext(uri.getRawPath() == null ? "/" : uri.getRawPath()), keepAlive);
+        exchanges.add(exchange);
+
+        if (contentLength > 0) {
+            if ("100-continue".equalsIgnoreCase(headers.getFirst("Expect"))) exchange.sendContinue();
+            receiving = exchange;
+            remainingBody = contentLength;
+        } else {
+            exchange.getBody().finish();
+        }
+
+        engine.dispatch(exchange);
+        return true;
+    }
+
+    /**
+     * Finds the end of the request head (the empty line)
+     * @param start The position the head starts at
+     * @return the position of the empty line or <code>-1</code> if the head is not complete
+     */
+    private int findHeadEnd(int start) {
+        byte[] data = readBuffer.array();
+        for (int i = start; i + 3 < readBuffer.limit(); i++) {
+            if (data[i] == '\r' && data[i + 1] == '\n' && data[i + 2] == '\r' && data[i + 3] == '\n') return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Checks if a header name only contains the characters allowed in a token (RFC 9110)
+     * @param name The name of the header
+     * @return <code>true</code> if the name is valid
+     */
+    private static boolean isToken(String name) {
+        if (name.isEmpty()) return false;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c <= ' ' || c >= 127 || "\"(),/:;<=>?@[\\]{}".indexOf(c) != -1) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Checks if a header value contains no control characters except horizontal tabs,
+     * e.g. a bare line feed that would otherwise split it into two headers
+     * @param value The value of the header
+     * @return <code>true</code> if the value is valid
+     */
+    private static boolean isFieldValue(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if ((c < ' ' && c != '\t') || c == 127) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Checks if the connection should be kept open after the request
+     * @param protocol The protocol of the request
+     * @param connection The value of the <code>Connection</code> header
+     * @return <code>true</code> if the connection should be kept open
+     */
+    private boolean isKeepAlive(String protocol, String connection) {
+        if (!engine.isRunning()) return false;
+        if (protocol.equals("HTTP/1.0")) return "keep-alive".equalsIgnoreCase(connection);
+        return !"close".equalsIgnoreCase(connection);
+    }
+
+    /**
+     * Answers a request that could not be parsed and closes the connection afterwards
+     * @param code The status code of the response
+     * @param protocol The protocol of the request
+     */
+    private void reject(int code, String protocol) {
+        stopParsing = true;
+        readBuffer.position(readBuffer.limit());
+
+        NioHttpExchange exchange = new NioHttpExchange(this, "GET", URI.create("/"), protocol,
+                new Headers(), null, false);
+        exchange.getBody().finish();
+        exchanges.add(exchange);
+
+        try {
+            exchange.sendResponseHeaders(code, -1);
+        } catch (IOException ignored) {
+        }
+        exchange.close();
+    }
+
+    /**
+     * Writes the output of the exchanges in the order of their requests
+     */
+    private void flush() {
+        try {
+            while (!exchanges.isEmpty()) {
+                NioHttpExchange exchange = exchanges.peek();
+
+                ByteBuffer buffer;
+                while ((buffer = exchange.peekOutput()) != null) {
+                    channel.write(buffer);
+                    if (buffer.hasRemaining()) return;
+                    exchange.pollOutput();
+                    lastActivity = System.currentTimeMillis();
+                }
+
+                if (!exchange.isComplete()) return;
+
+                exchanges.poll();
+                if (!exchange.isKeepAlive()) {
+                    close();
+                    return;
+                }
+            }
+
+            if (inputClosed && receiving == null) close();
+        } catch (IOException e) {
+            close();
+        }
+    }
+
+    /**
+     * Updates the operations the selector should wait for
+     */
+    private void updateInterest() {
+        if (closed || !key.isValid()) return;
+
+        int ops = 0;
+
+        boolean bodyFull = receiving != null && receiving.getBody().isFull();
+        if (!inputClosed && !bodyFull && exchanges.size() < MAX_PIPELINED) ops |= SelectionKey.OP_READ;
+
+        NioHttpExchange head = exchanges.peek();
+        if (head != null && head.peekOutput() != null) ops |= SelectionKey.OP_WRITE;
+
+        key.interestOps(ops);
+    }
+
+    /**
+     * Checks if the connection has been idle for longer than the idle timeout
+     * @param now The current time in milliseconds
+     * @return <code>true</code> if the connection should be closed
+     */
+    boolean isIdle(long now) {
+        return exchanges.isEmpty() && now - lastActivity > NioHttpEngine.IDLE_TIMEOUT;
+    }
+
+    /**
+     * Closes the connection and aborts all exchanges
+     */
+    void close() {
+        if (closed) return;
+        closed = true;
+
+        key.cancel();
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+        }
+
+        for (NioHttpExchange exchange : exchanges) exchange.connectionClosed();
+        exchanges.clear();
+    }
+
+    /**
+     * Checks if the connection has been closed
+     * @return <code>true</code> if the connection has been closed
+     */
+    boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Gets the address of the client
+     * @return the remote address
+     */
+    InetSocketAddress getRemoteAddress() {
+        return remoteAddress;
+    }
+
+    /**
+     * Gets the address the client connected to
+     * @return the local address
+     */
+    InetSocketAddress getLocalAddress() {
+        return localAddress;
+    }
+
+}
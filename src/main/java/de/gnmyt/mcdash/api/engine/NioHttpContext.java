@@ -0,0 +1,83 @@
+package de.gnmyt.mcdash.api.engine;
+
+import com.sun.net.httpserver.Authenticator;
+import com.sun.net.httpserver.Filter;
+import com.sun.net.httpserver.HttpContext;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A context of the {@link NioHttpEngine}. Filters and authenticators are not supported
+ */
+class NioHttpContext extends HttpContext {
+
+    private final String path;
+    private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+    private final List<Filter> filters = new ArrayList<>();
+    private volatile HttpHandler handler;
+
+    /**
+     * Basic constructor of the {@link NioHttpContext}
+     * @param path The path prefix of the context
+     * @param handler The handler of the context
+     */
+    NioHttpContext(String path, HttpHandler handler) {
+        this.path = path;
+        this.handler = handler;
+    }
+
+    /**
+     * Checks if a request path belongs to this context
+     * @param requestPath The path of the request
+     * @return <code>true</code> if the request path starts with the path of the context
+     */
+    boolean matches(String requestPath) {
+        return requestPath.startsWith(path);
+    }
+
+    @Override
+    public HttpHandler getHandler() {
+        return handler;
+    }
+
+    @Override
+    public void setHandler(HttpHandler handler) {
+        this.handler = handler;
+    }
+
+    @Override
+    public String getPath() {
+        return path;
+    }
+
+    @Override
+    public HttpServer getServer() {
+        return null;
+    }
+
+    @Override
+    public Map<String, Object> getAttributes() {
+        return attributes;
+    }
+
+    @Override
+    public List<Filter> getFilters() {
+        return filters;
+    }
+
+    @Override
+    public Authenticator setAuthenticator(Authenticator auth) {
+        throw new UnsupportedOperationException("The nio engine does not support authenticators");
+    }
+
+    @Override
+    public Authenticator getAuthenticator() {
+        return null;
+    }
+
+}
@@ -0,0 +1,278 @@
+package de.gnmyt.mcdash.api.engine;
+
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A non-blocking engine that handles all connections on a single selector thread.
+ * It supports HTTP/1.1 keep-alive and pipelining: requests of a connection are parsed while
+ * earlier requests are still running, their responses are written in order. Request bodies
+ * and responses are streamed through bounded buffers, so slow clients and slow handlers
+ * apply backpressure instead of filling the memory
+ */
+public class NioHttpEngine implements HttpEngine {
+
+    private static final Logger LOG = Logger.getLogger(NioHttpEngine.class.getName());
+
+    static final long IDLE_TIMEOUT = TimeUnit.SECONDS.toMillis(60);
+
+    private final List<NioHttpContext> contexts = new CopyOnWriteArrayList<>();
+    private final Queue<NioConnection> pendingUpdates = new ConcurrentLinkedQueue<>();
+
+    private Selector selector;
+    private ServerSocketChannel serverChannel;
+    private SelectionKey acceptKey;
+    private Thread selectorThread;
+    private Executor executor;
+    private volatile boolean running;
+
+    @Override
+    public synchronized void start(InetSocketAddress address, Executor executor) throws IOException {
+        this.executor = executor;
+        this.selector = Selector.open();
+
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+        serverChannel.bind(address, 128);
+        serverChannel.configureBlocking(false);
+        acceptKey = serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+
+        running = true;
+        selectorThread = Thread.ofPlatform().name("MCDash-NIO-Selector").daemon().start(this::run);
+    }
+
+    @Override
+    public void createContext(String path, HttpHandler handler) {
+        contexts.add(new NioHttpContext(path, handler));
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) return;
+        running = false;
+        selector.wakeup();
+
+        try {
+            selectorThread.join(TimeUnit.SECONDS.toMillis(2));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "nio";
+    }
+
+    /**
+     * The loop of the selector thread
+     */
+    private void run() {
+        long lastIdleCheck = System.currentTimeMillis();
+
+        try {
+            while (running) {
+                selector.select(1000);
+                processUpdates();
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+
+                    if (!key.isValid()) continue;
+
+                    if (key.isAcceptable()) {
+                        accept();
+                        continue;
+                    }
+
+                    NioConnection connection = (NioConnection) key.attachment();
+                    try {
+                        if (key.isReadable()) connection.onReadable();
+                        if (key.isValid() && key.isWritable()) connection.onWritable();
+                    } catch (RuntimeException e) {
+                        fail(connection, e);
+                    }
+                }
+
+                long now = System.currentTimeMillis();
+                if (now - lastIdleCheck >= 1000) {
+                    if (acceptKey.interestOps() == 0) acceptKey.interestOps(SelectionKey.OP_ACCEPT);
+                    closeIdleConnections(now);
+                    lastIdleCheck = now;
+                }
+            }
+        } catch (IOException e) {
+            LOG.log(Level.SEVERE, "The selector of the nio engine failed", e);
+        } finally {
+            closeAll();
+        }
+    }
+
+    /**
+     * Accepts all pending connections. A connection that can not be set up (e.g. because the client has
+     * already reset it) is closed on its own. If accepting itself fails (e.g. because no file descriptors
+     * are left), accepting is paused until the next idle check instead of spinning, the engine keeps running
+     */
+    private void accept() {
+        while (true) {
+            SocketChannel channel;
+            try {
+                channel = serverChannel.accept();
+            } catch (IOException e) {
+                LOG.log(Level.WARNING, "Could not accept a connection of the nio engine, pausing for a second", e);
+                acceptKey.interestOps(0);
+                return;
+            }
+            if (channel == null) return;
+
+            try {
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+
+                SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+                key.attach(new NioConnection(this, channel, key));
+            } catch (IOException e) {
+                LOG.log(Level.FINE, "Could not set up an accepted connection", e);
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies the updates other threads have requested (new output, drained request bodies)
+     */
+    private void processUpdates() {
+        NioConnection connection;
+        while ((connection = pendingUpdates.poll()) != null) {
+            try {
+                connection.onUpdate();
+            } catch (RuntimeException e) {
+                fail(connection, e);
+            }
+        }
+    }
+
+    /**
+     * Closes a connection whose handling failed unexpectedly, so that the other connections keep being served
+     * @param connection The connection that failed
+     * @param e The exception that has been thrown
+     */
+    private void fail(NioConnection connection, RuntimeException e) {
+        LOG.log(Level.WARNING, "Closing a connection of the nio engine after an unexpected error", e);
+        connection.close();
+    }
+
+    /**
+     * Closes all connections that had no activity within the idle timeout
+     * @param now The current time in milliseconds
+     */
+    private void closeIdleConnections(long now) {
+        for (SelectionKey key : selector.keys()) {
+            if (key.attachment() instanceof NioConnection connection && connection.isIdle(now))
+                connection.close();
+        }
+    }
+
+    /**
+     * Closes the server channel and all connections
+     */
+    private void closeAll() {
+        for (SelectionKey key : selector.keys()) {
+            if (key.attachment() instanceof NioConnection connection) connection.close();
+        }
+
+        try {
+            serverChannel.close();
+            selector.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    /**
+     * Asks the selector thread to update a connection. Can be called from any thread
+     * @param connection The connection that should be updated
+     */
+    void requestUpdate(NioConnection connection) {
+        pendingUpdates.add(connection);
+        selector.wakeup();
+    }
+
+    /**
+     * Finds the context of a request path. The context with the longest matching path wins
+     * @param path The path of the request
+     * @return the context or <code>null</code> if no context matches
+     */
+    NioHttpContext findContext(String path) {
+        NioHttpContext result = null;
+        for (NioHttpContext context : contexts) {
+            if (context.matches(path) && (result == null || context.getPath().length() > result.getPath().length()))
+                result = context;
+        }
+        return result;
+    }
+
+    /**
+     * Runs the handler of an exchange on the executor
+     * @param exchange The exchange that should be handled
+     */
+    void dispatch(NioHttpExchange exchange) {
+        NioHttpContext context = exchange.getHttpContext();
+
+        try {
+            executor.execute(() -> handle(exchange, context));
+        } catch (RejectedExecutionException e) {
+            LOG.log(Level.WARNING, "Could not dispatch the request " + exchange.getRequestURI(), e);
+            exchange.abort(503);
+        }
+    }
+
+    /**
+     * Runs the handler of an exchange
+     * @param exchange The exchange that should be handled
+     * @param context The context of the exchange or <code>null</code> if no context matches
+     */
+    private void handle(NioHttpExchange exchange, NioHttpContext context) {
+        try {
+            if (context == null) {
+                exchange.sendResponseHeaders(404, -1);
+                exchange.close();
+                return;
+            }
+            context.getHandler().handle(exchange);
+        } catch (Throwable e) {
+            LOG.log(Level.WARNING, "Could not handle the request " + exchange.getRequestURI(), e);
+            exchange.abort();
+        }
+    }
+
+    /**
+     * Checks if the engine is accepting new requests
+     * @return <code>true</code> if the engine is running
+     */
+    boolean isRunning() {
+        return running;
+    }
+
+}
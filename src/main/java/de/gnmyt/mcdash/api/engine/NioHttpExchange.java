@@ -0,0 +1,488 @@
+package de.gnmyt.mcdash.api.engine;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpPrincipal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * An exchange of the {@link NioHttpEngine}.
+ * The response is queued as byte buffers that the selector thread writes once all earlier
+ * responses of the connection have been written. Writing blocks while more than
+ * {@link #OUTPUT_LIMIT} bytes are waiting, so a slow client slows down the handler
+ */
+public class NioHttpExchange extends HttpExchange {
+
+    private static final int OUTPUT_LIMIT = 256 * 1024;
+    private static final int WRITE_BUFFER_SIZE = 8192;
+    private static final byte[] CRLF = {'\r', '\n'};
+    private static final byte[] LAST_CHUNK = "0\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1);
+    private static final byte[] CONTINUE = "HTTP/1.1 100 Continue\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1);
+
+    private final NioConnection connection;
+    private final String method;
+    private final URI uri;
+    private final String protocol;
+    private final Headers requestHeaders;
+    private final Headers responseHeaders = new Headers();
+    private final NioHttpContext context;
+    private final NioRequestBody body;
+    private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+
+    private final Queue<ByteBuffer> output = new ConcurrentLinkedQueue<>();
+    private final AtomicLong pendingBytes = new AtomicLong();
+    private final ReentrantLock outputLock = new ReentrantLock();
+    private final Condition outputDrained = outputLock.newCondition();
+
+    private volatile boolean keepAlive;
+    private volatile boolean complete;
+    private volatile int responseCode = -1;
+
+    private final ResponseBody responseBody = new ResponseBody();
+    private InputStream requestStream;
+    private OutputStream responseStream = responseBody;
+
+    /**
+     * Basic constructor of the {@link NioHttpExchange}
+     * @param connection The connection the request has been received on
+     * @param method The method of the request
+     * @param uri The uri of the request
+     * @param protocol The protocol of the request
+     * @param requestHeaders The headers of the request
+     * @param context The context the request belongs to, can be <code>null</code>
+     * @param keepAlive <code>true</code> if the connection should be kept open after the response
+     */
+    NioHttpExchange(NioConnection connection, String method, URI uri, String protocol, Headers requestHeaders,
+                    NioHttpContext context, boolean keepAlive) {
+        this.connection = connection;
+        this.method = method;
+        this.uri = uri;
+        this.protocol = protocol;
+        this.requestHeaders = requestHeaders;
+        this.context = context;
+        this.keepAlive = keepAlive;
+        this.body = new NioRequestBody(connection);
+        this.requestStream = body;
+    }
+
+    @Override
+    public Headers getRequestHeaders() {
+        return requestHeaders;
+    }
+
+    @Override
+    public Headers getResponseHeaders() {
+        return responseHeaders;
+    }
+
+    @Override
+    public URI getRequestURI() {
+        return uri;
+    }
+
+    @Override
+    public String getRequestMethod() {
+        return method;
+    }
+
+    @Override
+    public NioHttpContext getHttpContext() {
+        return context;
+    }
+
+    @Override
+    public InputStream getRequestBody() {
+        return requestStream;
+    }
+
+    @Override
+    public OutputStream getResponseBody() {
+        return responseStream;
+    }
+
+    @Override
+    public void sendResponseHeaders(int rCode, long responseLength) throws IOException {
+        if (responseCode != -1) throw new IOException("The response headers have already been sent");
+        responseCode = rCode;
+
+        boolean bodyAllowed = rCode >= 200 && rCode != 204 && rCode != 304 && !method.equalsIgnoreCase("HEAD");
+
+        Mode mode;
+        if (!bodyAllowed || responseLength < 0) {
+            mode = Mode.NONE;
+            if (bodyAllowed) responseHeaders.set("Content-Length", "0");
+        } else if (responseLength > 0) {
+            mode = Mode.FIXED;
+            responseHeaders.set("Content-Length", String.valueOf(responseLength));
+        } else if (protocol.equals("HTTP/1.0")) {
+            mode = Mode.UNTIL_CLOSE;
+            keepAlive = false;
+        } else {
+            mode = Mode.CHUNKED;
+            responseHeaders.set("Transfer-Encoding", "chunked");
+        }
+
+        if (!keepAlive) responseHeaders.set("Connection", "close");
+        responseHeaders.set("Date", DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC)));
+
+        StringBuilder head = new StringBuilder(256).append("HTTP/1.1 ").append(rCode).append(' ')
+                .append(reasonPhrase(rCode)).append("\r\n");
+        for (Map.Entry<String, List<String>> header : responseHeaders.entrySet()) {
+            for (String value : header.getValue())
+                head.append(header.getKey()).append(": ").append(value).append("\r\n");
+        }
+        head.append("\r\n");
+
+        responseBody.configure(mode, responseLength);
+        enqueue(ByteBuffer.wrap(head.toString().getBytes(StandardCharsets.ISO_8859_1)));
+    }
+
+    @Override
+    public InetSocketAddress getRemoteAddress() {
+        return connection.getRemoteAddress();
+    }
+
+    @Override
+    public int getResponseCode() {
+        return responseCode;
+    }
+
+    @Override
+    public InetSocketAddress getLocalAddress() {
+        return connection.getLocalAddress();
+    }
+
+    @Override
+    public String getProtocol() {
+        return protocol;
+    }
+
+    @Override
+    public Object getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    @Override
+    public void setAttribute(String name, Object value) {
+        if (value == null) attributes.remove(name);
+        else attributes.put(name, value);
+    }
+
+    @Override
+    public void setStreams(InputStream i, OutputStream o) {
+        if (i != null) requestStream = i;
+        if (o != null) responseStream = o;
+    }
+
+    @Override
+    public HttpPrincipal getPrincipal() {
+        return null;
+    }
+
+    /**
+     * Completes the exchange. The rest of the request body is discarded and the response gets finished.
+     * If no response has been sent, the connection will be closed
+     */
+    @Override
+    public void close() {
+        body.close();
+
+        try {
+            responseBody.close();
+        } catch (IOException e) {
+            abort();
+        }
+    }
+
+    /**
+     * Completes the exchange after an error and closes the connection afterwards
+     */
+    void abort() {
+        abort(500);
+    }
+
+    /**
+     * Completes the exchange after an error and closes the connection afterwards
+     * @param code The status code that is sent if no response has been started yet
+     */
+    void abort(int code) {
+        keepAlive = false;
+        body.close();
+
+        if (responseCode == -1) {
+            try {
+                sendResponseHeaders(code, -1);
+            } catch (IOException ignored) {
+            }
+        }
+        markComplete();
+    }
+
+    /**
+     * Queues the interim <code>100 Continue</code> response
+     */
+    void sendContinue() {
+        output.add(ByteBuffer.wrap(CONTINUE));
+        pendingBytes.addAndGet(CONTINUE.length);
+    }
+
+    /**
+     * Gets the request body that is filled by the selector thread
+     * @return the request body
+     */
+    NioRequestBody getBody() {
+        return body;
+    }
+
+    /**
+     * Gets the next buffer that should be written. Called by the selector thread
+     * @return the next buffer or <code>null</code> if nothing is waiting
+     */
+    ByteBuffer peekOutput() {
+        return output.peek();
+    }
+
+    /**
+     * Removes the buffer that has been written completely. Called by the selector thread
+     */
+    void pollOutput() {
+        ByteBuffer buffer = output.poll();
+        if (buffer == null) return;
+
+        long pending = pendingBytes.addAndGet(-buffer.limit());
+        if (pending + buffer.limit() > OUTPUT_LIMIT && pending <= OUTPUT_LIMIT) signalDrained();
+    }
+
+    /**
+     * Checks if the response has been completely queued
+     * @return <code>true</code> if the exchange is complete
+     */
+    boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Checks if the connection should be kept open after this exchange
+     * @return <code>true</code> if the connection should be kept open
+     */
+    boolean isKeepAlive() {
+        return keepAlive;
+    }
+
+    /**
+     * Called by the connection after it has been closed, wakes up all waiting threads
+     */
+    void connectionClosed() {
+        body.abort();
+        signalDrained();
+    }
+
+    /**
+     * Marks the response as completely queued
+     */
+    private void markComplete() {
+        complete = true;
+        connection.requestUpdate();
+    }
+
+    /**
+     * Queues a buffer and waits while too many bytes are waiting to be written
+     * @param buffer The buffer you want to write
+     * @throws IOException An exception that is thrown if the connection has been closed
+     */
+    private void enqueue(ByteBuffer buffer) throws IOException {
+        if (connection.isClosed()) throw new IOException("The connection has been closed");
+
+        pendingBytes.addAndGet(buffer.remaining());
+        output.add(buffer);
+        connection.requestUpdate();
+
+        if (pendingBytes.get() <= OUTPUT_LIMIT) return;
+
+        outputLock.lock();
+        try {
+            while (pendingBytes.get() > OUTPUT_LIMIT && !connection.isClosed()) outputDrained.awaitUninterruptibly();
+        } finally {
+            outputLock.unlock();
+        }
+
+        if (connection.isClosed()) throw new IOException("The connection has been closed");
+    }
+
+    /**
+     * Wakes up the threads waiting for the output to be written
+     */
+    private void signalDrained() {
+        outputLock.lock();
+        try {
+            outputDrained.signalAll();
+        } finally {
+            outputLock.unlock();
+        }
+    }
+
+    /**
+     * Gets the reason phrase of a status code
+     * @param code The status code
+     * @return the reason phrase
+     */
+    private static String reasonPhrase(int code) {
+        return switch (code) {
+            case 200 -> "OK";
+            case 201 -> "Created";
+            case 204 -> "No Content";
+            case 206 -> "Partial Content";
+            case 304 -> "Not Modified";
+            case 400 -> "Bad Request";
+            case 401 -> "Unauthorized";
+            case 403 -> "Forbidden";
+            case 404 -> "Not Found";
+            case 405 -> "Method Not Allowed";
+            case 409 -> "Conflict";
+            case 411 -> "Length Required";
+            case 413 -> "Content Too Large";
+            case 416 -> "Range Not Satisfiable";
+            case 429 -> "Too Many Requests";
+            case 431 -> "Request Header Fields Too Large";
+            case 500 -> "Internal Server Error";
+            case 503 -> "Service Unavailable";
+            default -> "Status";
+        };
+    }
+
+    /**
+     * The framing of the response body
+     */
+    private enum Mode {
+        NONE, FIXED, CHUNKED, UNTIL_CLOSE
+    }
+
+    /**
+     * The response body, collects small writes and queues them with the framing of the response
+     */
+    private class ResponseBody extends OutputStream {
+
+        private volatile Mode mode;
+        private byte[] buffer;
+        private long remaining;
+        private int length;
+        private boolean closed;
+
+        /**
+         * Sets the framing of the body once the response headers are sent
+         * @param mode The framing of the body
+         * @param contentLength The announced length of the body
+         */
+        void configure(Mode mode, long contentLength) {
+            this.mode = mode;
+            this.remaining = contentLength;
+            this.buffer = mode == Mode.NONE ? new byte[0] : new byte[WRITE_BUFFER_SIZE];
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (len == 0) return;
+            if (closed) throw new IOException("The response body has already been closed");
+            if (mode == null) throw new IOException("The response headers have not been sent");
+            if (mode == Mode.NONE) {
+                if (method.equalsIgnoreCase("HEAD")) return;
+                throw new IOException("The response does not have a body");
+            }
+            if (mode == Mode.FIXED) {
+                if (len > remaining) throw new IOException("The response body is longer than announced");
+                remaining -= len;
+            }
+
+            if (len >= buffer.length) {
+                flushBuffer();
+                queue(b, off, len);
+                return;
+            }
+
+            if (length + len > buffer.length) flushBuffer();
+            System.arraycopy(b, off, buffer, length, len);
+            length += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (!closed && mode != null) flushBuffer();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) return;
+            closed = true;
+
+            if (mode == null) {
+                keepAlive = false;
+                markComplete();
+                return;
+            }
+
+            try {
+                flushBuffer();
+                if (mode == Mode.CHUNKED) enqueue(ByteBuffer.wrap(LAST_CHUNK));
+                if (mode == Mode.FIXED && remaining > 0) keepAlive = false;
+                if (mode == Mode.UNTIL_CLOSE) keepAlive = false;
+            } finally {
+                markComplete();
+            }
+        }
+
+        /**
+         * Queues the collected bytes
+         * @throws IOException An exception that is thrown if the connection has been closed
+         */
+        private void flushBuffer() throws IOException {
+            if (length == 0) return;
+            int flushed = length;
+            length = 0;
+            queue(buffer, 0, flushed);
+        }
+
+        /**
+         * Copies the bytes into a new buffer and queues them with the framing of the response
+         * @param b The bytes you want to queue
+         * @param off The offset of the bytes
+         * @param len The amount of bytes
+         * @throws IOException An exception that is thrown if the connection has been closed
+         */
+        private void queue(byte[] b, int off, int len) throws IOException {
+            ByteBuffer chunk;
+            if (mode == Mode.CHUNKED) {
+                byte[] size = Integer.toHexString(len).getBytes(StandardCharsets.ISO_8859_1);
+                chunk = ByteBuffer.allocate(size.length + 2 + len + 2);
+                chunk.put(size).put(CRLF).put(b, off, len).put(CRLF);
+            } else {
+                chunk = ByteBuffer.allocate(len);
+                chunk.put(b, off, len);
+            }
+            enqueue(chunk.flip());
+        }
+    }
+
+}
@@ -0,0 +1,170 @@
+package de.gnmyt.mcdash.api.engine;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The request body of a {@link NioHttpExchange}.
+ * The selector thread offers the received parts, the handler thread reads them. The connection
+ * stops reading from the socket while the buffer is full, which slows down the client
+ */
+class NioRequestBody extends InputStream {
+
+    private static final int CAPACITY = 256 * 1024;
+
+    private final NioConnection connection;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private final Deque<byte[]> chunks = new ArrayDeque<>();
+
+    private byte[] current;
+    private int position;
+    private int buffered;
+    private boolean finished;
+    private boolean aborted;
+    private boolean discarding;
+
+    /**
+     * Basic constructor of the {@link NioRequestBody}
+     * @param connection The connection the body is received on
+     */
+    NioRequestBody(NioConnection connection) {
+        this.connection = connection;
+    }
+
+    /**
+     * Adds a received part of the body. Called by the selector thread
+     * @param chunk The received bytes
+     */
+    void offer(byte[] chunk) {
+        lock.lock();
+        try {
+            if (discarding || chunk.length == 0) return;
+            chunks.add(chunk);
+            buffered += chunk.length;
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Marks the body as completely received. Called by the selector thread
+     */
+    void finish() {
+        lock.lock();
+        try {
+            finished = true;
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Marks the body as incomplete, e.g. because the connection has been closed
+     */
+    void abort() {
+        lock.lock();
+        try {
+            aborted = true;
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Checks if the buffer of the body is full
+     * @return <code>true</code> if no more parts should be offered
+     */
+    boolean isFull() {
+        lock.lock();
+        try {
+            return buffered >= CAPACITY;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] single = new byte[1];
+        return read(single, 0, 1) == -1 ? -1 : single[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) return 0;
+
+        boolean drained;
+        int read;
+
+        lock.lock();
+        try {
+            while (current == null) {
+                current = chunks.poll();
+                position = 0;
+                if (current != null) break;
+
+                if (discarding) return -1;
+                if (finished) return -1;
+                if (aborted) throw new IOException("The connection has been closed");
+
+                available.awaitUninterruptibly();
+            }
+
+            read = Math.min(len, current.length - position);
+            System.arraycopy(current, position, b, off, read);
+            position += read;
+            if (position == current.length) current = null;
+
+            boolean wasFull = buffered >= CAPACITY;
+            buffered -= read;
+            drained = wasFull && buffered < CAPACITY;
+        } finally {
+            lock.unlock();
+        }
+
+        if (drained) connection.requestUpdate();
+        return read;
+    }
+
+    @Override
+    public int available() {
+        lock.lock();
+        try {
+            return buffered;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Discards the rest of the body, the remaining bytes are still read from the connection
+     */
+    @Override
+    public void close() {
+        boolean wasFull;
+
+        lock.lock();
+        try {
+            if (discarding) return;
+            wasFull = buffered >= CAPACITY;
+            discarding = true;
+            chunks.clear();
+            current = null;
+            buffered = 0;
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        if (wasFull) connection.requestUpdate();
+    }
+
+}
@@ -0,0 +1,60 @@
+package de.gnmyt.mcdash.api.entities;
+
+public enum EventTopic {
+
+    /**
+     * The tps, memory and space of the server, sent every few seconds
+     */
+    STATS("stats"),
+
+    /**
+     * Players joining or leaving the server
+     */
+    PLAYERS("players"),
+
+    /**
+     * New lines of the console log
+     */
+    CONSOLE("console"),
+
+    /**
+     * The output of the console commands executed through the dashboard
+     */
+    COMMANDS("commands"),
+
+    /**
+     * The progress of running backups
+     */
+    BACKUPS("backups");
+
+    private final String name;
+
+    /**
+     * Constructor of the {@link EventTopic}
+     * @param name The name of the topic used in the event stream
+     */
+    EventTopic(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Gets the topic by its name
+     * @param name The name of the topic
+     * @return the topic or <code>null</code> if no topic has this name
+     */
+    public static EventTopic getByName(String name) {
+        for (EventTopic topic : values()) {
+            if (topic.name.equalsIgnoreCase(name)) return topic;
+        }
+        return null;
+    }
+
+    /**
+     * Gets the name of the topic used in the event stream
+     * @return the name of the topic
+     */
+    public String getName() {
+        return name;
+    }
+
+}
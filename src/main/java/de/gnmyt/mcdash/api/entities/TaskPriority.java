@@ -0,0 +1,23 @@
+package de.gnmyt.mcdash.api.entities;
+
+/**
+ * The priorities of the actions in the main thread queue. Actions of a higher priority always run first
+ */
+public enum TaskPriority {
+
+    /**
+     * Console commands an administrator is waiting for, e.g. to fix a lagging server
+     */
+    HIGH,
+
+    /**
+     * Actions triggered from the panel, like kicking a player or changing the time of a world
+     */
+    NORMAL,
+
+    /**
+     * Background work nobody is waiting for, like scheduled actions or refreshing the snapshot
+     */
+    LOW
+
+}
@@ -0,0 +1,209 @@
+package de.gnmyt.mcdash.api.handler;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpContext;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpPrincipal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An exchange that is executed inside of a batch request.
+ * The request comes from the batch body and the response is kept in memory,
+ * so that it can be written into the combined response of the batch
+ */
+public class BatchExchange extends HttpExchange {
+
+    private final HttpExchange parent;
+    private final String method;
+    private final URI uri;
+    private final Headers requestHeaders;
+    private final Headers responseHeaders = new Headers();
+    private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+    private final LimitedOutputStream responseBody;
+
+    private InputStream requestStream;
+    private OutputStream responseStream;
+    private int responseCode = -1;
+
+    /**
+     * Basic constructor of the {@link BatchExchange}
+     * @param parent The exchange of the batch request
+     * @param method The method of the sub request
+     * @param uri The uri of the sub request
+     * @param requestHeaders The headers of the sub request
+     * @param body The body of the sub request
+     * @param maxResponseSize The maximum amount of bytes the response body may have
+     */
+    public BatchExchange(HttpExchange parent, String method, URI uri, Headers requestHeaders, byte[] body,
+                         int maxResponseSize) {
+        this.parent = parent;
+        this.method = method;
+        this.uri = uri;
+        this.requestHeaders = requestHeaders;
+        this.requestStream = new ByteArrayInputStream(body);
+        this.responseBody = new LimitedOutputStream(maxResponseSize);
+        this.responseStream = responseBody;
+    }
+
+    @Override
+    public Headers getRequestHeaders() {
+        return requestHeaders;
+    }
+
+    @Override
+    public Headers getResponseHeaders() {
+        return responseHeaders;
+    }
+
+    @Override
+    public URI getRequestURI() {
+        return uri;
+    }
+
+    @Override
+    public String getRequestMethod() {
+        return method;
+    }
+
+    @Override
+    public HttpContext getHttpContext() {
+        return parent.getHttpContext();
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public InputStream getRequestBody() {
+        return requestStream;
+    }
+
+    @Override
+    public OutputStream getResponseBody() {
+        return responseStream;
+    }
+
+    @Override
+    public void sendResponseHeaders(int rCode, long responseLength) throws IOException {
+        if (responseCode != -1) throw new IOException("The response headers have already been sent");
+        responseCode = rCode;
+    }
+
+    @Override
+    public InetSocketAddress getRemoteAddress() {
+        return parent.getRemoteAddress();
+    }
+
+    @Override
+    public int getResponseCode() {
+        return responseCode;
+    }
+
+    @Override
+    public InetSocketAddress getLocalAddress() {
+        return parent.getLocalAddress();
+    }
+
+    @Override
+    public String getProtocol() {
+        return parent.getProtocol();
+    }
+
+    @Override
+    public Object getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    @Override
+    public void setAttribute(String name, Object value) {
+        if (value == null) attributes.remove(name);
+        else attributes.put(name, value);
+    }
+
+    @Override
+    public void setStreams(InputStream i, OutputStream o) {
+        if (i != null) requestStream = i;
+        if (o != null) responseStream = o;
+    }
+
+    @Override
+    public HttpPrincipal getPrincipal() {
+        return null;
+    }
+
+    /**
+     * Gets the body the route has written
+     * @return the response body
+     */
+    public byte[] getResponseBytes() {
+        return responseBody.toByteArray();
+    }
+
+    /**
+     * Checks if the route tried to write more than the maximum response size
+     * @return <code>true</code> if the response body is incomplete
+     */
+    public boolean isTruncated() {
+        return responseBody.truncated;
+    }
+
+    /**
+     * An in-memory stream that fails once its limit is exceeded
+     */
+    private static class LimitedOutputStream extends OutputStream {
+
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+        private final int limit;
+        private volatile boolean truncated;
+
+        /**
+         * Basic constructor of the {@link LimitedOutputStream}
+         * @param limit The maximum amount of bytes
+         */
+        LimitedOutputStream(int limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            ensureCapacity(1);
+            buffer.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            ensureCapacity(len);
+            buffer.write(b, off, len);
+        }
+
+        /**
+         * Checks if more bytes may be written
+         * @param additional The amount of bytes that should be written
+         * @throws IOException if the limit would be exceeded
+         */
+        private void ensureCapacity(int additional) throws IOException {
+            if (buffer.size() + additional <= limit) return;
+            truncated = true;
+            throw new IOException("The response is too large for a batch");
+        }
+
+        /**
+         * Gets the written bytes
+         * @return the written bytes
+         */
+        byte[] toByteArray() {
+            return buffer.toByteArray();
+        }
+    }
+
+}
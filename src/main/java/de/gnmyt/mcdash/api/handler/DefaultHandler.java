@@ -5,21 +5,49 @@ import com.sun.net.httpserver.HttpHandler;
 import de.gnmyt.mcdash.MinecraftDashboard;
 import de.gnmyt.mcdash.api.config.AccountManager;
 import de.gnmyt.mcdash.api.config.ConfigurationManager;
+import de.gnmyt.mcdash.api.controller.AccessLogController;
+import de.gnmyt.mcdash.api.controller.MetricsController;
+import de.gnmyt.mcdash.api.controller.RateLimitController;
+import de.gnmyt.mcdash.api.controller.SessionController;
+import de.gnmyt.mcdash.api.controller.SnapshotController;
+import de.gnmyt.mcdash.api.entities.TaskPriority;
+import de.gnmyt.mcdash.api.http.EntityTag;
 import de.gnmyt.mcdash.api.http.HTTPMethod;
+import de.gnmyt.mcdash.api.http.RateLimitClass;
 import de.gnmyt.mcdash.api.http.Request;
+import de.gnmyt.mcdash.api.http.RequestBodyTooLargeException;
+import de.gnmyt.mcdash.api.http.ResourceVersion;
 import de.gnmyt.mcdash.api.http.ResponseController;
-import org.apache.commons.io.IOUtils;
-import org.bukkit.Bukkit;
+import de.gnmyt.mcdash.api.platform.Platform;
+import de.gnmyt.mcdash.api.tasks.MainThreadQueue;
+import org.apache.commons.io.input.ProxyInputStream;
+import org.apache.commons.io.output.CountingOutputStream;
 
-import java.io.IOException;
-import java.io.StringWriter;
-import java.nio.charset.StandardCharsets;
+import java.io.InputStream;
 import java.util.Base64;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 public abstract class DefaultHandler implements HttpHandler {
     public ConfigurationManager manager = MinecraftDashboard.getDashboardConfig();
     public AccountManager accountManager = MinecraftDashboard.getAccountManager();
+    public SessionController sessionController = MinecraftDashboard.getSessionController();
+    public RateLimitController rateLimitController = MinecraftDashboard.getRateLimitController();
+    public AccessLogController accessLog = MinecraftDashboard.getAccessLogController();
+    public Platform platform = MinecraftDashboard.getPlatform();
+    public SnapshotController snapshots = MinecraftDashboard.getSnapshotController();
+    public MainThreadQueue mainThread = MinecraftDashboard.getMainThreadQueue();
+
+    private final RouteMethod[] routeMethods = new RouteMethod[HTTPMethod.values().length];
+    private String allowedMethods = "OPTIONS";
+    private Semaphore concurrencyLimit;
+    private MetricsController.RouteMetrics metrics;
 
     /**
      * Gets the current route path
@@ -29,43 +57,276 @@ public abstract class DefaultHandler implements HttpHandler {
         return "";
     }
 
+    /**
+     * Gets all path templates of this route relative to its package.
+     * Templates may contain parameters (e.g. <code>{backup_id}/download</code>), which can be read
+     * with {@link #getStringFromPath}
+     * @return the path templates of the route
+     */
+    public List<String> paths() {
+        return List.of(path());
+    }
+
     /**
      * The default handler of the Httpserver
      * @param exchange The exchange given by the HttpHandler
      */
     @Override
     public void handle(HttpExchange exchange) {
-        MinecraftDashboard.getExecutor().execute(() -> {
-            Request request = prepareRequest(exchange, true);
+        handle(exchange, Map.of());
+    }
+
+    /**
+     * Handles a request that has been matched by the {@link Router}
+     * @param exchange The exchange given by the HttpHandler
+     * @param pathParameters The values of the template parameters in the request path
+     */
+    public void handle(HttpExchange exchange, Map<String, String> pathParameters) {
+        handle(exchange, pathParameters, null);
+    }
+
+    /**
+     * Handles a request whose account may already be known, e.g. a request inside of a batch
+     * @param exchange The exchange given by the HttpHandler
+     * @param pathParameters The values of the template parameters in the request path
+     * @param authenticatedUser The name of the already authenticated account or <code>null</code>
+     *                          if the credentials of the request should be verified
+     */
+    public void handle(HttpExchange exchange, Map<String, String> pathParameters, String authenticatedUser) {
+        long start = System.nanoTime();
+
+        CountingInputStream requestBody = new CountingInputStream(exchange.getRequestBody());
+        CountingOutputStream responseBody = new CountingOutputStream(exchange.getResponseBody());
+        exchange.setStreams(requestBody, responseBody);
+
+        String username = null;
+        metrics.start();
+        try {
+            username = process(exchange, pathParameters, authenticatedUser);
+        } finally {
+            long duration = System.nanoTime() - start;
+            metrics.finish(exchange.getResponseCode(), duration, requestBody.getByteCount(), responseBody.getByteCount());
+            accessLog.log(exchange.getRemoteAddress().getAddress(), username, exchange.getRequestMethod(),
+                    exchange.getRequestURI().getRawPath(), exchange.getResponseCode(), duration,
+                    requestBody.getByteCount(), responseBody.getByteCount());
+        }
+    }
+
+    /**
+     * Checks the limits of the route, authenticates the request and executes it
+     * @param exchange The exchange given by the HttpHandler
+     * @param pathParameters The values of the template parameters in the request path
+     * @param authenticatedUser The name of the already authenticated account or <code>null</code>
+     * @return the name of the authenticated account or <code>null</code> if the request has not been authenticated
+     */
+    private String process(HttpExchange exchange, Map<String, String> pathParameters, String authenticatedUser) {
+        HTTPMethod method = HTTPMethod.fromName(exchange.getRequestMethod());
+
+        if (method == HTTPMethod.OPTIONS) {
+            new ResponseController(exchange).send();
+            return null;
+        }
+
+        if (method == null || routeMethods[method.ordinal()] == null) {
+            methodNotAllowed(new ResponseController(exchange));
+            return null;
+        }
+
+        if (exceedsMaxBodySize(exchange)) {
+            new ResponseController(exchange).code(413).message("The request body is too large");
+            return null;
+        }
+
+        RateLimitClass limitClass = rateLimitClass(method);
+        String account = authenticatedUser != null ? authenticatedUser : sessionUsername(exchange);
+        long retryAfter = rateLimitController.acquire(limitClass,
+                exchange.getRemoteAddress().getAddress().getHostAddress(), account);
+        if (retryAfter > 0) {
+            tooManyRequests(new ResponseController(exchange), retryAfter);
+            return null;
+        }
+
+        long queued = System.nanoTime();
+        boolean acquired = acquireSlot();
+        metrics.recordQueueWait(System.nanoTime() - queued);
+
+        if (!acquired) {
+            new ResponseController(exchange).code(503).header("Retry-After", "1")
+                    .message("The route is busy, please try again later");
+            return null;
+        }
+
+        try {
+            Request request = prepareRequest(exchange, true).setPathParameters(pathParameters);
             ResponseController controller = new ResponseController(exchange);
+            if (compressResponses()) controller.compress(manager.getCompressionThreshold());
 
-            List<String> authHeader = request.getHeaders().get("Authorization");
-            if (authHeader == null) {
-                controller.code(400).message("You need to provide your credentials");
-                return;
-            }
+            String username = authenticatedUser != null ? authenticatedUser : authenticate(request, controller);
+            if (username == null) return null;
 
-            String[] authCredentials;
-            try {
-                authCredentials = new String(Base64.getDecoder().decode(authHeader.get(0)
-                        .replace("Basic ", ""))).split(":");
-            } catch (Exception e) {
-                controller.code(400).message("You need to provide your credentials");
-                return;
+            if (account == null) {
+                retryAfter = rateLimitController.acquireAccount(limitClass, username);
+                if (retryAfter > 0) {
+                    tooManyRequests(controller, retryAfter);
+                    return username;
+                }
             }
 
-            if (authCredentials.length != 2) {
-                controller.code(400).message("You need to provide your credentials");
-                return;
-            }
+            request.setUsername(username);
+
+            execute(request, controller);
+            return username;
+        } finally {
+            concurrencyLimit.release();
+        }
+    }
+
+    /**
+     * Gets the amount of requests this route may execute at the same time.
+     * Routes doing slow blocking work (e.g. backups or uploads) should override this
+     * to keep them from taking all the request threads
+     * @return the concurrency limit of the route
+     */
+    public int maxConcurrency() {
+        return manager.getRouteConcurrency();
+    }
+
+    /**
+     * Gets the rate limit class of a request to this route.
+     * Routes reading large files or walking directories should return {@link RateLimitClass#HEAVY_IO}
+     * @param method The http method of the request
+     * @return the rate limit class of the request
+     */
+    public RateLimitClass rateLimitClass(HTTPMethod method) {
+        return method == HTTPMethod.GET ? RateLimitClass.READ : RateLimitClass.MAIN_THREAD;
+    }
+
+    /**
+     * Gets the account of a signed session token, so that the rate limit of the account can be checked
+     * before the request is executed. Basic credentials are not used here: their username is unverified
+     * until the password has been checked, so the account is charged after the authentication instead
+     * @param exchange The exchange given by the HttpHandler
+     * @return the name of the account or <code>null</code> if the request has no valid session token
+     */
+    protected String sessionUsername(HttpExchange exchange) {
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        if (authorization == null || !authorization.startsWith("Bearer ")) return null;
+
+        return sessionController.getUsername(authorization.substring(7));
+    }
+
+    /**
+     * Rejects a request that exceeded a rate limit
+     * @param response The response controller of the request
+     * @param retryAfter The seconds until the client should retry
+     */
+    private void tooManyRequests(ResponseController response, long retryAfter) {
+        response.code(429).header("Retry-After", String.valueOf(retryAfter))
+                .message("Too many requests, please try again later");
+    }
+
+    /**
+     * Checks if a request to this route may be part of a batch. The response of a batched request is collected
+     * in the memory, so routes streaming long or endless responses (e.g. downloads or events) should override this
+     * @param method The http method of the request
+     * @return <code>true</code> if the request may be batched, otherwise <code>false</code>
+     */
+    public boolean batchable(HTTPMethod method) {
+        return true;
+    }
+
+    /**
+     * Checks if the responses of this route may be compressed.
+     * Routes sending already compressed content (e.g. zip backups) should override this
+     * @return <code>true</code> if the responses may be compressed, otherwise <code>false</code>
+     */
+    public boolean compressResponses() {
+        return true;
+    }
+
+    /**
+     * Gets the maximum size of a request body this route accepts.
+     * Routes receiving large bodies (e.g. file contents) should override this
+     * @return the maximum body size in bytes
+     */
+    public long maxBodySize() {
+        return manager.getMaxBodySize();
+    }
+
+    /**
+     * Checks if the announced content length of a request exceeds the maximum body size of this route
+     * @param exchange The exchange given by the HttpHandler
+     * @return <code>true</code> if the request body is too large, otherwise <code>false</code>
+     */
+    protected boolean exceedsMaxBodySize(HttpExchange exchange) {
+        String contentLength = exchange.getRequestHeaders().getFirst("Content-Length");
+        if (contentLength == null) return false;
+
+        try {
+            return Long.parseLong(contentLength) > maxBodySize();
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Waits for a free execution slot of this route
+     * @return <code>true</code> if a slot has been acquired, otherwise <code>false</code>
+     */
+    private boolean acquireSlot() {
+        try {
+            return concurrencyLimit.tryAcquire(manager.getRouteQueueTimeout(), TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
 
-            if (!accountManager.isValidPassword(authCredentials[0], authCredentials[1])) {
-                controller.code(401).message("The provided credentials are invalid");
-                return;
+    /**
+     * Authenticates the request either with a session token (<code>Bearer</code>) or
+     * with the account credentials (<code>Basic</code>). Sends an error response if the authentication fails
+     * @param request The request object from the HttpExchange
+     * @param controller The response controller from the HttpExchange
+     * @return the name of the authenticated account or <code>null</code> if the authentication failed
+     */
+    protected String authenticate(Request request, ResponseController controller) {
+        List<String> authHeader = request.getHeaders().get("Authorization");
+        if (authHeader == null) {
+            controller.code(400).message("You need to provide your credentials");
+            return null;
+        }
+
+        String authorization = authHeader.get(0);
+
+        if (authorization.startsWith("Bearer ")) {
+            String username = sessionController.getUsername(authorization.substring(7));
+            if (username == null || !accountManager.accountExists(username)) {
+                controller.code(401).message("The provided session is invalid or expired");
+                return null;
             }
+            return username;
+        }
 
-            execute(request, controller);
-        });
+        String[] authCredentials;
+        try {
+            authCredentials = new String(Base64.getDecoder().decode(authorization
+                    .replace("Basic ", ""))).split(":");
+        } catch (Exception e) {
+            controller.code(400).message("You need to provide your credentials");
+            return null;
+        }
+
+        if (authCredentials.length != 2) {
+            controller.code(400).message("You need to provide your credentials");
+            return null;
+        }
+
+        if (!accountManager.isValidPassword(authCredentials[0], authCredentials[1])) {
+            controller.code(401).message("The provided credentials are invalid");
+            return null;
+        }
+
+        return authCredentials[0];
     }
 
     /**
@@ -74,15 +335,51 @@ public abstract class DefaultHandler implements HttpHandler {
      * @param response The response controller from the HttpExchange
      */
     public void execute(Request request, ResponseController response) {
+        RouteMethod method = routeMethods[request.getMethod().ordinal()];
+
+        if (method == null) {
+            methodNotAllowed(response);
+            return;
+        }
+
         try {
-            getClass().getMethod(request.getMethod().toString().toLowerCase(), Request.class, ResponseController.class)
-                    .invoke(this, request, response);
+            if (request.getMethod() == HTTPMethod.GET) {
+                String version = version(request);
+                if (version != null && response.notModified(EntityTag.fromVersion(version))) return;
+            }
+
+            method.execute(request, response);
+        } catch (RequestBodyTooLargeException e) {
+            response.code(413).message("The request body is too large");
+        } catch (TimeoutException e) {
+            response.code(504).header("Retry-After", "5").message("The server is too busy to run the action right now");
         } catch (Exception e) {
             e.printStackTrace();
             response.code(500).message("An internal error occurred");
         }
     }
 
+    /**
+     * Gets the current version of the resource returned by the get executor.
+     * Routes whose response only changes together with a version counter (see {@link ResourceVersion})
+     * can override this, so that unchanged resources are answered with <code>304</code> without building
+     * the response. All other <code>GET</code> responses are tagged with a hash of their content, except
+     * json responses larger than 64 KiB that are streamed before their content is known
+     * @param request The request object from the HttpExchange
+     * @return the version of the resource or <code>null</code> if the content should be hashed instead
+     */
+    public String version(Request request) {
+        return null;
+    }
+
+    /**
+     * Answers a request whose http method is not implemented by this route
+     * @param response The response controller from the HttpExchange
+     */
+    protected void methodNotAllowed(ResponseController response) {
+        response.code(405).header("Allow", allowedMethods).message("Method not allowed");
+    }
+
     /**
      * The default get executor. Runs on every 'GET'-request
      * @param request The request object from the HttpExchange
@@ -142,14 +439,62 @@ public abstract class DefaultHandler implements HttpHandler {
     }
 
     /**
-     * Creates a context based on the path of the class
+     * Registers the route in the {@link Router} based on the package of the class and its {@link #paths()}
      */
     public void register() {
+        prepareRouteMethods();
+        concurrencyLimit = new Semaphore(maxConcurrency());
+
         String contextPath = getClass().getPackage().getName()
                 .replace(MinecraftDashboard.getRoutePackageName(), "")
                 .replace(".", "/");
-        contextPath += (path().isEmpty() ? "/" : "/"+path());
-        MinecraftDashboard.getHttpServer().createContext("/api"+contextPath, this);
+
+        String route = paths().get(0).isEmpty() ? contextPath : contextPath + "/" + paths().get(0);
+        metrics = MinecraftDashboard.getMetricsController().getRoute(route.isEmpty() ? "/" : route);
+        metrics.setQueued(concurrencyLimit::getQueueLength);
+
+        for (String path : paths())
+            MinecraftDashboard.getRouter().register(contextPath + "/" + path, this);
+    }
+
+    /**
+     * Builds the dispatch table of this route. Only the http methods overridden by the route
+     * get an entry, all other methods will be answered with <code>405</code>
+     */
+    protected void prepareRouteMethods() {
+        StringBuilder allowed = new StringBuilder();
+
+        for (HTTPMethod method : HTTPMethod.values()) {
+            RouteMethod routeMethod = switch (method) {
+                case GET -> this::get;
+                case POST -> this::post;
+                case PUT -> this::put;
+                case DELETE -> this::delete;
+                case PATCH -> this::patch;
+                case OPTIONS -> null;
+            };
+
+            if (routeMethod == null || !isImplemented(method)) continue;
+
+            routeMethods[method.ordinal()] = routeMethod;
+            allowed.append(method.name()).append(", ");
+        }
+
+        allowedMethods = allowed.append("OPTIONS").toString();
+    }
+
+    /**
+     * Checks if the route overrides the executor of a http method
+     * @param method The http method you want to check
+     * @return <code>true</code> if the route implements the method, otherwise <code>false</code>
+     */
+    private boolean isImplemented(HTTPMethod method) {
+        try {
+            return getClass().getMethod(method.name().toLowerCase(), Request.class, ResponseController.class)
+                    .getDeclaringClass() != DefaultHandler.class;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
     }
 
     /**
@@ -159,42 +504,106 @@ public abstract class DefaultHandler implements HttpHandler {
      * @return The prepared request
      */
     protected Request prepareRequest(HttpExchange exchange, boolean writeBody) {
-        StringWriter writer = new StringWriter();
-
-        if (writeBody) {
-            try {
-                IOUtils.copy(exchange.getRequestBody(), writer, StandardCharsets.UTF_8);
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
-        }
-
-        HTTPMethod method = HTTPMethod.GET;
+        HTTPMethod method = HTTPMethod.fromName(exchange.getRequestMethod());
+        if (method == null) method = HTTPMethod.GET;
 
-        for (HTTPMethod current : HTTPMethod.values()) {
-            if (current.toString().equals(exchange.getRequestMethod())) method = current;
-        }
-
-        return new Request()
+        Request request = new Request()
                 .setUri(exchange.getRequestURI())
                 .setRemoteAddress(exchange.getRemoteAddress())
                 .setMethod(method)
                 .setHeaders(exchange.getRequestHeaders())
-                .mapBody(writer.toString())
                 .mapQuery(exchange.getRequestURI().getQuery());
+
+        if (writeBody) request.setBodyStream(exchange.getRequestBody(), maxBodySize());
+
+        return request;
     }
 
     /**
-     * Executes a runnable synchronously
+     * Executes a runnable synchronously without waiting for it.
+     * Only meant for actions whose result can not be reported anymore, e.g. stopping the server
      * @param runnable The runnable you want to execute
      */
     public void runSync(Runnable runnable) {
-        Bukkit.getScheduler().callSyncMethod(MinecraftDashboard.getInstance(), () -> {
+        mainThread.submit(TaskPriority.NORMAL, null, () -> {
             runnable.run();
-            return true;
+            return null;
         });
     }
 
+    /**
+     * Executes a task synchronously and waits for its result
+     * @param response The response controller the time of the main thread hop is reported to
+     * @param task The task you want to execute
+     * @param <T> The result type of the task
+     * @return the result of the task
+     * @throws Exception The exception thrown by the task or a {@link TimeoutException} if the server is too busy
+     * @see #callSync(ResponseController, String, long, Callable)
+     */
+    public <T> T callSync(ResponseController response, Callable<T> task) throws Exception {
+        return callSync(response, null, manager.getMainThreadTimeout(), task);
+    }
+
+    /**
+     * Executes a task synchronously and waits for its result. If an action with the same key is still waiting
+     * for the main thread, it gets replaced by this one, e.g. when the time of a world is changed multiple times within a tick
+     * @param response The response controller the time of the main thread hop is reported to
+     * @param key The key the action is coalesced by or <code>null</code> if it should always run
+     * @param task The task you want to execute
+     * @param <T> The result type of the task
+     * @return the result of the task
+     * @throws Exception The exception thrown by the task or a {@link TimeoutException} if the server is too busy
+     * @see #callSync(ResponseController, String, long, Callable)
+     */
+    public <T> T callSync(ResponseController response, String key, Callable<T> task) throws Exception {
+        return callSync(response, key, manager.getMainThreadTimeout(), task);
+    }
+
+    /**
+     * Executes a task synchronously and waits for its result. The requests run on virtual threads by default,
+     * so waiting does not block a thread of the platform. The time of the hop is added to the
+     * <code>Server-Timing</code> header of the response and to the metrics.
+     * If the task could not start within the timeout, a {@link TimeoutException} is thrown, which gets
+     * answered with <code>504</code>. A task that has already started is awaited until it finishes
+     * @param response The response controller the time of the main thread hop is reported to
+     * @param key The key the action is coalesced by or <code>null</code> if it should always run
+     * @param timeout The time in milliseconds to wait for the task to start
+     * @param task The task you want to execute
+     * @param <T> The result type of the task
+     * @return the result of the task
+     * @throws Exception The exception thrown by the task or a {@link TimeoutException} if the server is too busy
+     */
+    public <T> T callSync(ResponseController response, String key, long timeout, Callable<T> task) throws Exception {
+        return callSync(response, TaskPriority.NORMAL, key, timeout, task);
+    }
+
+    /**
+     * Executes a task synchronously with a specific priority and waits for its result
+     * @param response The response controller the time of the main thread hop is reported to
+     * @param priority The priority of the task in the main thread queue
+     * @param key The key the action is coalesced by or <code>null</code> if it should always run
+     * @param timeout The time in milliseconds to wait for the task to start
+     * @param task The task you want to execute
+     * @param <T> The result type of the task
+     * @return the result of the task
+     * @throws Exception The exception thrown by the task or a {@link TimeoutException} if the server is too busy
+     * @see #callSync(ResponseController, String, long, Callable)
+     */
+    public <T> T callSync(ResponseController response, TaskPriority priority, String key, long timeout,
+                          Callable<T> task) throws Exception {
+        long start = System.nanoTime();
+        try {
+            return mainThread.submit(priority, key, timeout, task).await(timeout);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) throw cause;
+            throw e;
+        } finally {
+            long hop = System.nanoTime() - start;
+            MinecraftDashboard.getMetricsController().recordMainThreadHop(hop);
+            response.header("Server-Timing", String.format(Locale.ROOT, "main-thread;dur=%.2f", hop / 1e6));
+        }
+    }
+
     /**
      * Gets a string from the body
      * @param request The request object from the HttpExchange
@@ -240,6 +649,16 @@ public abstract class DefaultHandler implements HttpHandler {
         return request.getQuery().get(name);
     }
 
+    /**
+     * Gets a parameter from the request path
+     * @param request The request object from the HttpExchange
+     * @param name The name of the template parameter (without the braces)
+     * @return the value (string) or <code>null</code> if the route template does not contain the parameter
+     */
+    public String getStringFromPath(Request request, String name) {
+        return request.getPathParameters().get(name);
+    }
+
     /**
      * Gets an integer from the query
      * @param request The request object from the HttpExchange
@@ -322,4 +741,33 @@ public abstract class DefaultHandler implements HttpHandler {
         return true;
     }
 
+    /**
+     * Counts the bytes read from the request body
+     */
+    private static class CountingInputStream extends ProxyInputStream {
+
+        private long byteCount;
+
+        /**
+         * Basic constructor of the {@link CountingInputStream}
+         * @param input The stream you want to count
+         */
+        CountingInputStream(InputStream input) {
+            super(input);
+        }
+
+        @Override
+        protected void afterRead(int n) {
+            if (n > 0) byteCount += n;
+        }
+
+        /**
+         * Gets the amount of bytes that have been read
+         * @return the amount of read bytes
+         */
+        long getByteCount() {
+            return byteCount;
+        }
+    }
+
 }
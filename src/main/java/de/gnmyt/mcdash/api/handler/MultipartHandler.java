@@ -3,7 +3,6 @@ package de.gnmyt.mcdash.api.handler;
 import com.sun.net.httpserver.HttpExchange;
 import de.gnmyt.mcdash.api.http.HTTPRequestContext;
 import de.gnmyt.mcdash.api.http.Request;
-import org.apache.commons.fileupload.disk.DiskFileItemFactory;
 import org.apache.commons.fileupload.servlet.ServletFileUpload;
 
 import java.util.Collections;
@@ -19,9 +18,23 @@ public abstract class MultipartHandler extends DefaultHandler {
         return Collections.singletonList("PUT");
     }
 
+    /**
+     * The overridden method of {@link DefaultHandler#exceedsMaxBodySize}
+     * Multipart uploads are read by the file upload parser and are therefore not limited by the maximum body size
+     *
+     * @param exchange The exchange given by the HttpHandler
+     * @return <code>true</code> if the request body is too large, otherwise <code>false</code>
+     */
+    @Override
+    protected boolean exceedsMaxBodySize(HttpExchange exchange) {
+        if (multipartMethods().contains(exchange.getRequestMethod())) return false;
+        return super.exceedsMaxBodySize(exchange);
+    }
+
     /**
      * The overridden method of {@link DefaultHandler#handle}
-     * The method checks if the method is in the list of {@link MultipartHandler#multipartMethods} and puts the files into the request
+     * The method checks if the method is in the list of {@link MultipartHandler#multipartMethods} and puts the files into the request.
+     * The files are not parsed here, the route reads them one after another directly from the request body
      *
      * @param exchange The exchange you get from the handle function
      * @param writeBody Should the request body be written?
@@ -33,7 +46,7 @@ public abstract class MultipartHandler extends DefaultHandler {
 
         if (multipartMethods().contains(exchange.getRequestMethod())) {
             try {
-                request.setFiles(new ServletFileUpload(new DiskFileItemFactory()).parseRequest(new HTTPRequestContext(exchange)));
+                request.setUploads(new ServletFileUpload().getItemIterator(new HTTPRequestContext(exchange)));
             } catch (Exception e) {
                 e.printStackTrace();
             }
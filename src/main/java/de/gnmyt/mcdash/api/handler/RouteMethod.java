@@ -0,0 +1,20 @@
+package de.gnmyt.mcdash.api.handler;
+
+import de.gnmyt.mcdash.api.http.Request;
+import de.gnmyt.mcdash.api.http.ResponseController;
+
+/**
+ * A single http verb implementation of a {@link DefaultHandler}
+ */
+@FunctionalInterface
+public interface RouteMethod {
+
+    /**
+     * Executes the route method
+     * @param request The request object from the HttpExchange
+     * @param response The response controller from the HttpExchange
+     * @throws Exception Every exception happening in the route method
+     */
+    void execute(Request request, ResponseController response) throws Exception;
+
+}
@@ -0,0 +1,192 @@
+package de.gnmyt.mcdash.api.handler;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import de.gnmyt.mcdash.api.http.ResponseController;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Routes all api requests through a single http context.
+ * The routes are stored in a tree with one level per path segment, static segments are
+ * looked up in a hash map and template segments (e.g. <code>{backup_id}</code>) match any value.
+ * Matching a request therefore only depends on the length of its path, not on the amount of routes
+ */
+public class Router implements HttpHandler {
+
+    private final String prefix;
+    private final Node root = new Node();
+    private int routeCount;
+
+    /**
+     * Basic constructor of the {@link Router}
+     * @param prefix The path all routes are mounted on (e.g. <code>/api</code>)
+     */
+    public Router(String prefix) {
+        this.prefix = prefix;
+    }
+
+    /**
+     * Registers a route
+     * @param template The path template of the route relative to the prefix (e.g. <code>backups/{backup_id}/download</code>)
+     * @param handler The handler of the route
+     * @throws IllegalStateException if another handler is already registered for the template
+     */
+    public synchronized void register(String template, DefaultHandler handler) {
+        Node node = root;
+
+        for (String segment : split(template)) {
+            if (segment.startsWith("{") && segment.endsWith("}")) {
+                String name = segment.substring(1, segment.length() - 1);
+
+                if (node.parameter == null) {
+                    node.parameterName = name;
+                    node.parameter = new Node();
+                } else if (!node.parameterName.equals(name)) {
+                    throw new IllegalStateException("The template " + template + " uses {" + name
+                            + "} where another route uses {" + node.parameterName + "}");
+                }
+                node = node.parameter;
+            } else {
+                node = node.children.computeIfAbsent(segment, key -> new Node());
+            }
+        }
+
+        if (node.handler != null)
+            throw new IllegalStateException("The route " + template + " is already registered by "
+                    + node.handler.getClass().getName());
+
+        node.handler = handler;
+        routeCount++;
+    }
+
+    /**
+     * Gets the amount of registered routes
+     * @return the amount of registered routes
+     */
+    public int getRouteCount() {
+        return routeCount;
+    }
+
+    /**
+     * Finds the handler of the request and executes it
+     * @param exchange The exchange given by the HttpServer
+     */
+    @Override
+    public void handle(HttpExchange exchange) {
+        Route route = find(exchange.getRequestURI().getRawPath());
+
+        if (route == null) {
+            new ResponseController(exchange).code(404).message("Route not found");
+            return;
+        }
+
+        route.handler().handle(exchange, route.pathParameters());
+    }
+
+    /**
+     * Finds the route of a request path
+     * @param path The raw path of the request (including the prefix)
+     * @return the matching route or <code>null</code> if no route matches
+     */
+    public Route find(String path) {
+        if (path == null || !path.startsWith(prefix)) return null;
+
+        Map<String, String> parameters = new LinkedHashMap<>(2);
+        Node node = match(root, split(path.substring(prefix.length())), 0, parameters);
+        if (node == null) return null;
+
+        return new Route(node.handler, parameters.isEmpty() ? Map.of() : parameters);
+    }
+
+    /**
+     * Gets the prefix all routes are mounted on
+     * @return the prefix of the router
+     */
+    public String getPrefix() {
+        return prefix;
+    }
+
+    /**
+     * Matches the remaining segments of a path. Static segments take precedence over template segments
+     * @param node The current node
+     * @param segments All segments of the request path
+     * @param index The index of the current segment
+     * @param parameters The map the values of the template segments get written to
+     * @return the node of the matching route or <code>null</code> if no route matches
+     */
+    private Node match(Node node, List<String> segments, int index, Map<String, String> parameters) {
+        if (index == segments.size()) return node.handler != null ? node : null;
+
+        String segment = segments.get(index);
+
+        Node child = node.children.get(segment);
+        if (child != null) {
+            Node result = match(child, segments, index + 1, parameters);
+            if (result != null) return result;
+        }
+
+        if (node.parameter == null) return null;
+
+        Node result = match(node.parameter, segments, index + 1, parameters);
+        if (result != null) parameters.put(node.parameterName, decode(segment));
+        return result;
+    }
+
+    /**
+     * Splits a path into its segments. Empty segments (e.g. from a trailing slash) are ignored
+     * @param path The path you want to split
+     * @return the segments of the path
+     */
+    private static List<String> split(String path) {
+        List<String> segments = new ArrayList<>(4);
+        int start = 0;
+
+        for (int i = 0; i <= path.length(); i++) {
+            if (i < path.length() && path.charAt(i) != '/') continue;
+            if (i > start) segments.add(path.substring(start, i));
+            start = i + 1;
+        }
+
+        return segments;
+    }
+
+    /**
+     * Decodes a percent-encoded path segment
+     * @param segment The raw segment
+     * @return the decoded segment
+     */
+    private static String decode(String segment) {
+        if (segment.indexOf('%') == -1) return segment;
+        try {
+            return URLDecoder.decode(segment.replace("+", "%2B"), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return segment;
+        }
+    }
+
+    /**
+     * A matched route
+     * @param handler The handler of the route
+     * @param pathParameters The values of the template parameters in the request path
+     */
+    public record Route(DefaultHandler handler, Map<String, String> pathParameters) {
+    }
+
+    /**
+     * A single path segment of the route tree
+     */
+    private static class Node {
+        private final Map<String, Node> children = new ConcurrentHashMap<>();
+        private volatile Node parameter;
+        private volatile String parameterName;
+        private volatile DefaultHandler handler;
+    }
+
+}
@@ -1,15 +1,53 @@
 package de.gnmyt.mcdash.api.handler;
 
+import com.sun.net.httpserver.Headers;
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
+import de.gnmyt.mcdash.api.http.ContentEncoding;
 import de.gnmyt.mcdash.api.http.ContentType;
+import de.gnmyt.mcdash.api.http.EntityTag;
 
+import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 
 public class StaticHandler implements HttpHandler {
 
+    private static final String RESOURCE_FOLDER = "webui";
+    private static final Pattern HASHED_ASSET = Pattern.compile("^/assets/[^/]+-[A-Za-z0-9_-]{8}\\.[a-z0-9]+$");
+
+    private static final String IMMUTABLE_CACHE = "public, max-age=31536000, immutable";
+    private static final String REVALIDATE_CACHE = "no-cache";
+
+    private final Map<String, StaticAsset> assets;
+    private final StaticAsset indexAsset;
+
+    /**
+     * Basic constructor of the {@link StaticHandler}
+     * Reads all web ui resources once and prepares their compressed variants
+     *
+     * @throws IOException An exception that can occur while reading the resources
+     */
+    public StaticHandler() throws IOException {
+        this.assets = loadAssets();
+        this.indexAsset = assets.get("/index.html");
+    }
+
     /**
      * Handles the request of the client
      *
@@ -20,35 +58,173 @@ public class StaticHandler implements HttpHandler {
     @Override
     public void handle(HttpExchange exchange) throws IOException {
         String path = exchange.getRequestURI().getPath();
-        if (path.equals("/")) path = "/index.html";
+        StaticAsset asset = assets.getOrDefault(path.equals("/") ? "/index.html" : path, indexAsset);
+
+        if (asset == null) {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+            return;
+        }
+
+        Headers requestHeaders = exchange.getRequestHeaders();
+        Headers responseHeaders = exchange.getResponseHeaders();
+
+        String acceptEncoding = requestHeaders.getFirst("Accept-Encoding");
+        ContentEncoding encoding = null;
+        byte[] body = asset.raw();
+
+        if (asset.brotli() != null && ContentEncoding.BROTLI.isAccepted(acceptEncoding)) {
+            encoding = ContentEncoding.BROTLI;
+            body = asset.brotli();
+        } else if (asset.gzip() != null && ContentEncoding.GZIP.isAccepted(acceptEncoding)) {
+            encoding = ContentEncoding.GZIP;
+            body = asset.gzip();
+        }
 
-        if (getResourceStream("webui" + path) == null) path = "/index.html";
+        String etag = encoding == null ? asset.etag() : asset.etag(encoding);
+
+        responseHeaders.set("Content-Type", asset.contentType());
+        responseHeaders.set("Cache-Control", asset.cacheControl());
+        responseHeaders.set("ETag", etag);
+        if (asset.gzip() != null || asset.brotli() != null) responseHeaders.set("Vary", "Accept-Encoding");
+
+        if (EntityTag.matches(requestHeaders.getFirst("If-None-Match"), etag)) {
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+
+        if (encoding != null) responseHeaders.set("Content-Encoding", encoding.getName());
+
+        if (exchange.getRequestMethod().equals("HEAD")) {
+            responseHeaders.set("Content-Length", String.valueOf(body.length));
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+            return;
+        }
+
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+        }
+
+        exchange.close();
+    }
+
+    /**
+     * Loads all resources of the web ui from the plugin jar (or the classes folder)
+     *
+     * @return all assets mapped by their request path
+     * @throws IOException An exception that can occur while reading the resources
+     */
+    private Map<String, StaticAsset> loadAssets() throws IOException {
+        Map<String, byte[]> files = new HashMap<>();
 
-        exchange.getResponseHeaders().add("Content-Type", ContentType.getContentType(path).getType());
+        File source;
+        try {
+            source = new File(getClass().getProtectionDomain().getCodeSource().getLocation().toURI());
+        } catch (URISyntaxException e) {
+            throw new IOException("Could not locate the web ui resources", e);
+        }
 
-        try (InputStream inputStream = getResourceStream("webui" + path)) {
-            if (inputStream != null) {
-                exchange.sendResponseHeaders(200, 0);
+        if (source.isDirectory()) {
+            Path root = source.toPath().resolve(RESOURCE_FOLDER);
+            if (Files.isDirectory(root)) {
+                try (Stream<Path> paths = Files.walk(root)) {
+                    for (Path file : (Iterable<Path>) paths.filter(Files::isRegularFile)::iterator)
+                        files.put("/" + root.relativize(file).toString().replace(File.separatorChar, '/'),
+                                Files.readAllBytes(file));
+                }
+            }
+        } else {
+            try (JarFile jar = new JarFile(source)) {
+                Enumeration<JarEntry> entries = jar.entries();
+                while (entries.hasMoreElements()) {
+                    JarEntry entry = entries.nextElement();
+                    if (entry.isDirectory() || !entry.getName().startsWith(RESOURCE_FOLDER + "/")) continue;
 
-                try (OutputStream outputStream = exchange.getResponseBody()) {
-                    byte[] buffer = new byte[8192];
-                    int length;
-                    while ((length = inputStream.read(buffer)) != -1) outputStream.write(buffer, 0, length);
+                    try (InputStream inputStream = jar.getInputStream(entry)) {
+                        files.put(entry.getName().substring(RESOURCE_FOLDER.length()), inputStream.readAllBytes());
+                    }
                 }
             }
         }
 
-        exchange.close();
+        Map<String, StaticAsset> loaded = new HashMap<>();
+
+        for (Map.Entry<String, byte[]> file : files.entrySet()) {
+            String path = file.getKey();
+            if (path.endsWith(".br")) continue;
+
+            ContentType type = ContentType.getContentType(path);
+            byte[] raw = file.getValue();
+            byte[] gzip = type.isCompressible() ? gzip(raw) : null;
+            byte[] brotli = type.isCompressible() ? files.get(path + ".br") : null;
+
+            if (gzip != null && gzip.length >= raw.length) gzip = null;
+            if (brotli != null && brotli.length >= raw.length) brotli = null;
+
+            String cacheControl = HASHED_ASSET.matcher(path).matches() ? IMMUTABLE_CACHE : REVALIDATE_CACHE;
+
+            loaded.put(path, new StaticAsset(type.getType(), raw, gzip, brotli, createETag(raw), cacheControl));
+        }
+
+        return Map.copyOf(loaded);
     }
 
     /**
-     * Gets the input stream of a resource
+     * Compresses the provided bytes using gzip
      *
-     * @param path The path of the resource
-     * @return the input stream of the resource
+     * @param raw The bytes you want to compress
+     * @return the compressed bytes
+     * @throws IOException An exception that can occur while compressing
      */
-    private InputStream getResourceStream(String path) {
-        return getClass().getClassLoader().getResourceAsStream(path);
+    private static byte[] gzip(byte[] raw) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(raw.length / 2 + 64);
+        try (GZIPOutputStream gzipStream = new GZIPOutputStream(outputStream) {{ def.setLevel(9); }}) {
+            gzipStream.write(raw);
+        }
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Creates a strong etag from the content of an asset
+     *
+     * @param raw The uncompressed content of the asset
+     * @return the etag (including the quotes)
+     */
+    private static String createETag(byte[] raw) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(raw);
+            StringBuilder etag = new StringBuilder("\"");
+            for (int i = 0; i < 12; i++) etag.append(String.format("%02x", hash[i]));
+            return etag.append("\"").toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * A cached web ui resource including its precompressed variants
+     *
+     * @param contentType The content type header value
+     * @param raw The uncompressed content
+     * @param gzip The gzip compressed content or <code>null</code> if it should not be compressed
+     * @param brotli The brotli compressed content or <code>null</code> if no brotli variant was built
+     * @param etag The etag of the uncompressed content
+     * @param cacheControl The cache control header value
+     */
+    private record StaticAsset(String contentType, byte[] raw, byte[] gzip, byte[] brotli, String etag,
+                               String cacheControl) {
+
+        /**
+         * Gets the etag of a compressed variant
+         * @param encoding The encoding of the variant
+         * @return the etag of the variant (including the quotes)
+         */
+        String etag(ContentEncoding encoding) {
+            return etag.substring(0, etag.length() - 1) + "-" + encoding.getName() + "\"";
+        }
     }
 
-}
\ No newline at end of file
+}
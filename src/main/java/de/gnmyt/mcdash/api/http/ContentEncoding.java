@@ -0,0 +1,61 @@
+package de.gnmyt.mcdash.api.http;
+
+/**
+ * All content encodings the web server can send
+ */
+public enum ContentEncoding {
+
+    /**
+     * The brotli content encoding
+     */
+    BROTLI("br"),
+
+    /**
+     * The gzip content encoding
+     */
+    GZIP("gzip"),
+
+    /**
+     * The deflate (zlib) content encoding
+     */
+    DEFLATE("deflate");
+
+    private final String name;
+
+    /**
+     * The basic constructor of the {@link ContentEncoding}
+     * @param name The name of the encoding (header value)
+     */
+    ContentEncoding(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Checks if the client accepts this encoding
+     * @param acceptEncoding The value of the <code>Accept-Encoding</code> header, can be <code>null</code>
+     * @return <code>true</code> if the encoding is accepted, otherwise <code>false</code>
+     */
+    public boolean isAccepted(String acceptEncoding) {
+        if (acceptEncoding == null) return false;
+
+        for (String part : acceptEncoding.split(",")) {
+            String[] values = part.trim().split(";");
+            if (!values[0].trim().equalsIgnoreCase(name) && !values[0].trim().equals("*")) continue;
+
+            for (int i = 1; i < values.length; i++) {
+                String parameter = values[i].trim();
+                if (parameter.startsWith("q=") && parameter.substring(2).trim().matches("0(\\.0*)?")) return false;
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gets the name of the encoding
+     * @return the name of the encoding
+     */
+    public String getName() {
+        return name;
+    }
+}
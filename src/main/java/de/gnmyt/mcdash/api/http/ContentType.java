@@ -21,6 +21,21 @@ public enum ContentType {
      */
     MULTIPART("multipart/form-data", null),
 
+    /**
+     * The server-sent events content type
+     */
+    EVENT_STREAM("text/event-stream", null),
+
+    /**
+     * The content type of downloads with unknown content
+     */
+    BINARY("application/octet-stream", null),
+
+    /**
+     * The Prometheus text exposition format
+     */
+    METRICS("text/plain; version=0.0.4; charset=utf-8", null),
+
     /**
      * The css content type
      */
@@ -51,6 +66,11 @@ public enum ContentType {
      */
     ICO("image/x-icon", "ico"),
 
+    /**
+     * The webp content type
+     */
+    WEBP("image/webp", "webp"),
+
     /**
      * The woff2 content type
      */
@@ -76,6 +96,14 @@ public enum ContentType {
         return TEXT;
     }
 
+    /**
+     * Checks if content of this type benefits from being compressed
+     * @return <code>true</code> if the content type is text based, otherwise <code>false</code>
+     */
+    public boolean isCompressible() {
+        return this == TEXT || this == JSON || this == METRICS || this == CSS || this == JAVASCRIPT || this == SVG;
+    }
+
     /**
      * Gets the content type
      * @return the content type
@@ -0,0 +1,77 @@
+package de.gnmyt.mcdash.api.http;
+
+import java.security.SecureRandom;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32C;
+
+/**
+ * Creates and compares the entity tags (<code>ETag</code> header) of responses
+ */
+public final class EntityTag {
+
+    /**
+     * Changes on every start, so that version based tags issued by a previous run never match
+     */
+    private static final String EPOCH = Long.toHexString(new SecureRandom().nextLong() >>> 16);
+
+    private EntityTag() {
+    }
+
+    /**
+     * Creates a weak entity tag from the content of a response body
+     * @param body The buffer containing the body
+     * @param length The length of the body inside the buffer
+     * @return the entity tag (including the quotes)
+     */
+    public static String fromContent(byte[] body, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(body, 0, length);
+
+        Adler32 adler = new Adler32();
+        adler.update(body, 0, length);
+
+        return "W/\"" + Integer.toHexString(length) + "-" + Long.toHexString(crc.getValue())
+                + Long.toHexString(adler.getValue()) + "\"";
+    }
+
+    /**
+     * Creates a weak entity tag from a resource version
+     * @param version The version of the resource
+     * @return the entity tag (including the quotes)
+     */
+    public static String fromVersion(String version) {
+        return "W/\"v" + EPOCH + "-" + version + "\"";
+    }
+
+    /**
+     * Creates a strong entity tag from the modification time and the size of a file.
+     * Strong tags are needed to resume downloads with <code>If-Range</code>
+     * @param lastModified The modification time of the file in milliseconds
+     * @param length The size of the file in bytes
+     * @return the entity tag (including the quotes)
+     */
+    public static String fromFile(long lastModified, long length) {
+        return "\"" + Long.toHexString(lastModified) + "-" + Long.toHexString(length) + "\"";
+    }
+
+    /**
+     * Checks if the <code>If-None-Match</code> header of the client contains the entity tag.
+     * Uses the weak comparison, so the <code>W/</code> prefix is ignored on both sides
+     * @param ifNoneMatch The value of the <code>If-None-Match</code> header, can be <code>null</code>
+     * @param etag The entity tag of the response
+     * @return <code>true</code> if the client already has the current version, otherwise <code>false</code>
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) return false;
+
+        String opaque = etag.startsWith("W/") ? etag.substring(2) : etag;
+
+        for (String value : ifNoneMatch.split(",")) {
+            String current = value.trim();
+            if (current.startsWith("W/")) current = current.substring(2);
+            if (current.equals(opaque) || current.equals("*")) return true;
+        }
+        return false;
+    }
+
+}
@@ -1,5 +1,8 @@
 package de.gnmyt.mcdash.api.http;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * All http methods needed by this plugin
  */
@@ -33,6 +36,21 @@ public enum HTTPMethod {
     /**
      * The 'OPTIONS' request method. Used whenever the request wants to describe the communication options for the target resource
      */
-    OPTIONS
+    OPTIONS;
+
+    private static final Map<String, HTTPMethod> BY_NAME = new HashMap<>();
+
+    static {
+        for (HTTPMethod method : values()) BY_NAME.put(method.name(), method);
+    }
+
+    /**
+     * Gets the http method by the name sent by the client
+     * @param name The name of the method, e.g. <code>GET</code>
+     * @return the http method or <code>null</code> if the method is not supported
+     */
+    public static HTTPMethod fromName(String name) {
+        return BY_NAME.get(name);
+    }
 
 }
@@ -0,0 +1,63 @@
+package de.gnmyt.mcdash.api.http;
+
+/**
+ * The cost classes of the routes, every class has its own rate limit
+ */
+public enum RateLimitClass {
+
+    /**
+     * Cheap requests that only read state which is already in memory
+     */
+    READ("read", 120, 20),
+
+    /**
+     * Requests that read or write files, walk directories or call external services
+     */
+    HEAVY_IO("heavy_io", 20, 2),
+
+    /**
+     * Requests that need to run an action on the main thread of the server
+     */
+    MAIN_THREAD("main_thread", 30, 5);
+
+    private final String configName;
+    private final int defaultCapacity;
+    private final double defaultRefill;
+
+    /**
+     * The basic constructor of the {@link RateLimitClass}
+     * @param configName The name of the class in the configuration
+     * @param defaultCapacity The default amount of requests a client may burst
+     * @param defaultRefill The default amount of requests per second a client may send on average
+     */
+    RateLimitClass(String configName, int defaultCapacity, double defaultRefill) {
+        this.configName = configName;
+        this.defaultCapacity = defaultCapacity;
+        this.defaultRefill = defaultRefill;
+    }
+
+    /**
+     * Gets the name of the class in the configuration
+     * @return the configuration name
+     */
+    public String getConfigName() {
+        return configName;
+    }
+
+    /**
+     * Gets the default amount of requests a client may burst
+     * @return the default bucket capacity
+     */
+    public int getDefaultCapacity() {
+        return defaultCapacity;
+    }
+
+    /**
+     * Gets the default amount of requests per second a client may send on average
+     * @return the default refill rate
+     */
+    public double getDefaultRefill() {
+        return defaultRefill;
+    }
+
+}
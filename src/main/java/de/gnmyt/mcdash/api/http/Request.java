@@ -1,25 +1,37 @@
 package de.gnmyt.mcdash.api.http;
 
 import com.sun.net.httpserver.Headers;
-import org.apache.commons.fileupload.FileItem;
+import org.apache.commons.fileupload.FileItemIterator;
+import org.apache.commons.io.input.ProxyInputStream;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.InetSocketAddress;
 import java.net.URI;
-import java.net.URLDecoder;
-import java.util.ArrayList;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.List;
+import java.util.Map;
 
 public class Request {
 
+    /**
+     * The largest body that can be read into memory, the maximum size of an array
+     */
+    private static final int MAX_BUFFER_SIZE = Integer.MAX_VALUE - 8;
+
     private Headers headers;
     private URI uri;
     private HTTPMethod method;
     private InetSocketAddress remoteAddress;
+    private String username;
     private String bodyString;
+    private InputStream bodyStream;
+    private long maxBodySize = Long.MAX_VALUE;
     private HashMap<String, String> query = new HashMap<>();
+    private Map<String, String> pathParameters = Map.of();
     private HashMap<String, String> body = new HashMap<>();
-    private List<FileItem> files = new ArrayList<>();
+    private FileItemIterator uploads;
 
     /**
      * Basic constructor of the {@link Request}
@@ -54,6 +66,14 @@ public class Request {
         return query;
     }
 
+    /**
+     * Gets the parameters of the route template (e.g. <code>{backup_id}</code>)
+     * @return the path parameters of the request
+     */
+    public Map<String, String> getPathParameters() {
+        return pathParameters;
+    }
+
     /**
      * Gets the request headers
      * @return the request headers
@@ -78,11 +98,20 @@ public class Request {
         return remoteAddress;
     }
 
+    /**
+     * Gets the name of the authenticated account
+     * @return the name of the authenticated account
+     */
+    public String getUsername() {
+        return username;
+    }
+
     /**
      * Gets the request body as a hashmap
      * @return the request body
      */
     public HashMap<String, String> getBody() {
+        readBody();
         return body;
     }
 
@@ -91,6 +120,7 @@ public class Request {
      * @return the request body
      */
     public String getBodyString() {
+        readBody();
         return bodyString;
     }
 
@@ -103,11 +133,25 @@ public class Request {
     }
 
     /**
-     * Gets all files provided in the request
-     * @return the list of files from the request
+     * Gets the stream of the request body, so that large bodies can be processed without reading them into the memory.
+     * The body can not be read as a string or a map afterwards. The stream throws a
+     * {@link RequestBodyTooLargeException} once more than the maximum body size has been read
+     * @return the stream of the request body
+     */
+    public InputStream getBodyStream() {
+        InputStream stream = bodyStream;
+        bodyStream = null;
+        if (bodyString == null) bodyString = "";
+        return stream != null ? new BoundedInputStream(stream, maxBodySize) : InputStream.nullInputStream();
+    }
+
+    /**
+     * Gets the files of a multipart request. The files are read from the request body while iterating,
+     * so every file has to be consumed before the next one can be read
+     * @return the files of the request or <code>null</code> if the request is not a multipart request
      */
-    public List<FileItem> getFiles() {
-        return files;
+    public FileItemIterator getUploads() {
+        return uploads;
     }
 
     /**
@@ -121,22 +165,24 @@ public class Request {
     }
 
     /**
-     * Sets all files of the request
-     * @param files The files of the request
+     * Sets the stream the body gets read from. The body will only be read once a route asks for it
+     * @param bodyStream The stream of the request body
+     * @param maxBodySize The maximum amount of bytes that may be read from the stream
      * @return the current {@link Request} instance
      */
-    public Request setFiles(List<FileItem> files) {
-        this.files = files;
+    public Request setBodyStream(InputStream bodyStream, long maxBodySize) {
+        this.bodyStream = bodyStream;
+        this.maxBodySize = maxBodySize;
         return this;
     }
 
     /**
-     * Adds a file to the request
-     * @param file The file you want to add
+     * Sets the files of a multipart request
+     * @param uploads The iterator the files are read from
      * @return the current {@link Request} instance
      */
-    public Request addItem(FileItem file) {
-        files.add(file);
+    public Request setUploads(FileItemIterator uploads) {
+        this.uploads = uploads;
         return this;
     }
 
@@ -180,6 +226,26 @@ public class Request {
         return this;
     }
 
+    /**
+     * Sets the name of the authenticated account
+     * @param username The name of the authenticated account
+     * @return the current {@link Request} instance
+     */
+    public Request setUsername(String username) {
+        this.username = username;
+        return this;
+    }
+
+    /**
+     * Sets the parameters of the route template
+     * @param pathParameters The path parameters of the request
+     * @return the current {@link Request} instance
+     */
+    public Request setPathParameters(Map<String, String> pathParameters) {
+        this.pathParameters = pathParameters;
+        return this;
+    }
+
     /**
      * Sets the uri of the request
      * @param uri The uri of the request you want to set
@@ -197,13 +263,8 @@ public class Request {
      */
     public Request mapBody(String body) {
         this.bodyString = body;
-        if (!body.isEmpty()) {
-            for (String s : body.split("&")) {
-                try {
-                    this.body.put(s.split("=")[0], URLDecoder.decode(s.split("=")[1], "utf-8").replace("\\n", "\n"));
-                } catch (Exception ignored) { }
-            }
-        }
+        this.bodyStream = null;
+        parseForm(body, this.body, true);
         return this;
     }
 
@@ -213,14 +274,142 @@ public class Request {
      * @return the current {@link Request} instance
      */
     public Request mapQuery(String query) {
-        if (query != null) {
-            for (String value : query.split("&")) {
-                try {
-                    this.query.put(value.split("=")[0], value.split("=")[1]);
-                } catch (Exception ignored) {}
+        if (query != null) parseForm(query, this.query, false);
+        return this;
+    }
+
+    /**
+     * Reads and maps the body from the body stream if it has not been read yet
+     * @throws RequestBodyTooLargeException if the body exceeds the maximum body size
+     */
+    private void readBody() {
+        if (bodyStream == null) {
+            if (bodyString == null) bodyString = "";
+            return;
+        }
+
+        InputStream stream = bodyStream;
+        bodyStream = null;
+
+        byte[] buffer = new byte[512];
+        int length = 0;
+
+        try {
+            int read;
+            while ((read = stream.read(buffer, length, buffer.length - length)) != -1) {
+                length += read;
+                if (length > maxBodySize) throw new RequestBodyTooLargeException(maxBodySize);
+                if (length == buffer.length) {
+                    if (length >= MAX_BUFFER_SIZE) throw new RequestBodyTooLargeException(MAX_BUFFER_SIZE);
+                    buffer = Arrays.copyOf(buffer, (int) Math.min(buffer.length * 2L,
+                            Math.min(maxBodySize, MAX_BUFFER_SIZE - 1) + 1));
+                }
             }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+
+        mapBody(new String(buffer, 0, length, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parses a form encoded string (<code>key=value&amp;key2=value2</code>) in a single pass.
+     * The value is everything after the first <code>=</code> of a pair, so values may contain <code>=</code>
+     * themselves (e.g. base64 padding). Pairs without a value are skipped
+     * @param input The string you want to parse
+     * @param target The map the values should be put into
+     * @param decode Should the values be url decoded?
+     */
+    private static void parseForm(String input, Map<String, String> target, boolean decode) {
+        int length = input.length();
+        int start = 0;
+
+        while (start < length) {
+            int end = input.indexOf('&', start);
+            if (end == -1) end = length;
+
+            int separator = input.indexOf('=', start);
+
+            if (separator != -1 && separator < end - 1) {
+                String key = input.substring(start, separator);
+                String value = decode ? decodeValue(input, separator + 1, end) : input.substring(separator + 1, end);
+
+                if (value != null) target.put(key, value);
+            }
+
+            start = end + 1;
+        }
+    }
+
+    /**
+     * Url decodes a part of a string. Escaped line breaks (<code>\\n</code>) are converted into real line breaks
+     * @param input The string containing the value
+     * @param start The start index of the value
+     * @param end The end index of the value (exclusive)
+     * @return the decoded value or <code>null</code> if the value is malformed
+     */
+    private static String decodeValue(String input, int start, int end) {
+        boolean plain = true;
+        for (int i = start; i < end && plain; i++) {
+            char c = input.charAt(i);
+            if (c == '%' || c == '+' || (c == '\\' && i + 1 < end && input.charAt(i + 1) == 'n')) plain = false;
+        }
+
+        if (plain) return input.substring(start, end);
+
+        byte[] bytes = new byte[(end - start) * 3];
+        int length = 0;
+
+        for (int i = start; i < end; i++) {
+            char c = input.charAt(i);
+
+            if (c == '+') {
+                bytes[length++] = ' ';
+            } else if (c == '%') {
+                if (i + 2 >= end) return null;
+                int high = Character.digit(input.charAt(i + 1), 16);
+                int low = Character.digit(input.charAt(i + 2), 16);
+                if (high == -1 || low == -1) return null;
+
+                bytes[length++] = (byte) ((high << 4) + low);
+                i += 2;
+            } else if (c < 0x80) {
+                bytes[length++] = (byte) c;
+            } else {
+                int charCount = Character.isHighSurrogate(c) && i + 1 < end ? 2 : 1;
+                byte[] encoded = input.substring(i, i + charCount).getBytes(StandardCharsets.UTF_8);
+                i += charCount - 1;
+                System.arraycopy(encoded, 0, bytes, length, encoded.length);
+                length += encoded.length;
+            }
+        }
+
+        return new String(bytes, 0, length, StandardCharsets.UTF_8).replace("\\n", "\n");
+    }
+
+    /**
+     * Limits the amount of bytes that can be read from the request body
+     */
+    private static class BoundedInputStream extends ProxyInputStream {
+
+        private final long maxSize;
+        private long byteCount;
+
+        /**
+         * Basic constructor of the {@link BoundedInputStream}
+         * @param input The stream of the request body
+         * @param maxSize The maximum amount of bytes that may be read
+         */
+        BoundedInputStream(InputStream input, long maxSize) {
+            super(input);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected void afterRead(int n) {
+            if (n > 0) byteCount += n;
+            if (byteCount > maxSize) throw new RequestBodyTooLargeException(maxSize);
         }
-        return this;
     }
 
 }
@@ -0,0 +1,26 @@
+package de.gnmyt.mcdash.api.http;
+
+/**
+ * Thrown when the body of a request exceeds the maximum size of its route
+ */
+public class RequestBodyTooLargeException extends RuntimeException {
+
+    private final long maxSize;
+
+    /**
+     * Basic constructor of the {@link RequestBodyTooLargeException}
+     * @param maxSize The maximum body size of the route in bytes
+     */
+    public RequestBodyTooLargeException(long maxSize) {
+        super("The request body exceeds the maximum size of " + maxSize + " bytes");
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Gets the maximum body size of the route
+     * @return the maximum body size in bytes
+     */
+    public long getMaxSize() {
+        return maxSize;
+    }
+}
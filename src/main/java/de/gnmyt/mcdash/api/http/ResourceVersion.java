@@ -0,0 +1,39 @@
+package de.gnmyt.mcdash.api.http;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version counters of resources that are polled by the web ui.
+ * A counter gets incremented whenever its resource changes, which allows routes
+ * to answer conditional requests without building the response
+ */
+public enum ResourceVersion {
+
+    /**
+     * The list of loaded plugins, changes when a plugin gets enabled or disabled
+     */
+    PLUGINS,
+
+    /**
+     * The list of backups, changes when a backup gets created or deleted
+     */
+    BACKUPS;
+
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * Marks the resource as changed
+     */
+    public void increment() {
+        version.incrementAndGet();
+    }
+
+    /**
+     * Gets the current version of the resource
+     * @return the current version
+     */
+    public long get() {
+        return version.get();
+    }
+
+}
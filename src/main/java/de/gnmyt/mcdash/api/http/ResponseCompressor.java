@@ -0,0 +1,164 @@
+package de.gnmyt.mcdash.api.http;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Compresses response bodies with gzip or deflate.
+ * Instances (deflater and output buffer) are pooled and reused, since requests may run on
+ * short-lived virtual threads where thread locals would be recreated for every request
+ */
+public final class ResponseCompressor {
+
+    private static final int MAX_POOLED = 64;
+    private static final int TRAILER_SIZE = 8;
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+    private static final byte[] ZLIB_HEADER = {0x78, (byte) 0x9c};
+
+    private static final Queue<ResponseCompressor> POOL = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger POOL_SIZE = new AtomicInteger();
+
+    private static final LongAdder COMPRESSED_RESPONSES = new LongAdder();
+    private static final LongAdder BYTES_BEFORE = new LongAdder();
+    private static final LongAdder BYTES_AFTER = new LongAdder();
+
+    private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+    private final CRC32 crc = new CRC32();
+    private final Adler32 adler = new Adler32();
+    private byte[] buffer = new byte[16 * 1024];
+    private int length;
+
+    private ResponseCompressor() {
+    }
+
+    /**
+     * Takes a compressor from the pool or creates a new one
+     * @return the compressor, which needs to be returned with {@link #release()}
+     */
+    public static ResponseCompressor acquire() {
+        ResponseCompressor compressor = POOL.poll();
+        if (compressor == null) return new ResponseCompressor();
+
+        POOL_SIZE.decrementAndGet();
+        return compressor;
+    }
+
+    /**
+     * Compresses the input into the internal buffer of this compressor
+     * @param input The buffer containing the uncompressed response body
+     * @param inputLength The length of the body inside the buffer
+     * @param encoding The encoding to use, either {@link ContentEncoding#GZIP} or {@link ContentEncoding#DEFLATE}
+     * @return the length of the compressed body
+     */
+    public int compress(byte[] input, int inputLength, ContentEncoding encoding) {
+        boolean gzip = encoding == ContentEncoding.GZIP;
+        byte[] header = gzip ? GZIP_HEADER : ZLIB_HEADER;
+
+        deflater.reset();
+        deflater.setInput(input, 0, inputLength);
+        deflater.finish();
+
+        System.arraycopy(header, 0, buffer, 0, header.length);
+        length = header.length;
+
+        while (!deflater.finished()) {
+            if (length == buffer.length) buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            length += deflater.deflate(buffer, length, buffer.length - length);
+        }
+
+        if (buffer.length - length < TRAILER_SIZE) buffer = Arrays.copyOf(buffer, length + TRAILER_SIZE);
+
+        if (gzip) {
+            crc.reset();
+            crc.update(input, 0, inputLength);
+            writeIntLE((int) crc.getValue());
+            writeIntLE(inputLength);
+        } else {
+            adler.reset();
+            adler.update(input, 0, inputLength);
+            writeIntBE((int) adler.getValue());
+        }
+
+        return length;
+    }
+
+    /**
+     * Writes the compressed body to the output stream
+     * @param outputStream The output stream of the response
+     * @throws IOException An exception that can occur while writing the body
+     */
+    public void writeTo(OutputStream outputStream) throws IOException {
+        outputStream.write(buffer, 0, length);
+    }
+
+    /**
+     * Records a sent compressed response in the compression counters
+     * @param uncompressed The size of the uncompressed body
+     * @param compressed The size of the compressed body
+     */
+    public static void record(long uncompressed, long compressed) {
+        COMPRESSED_RESPONSES.increment();
+        BYTES_BEFORE.add(uncompressed);
+        BYTES_AFTER.add(compressed);
+    }
+
+    /**
+     * Returns the compressor to the pool
+     */
+    public void release() {
+        if (buffer.length > 1024 * 1024) buffer = new byte[16 * 1024];
+
+        if (POOL_SIZE.incrementAndGet() <= MAX_POOLED) {
+            POOL.offer(this);
+        } else {
+            POOL_SIZE.decrementAndGet();
+            deflater.end();
+        }
+    }
+
+    /**
+     * Gets the amount of responses that have been sent compressed
+     * @return the amount of compressed responses
+     */
+    public static long getCompressedResponses() {
+        return COMPRESSED_RESPONSES.sum();
+    }
+
+    /**
+     * Gets the amount of bytes saved by compressing responses
+     * @return the amount of saved bytes
+     */
+    public static long getBytesSaved() {
+        return BYTES_BEFORE.sum() - BYTES_AFTER.sum();
+    }
+
+    /**
+     * Gets the total size of all compressed responses before compression
+     * @return the amount of uncompressed bytes
+     */
+    public static long getUncompressedBytes() {
+        return BYTES_BEFORE.sum();
+    }
+
+    private void writeIntLE(int value) {
+        buffer[length++] = (byte) value;
+        buffer[length++] = (byte) (value >> 8);
+        buffer[length++] = (byte) (value >> 16);
+        buffer[length++] = (byte) (value >> 24);
+    }
+
+    private void writeIntBE(int value) {
+        buffer[length++] = (byte) (value >> 24);
+        buffer[length++] = (byte) (value >> 16);
+        buffer[length++] = (byte) (value >> 8);
+        buffer[length++] = (byte) value;
+    }
+}
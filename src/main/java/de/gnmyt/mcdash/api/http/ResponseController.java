@@ -1,16 +1,33 @@
 package de.gnmyt.mcdash.api.http;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.sun.net.httpserver.HttpExchange;
+import de.gnmyt.mcdash.api.json.JsonFactoryHolder;
+import de.gnmyt.mcdash.api.json.JsonWriter;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
 
 public class ResponseController {
 
+    private static final int STREAM_BUFFER_LIMIT = 64 * 1024;
+
     private HttpExchange exchange;
     private Response response = new Response();
+    private int compressionThreshold = -1;
 
     /**
      * Basic constructor of the {@link ResponseController}
@@ -28,6 +45,30 @@ public class ResponseController {
         return exchange;
     }
 
+    /**
+     * Enables the compression of the response body if the client supports it
+     * @param threshold The minimum body size in bytes a response needs to get compressed
+     * @return the current {@link ResponseController} instance
+     */
+    public ResponseController compress(int threshold) {
+        this.compressionThreshold = threshold;
+        return this;
+    }
+
+    /**
+     * Answers the request with <code>304</code> if the client already has the provided version of the resource
+     * @param etag The entity tag of the current version of the resource
+     * @return <code>true</code> if the response has been sent, otherwise <code>false</code>
+     */
+    public boolean notModified(String etag) {
+        response.addHeader("ETag", etag).addHeader("Cache-Control", "private, no-cache");
+        if (!EntityTag.matches(exchange.getRequestHeaders().getFirst("If-None-Match"), etag)) return false;
+
+        code(304);
+        sendNotModified();
+        return true;
+    }
+
     /**
      * Writes a string to the output
      * @param output The output you want to add
@@ -89,22 +130,179 @@ public class ResponseController {
 
     /**
      * Sends a json response to the client
-     * @param values The values you want to send
+     * @param values The values you want to send, each in the format <code>key=value</code>
+     * @throws IllegalArgumentException if a value is not in the format <code>key=value</code>
      */
     public void json(String... values) {
-        response.setContentType(ContentType.JSON);
         StringBuilder json = new StringBuilder("{");
+        boolean first = true;
         for (String current : values) {
-            if (!json.toString().replace("{", "").isEmpty()) json.append(", ");
-            String key = current.split("=")[0];
-            String value = current.split("=")[1];
-            json.append("\"").append(key).append("\": ").append(value);
+            int separator = current.indexOf('=');
+            if (separator == -1) throw new IllegalArgumentException("The json value '" + current + "' has no key");
+            if (!first) json.append(", ");
+            json.append("\"").append(current, 0, separator).append("\": ").append(current, separator + 1, current.length());
+            first = false;
         }
         json.append("}");
+        response.setContentType(ContentType.JSON);
         writeToOutput(json.toString());
         send();
     }
 
+    /**
+     * Streams a json response to the client.
+     * Responses up to {@link #STREAM_BUFFER_LIMIT} (64 KiB) are buffered and sent like any other response,
+     * including the content based <code>ETag</code>. Larger responses are sent chunked while they are
+     * being written, so they only carry an <code>ETag</code> if the route provides a version
+     * @param writer The writer of the json value
+     */
+    public void json(JsonWriter writer) {
+        response.setContentType(ContentType.JSON);
+        StreamingBody body = new StreamingBody();
+
+        try (JsonGenerator generator = JsonFactoryHolder.getFactory().createGenerator(body)) {
+            writer.write(generator);
+        } catch (IOException e) {
+            if (!body.isCommitted()) {
+                code(500).writeToOutput("{\"message\": \"Could not write the response\"}");
+                send();
+            }
+            return;
+        }
+
+        body.finish();
+    }
+
+    /**
+     * Sends a file to the client without loading it into the memory.
+     * A single byte range (<code>Range</code>, optionally guarded by <code>If-Range</code>) is answered with
+     * <code>206</code>, so that interrupted downloads can be resumed. The file is never compressed
+     * @param file The file you want to send
+     * @throws IOException An exception that can occur while opening the file
+     */
+    public void file(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long length = channel.size();
+            long modified = file.lastModified();
+
+            String etag = EntityTag.fromFile(modified, length);
+            String lastModified = DateTimeFormatter.RFC_1123_DATE_TIME
+                    .format(Instant.ofEpochMilli(modified).atOffset(ZoneOffset.UTC));
+
+            response.addHeader("ETag", etag).addHeader("Last-Modified", lastModified)
+                    .addHeader("Accept-Ranges", "bytes");
+
+            if (EntityTag.matches(exchange.getRequestHeaders().getFirst("If-None-Match"), etag)) {
+                code(304);
+                sendNotModified();
+                return;
+            }
+
+            long start = 0;
+            long end = length - 1;
+
+            String range = exchange.getRequestHeaders().getFirst("Range");
+            if (range != null && isRangeValid(exchange.getRequestHeaders().getFirst("If-Range"), etag, lastModified)) {
+                long[] bounds = parseRange(range, length);
+
+                if (bounds != null && bounds.length == 0) {
+                    code(416).header("Content-Range", "bytes */" + length);
+                    prepareHeaders();
+                    exchange.getResponseHeaders().remove("Content-Type");
+                    exchange.sendResponseHeaders(416, -1);
+                    exchange.close();
+                    return;
+                }
+
+                if (bounds != null) {
+                    start = bounds[0];
+                    end = bounds[1];
+                    code(206).header("Content-Range", "bytes " + start + "-" + end + "/" + length);
+                }
+            }
+
+            long count = end - start + 1;
+
+            prepareHeaders();
+            exchange.sendResponseHeaders(response.getCode(), count > 0 ? count : -1);
+
+            if (count <= 0) {
+                exchange.close();
+                return;
+            }
+
+            try (OutputStream os = exchange.getResponseBody()) {
+                WritableByteChannel target = Channels.newChannel(os);
+                for (long position = start; position <= end; )
+                    position += channel.transferTo(position, end - position + 1, target);
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    /**
+     * Checks if the <code>Range</code> header should be applied.
+     * The range is ignored if the <code>If-Range</code> validator does not match the current file,
+     * in that case the client receives the whole new file
+     * @param ifRange The value of the <code>If-Range</code> header, can be <code>null</code>
+     * @param etag The strong entity tag of the file
+     * @param lastModified The formatted modification time of the file
+     * @return <code>true</code> if the range should be applied
+     */
+    private static boolean isRangeValid(String ifRange, String etag, String lastModified) {
+        if (ifRange == null) return true;
+        if (ifRange.startsWith("\"")) return ifRange.equals(etag);
+        return !ifRange.startsWith("W/") && ifRange.equals(lastModified);
+    }
+
+    /**
+     * Parses a single byte range (<code>bytes=0-499</code>, <code>bytes=500-</code> or <code>bytes=-500</code>)
+     * @param range The value of the <code>Range</code> header
+     * @param length The length of the file
+     * @return the first and last byte of the range, an empty array if the range can not be satisfied
+     * or <code>null</code> if the header is invalid or contains multiple ranges and should be ignored
+     */
+    private static long[] parseRange(String range, long length) {
+        if (!range.startsWith("bytes=") || range.indexOf(',') != -1) return null;
+
+        String spec = range.substring(6).trim();
+        int separator = spec.indexOf('-');
+        if (separator == -1) return null;
+
+        try {
+            String first = spec.substring(0, separator).trim();
+            String last = spec.substring(separator + 1).trim();
+
+            if (first.isEmpty()) {
+                long suffix = Long.parseLong(last);
+                if (suffix < 0) return null;
+                if (suffix == 0 || length == 0) return new long[0];
+                return new long[]{Math.max(0, length - suffix), length - 1};
+            }
+
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? Long.MAX_VALUE : Long.parseLong(last);
+            if (start < 0 || end < start) return null;
+            if (start >= length) return new long[0];
+
+            return new long[]{start, Math.min(end, length - 1)};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Sends the response headers and opens the body for a response of unknown length.
+     * The body is neither buffered nor compressed, every flush is sent to the client right away
+     * @return the stream of the response body, which needs to be closed once the response is complete
+     * @throws IOException An exception that can occur while sending the headers
+     */
+    public OutputStream stream() throws IOException {
+        prepareHeaders();
+        exchange.sendResponseHeaders(response.getCode(), 0);
+        return exchange.getResponseBody();
+    }
+
     /**
      * Sends a single json message to the client
      * @param key The name of the json response
@@ -135,7 +333,16 @@ public class ResponseController {
      * Sends the current response
      */
     public void send() {
-        OutputStream os = exchange.getResponseBody();
+        byte[] bs = response.getBinaryOutput() == null ? response.getOutput().getBytes(StandardCharsets.UTF_8)
+                : response.getBinaryOutput();
+
+        sendBody(bs, bs.length);
+    }
+
+    /**
+     * Adds the default headers and copies all response headers into the exchange
+     */
+    private void prepareHeaders() {
         response
                 .addHeader("Server", "DashboardWrapper")
                 .addHeader("Content-Type", response.getContentType().getType())
@@ -146,23 +353,214 @@ public class ResponseController {
                     .addHeader("Access-Control-Allow-Headers", "*");
 
         response.getHeaders().forEach((key, value) -> exchange.getResponseHeaders().put(key, Collections.singletonList(value)));
+    }
 
-        byte[] bs = response.getBinaryOutput() == null ? response.getOutput().getBytes(StandardCharsets.UTF_8)
-                : response.getBinaryOutput();
+    /**
+     * Sends the response headers and the body
+     * @param bs The buffer containing the uncompressed body
+     * @param length The length of the body inside the buffer
+     */
+    private void sendBody(byte[] bs, int length) {
+        if (isConditional()) {
+            String etag = response.getHeaders().computeIfAbsent("ETag", key -> EntityTag.fromContent(bs, length));
+            response.getHeaders().putIfAbsent("Cache-Control", "private, no-cache");
+
+            if (EntityTag.matches(exchange.getRequestHeaders().getFirst("If-None-Match"), etag)) {
+                code(304);
+                sendNotModified();
+                return;
+            }
+        }
+
+        prepareHeaders();
+
+        OutputStream os = exchange.getResponseBody();
+        ContentEncoding encoding = negotiateEncoding(length);
 
         try {
             if (exchange.getRequestMethod().equalsIgnoreCase("OPTIONS")) {
                 exchange.sendResponseHeaders(204, -1L);
+            } else if (encoding != null) {
+                sendCompressed(bs, length, encoding);
             } else {
-                exchange.sendResponseHeaders(response.getCode(), bs.length);
-                os.write(bs);
+                exchange.sendResponseHeaders(response.getCode(), length);
+                os.write(bs, 0, length);
             }
             os.close();
         } catch (IOException ignored) {
         }
     }
 
+    /**
+     * Checks if the response can be answered with <code>304</code>
+     * @return <code>true</code> if the response is a successful answer to a <code>GET</code> request
+     */
+    private boolean isConditional() {
+        return response.getCode() == 200 && exchange.getRequestMethod().equalsIgnoreCase("GET");
+    }
+
+    /**
+     * Sends a <code>304</code> response without a body
+     */
+    private void sendNotModified() {
+        prepareHeaders();
+        exchange.getResponseHeaders().remove("Content-Type");
+        if (compressionThreshold >= 0) exchange.getResponseHeaders().add("Vary", "Accept-Encoding");
+
+        try {
+            exchange.sendResponseHeaders(304, -1L);
+        } catch (IOException ignored) {
+        }
+        exchange.close();
+    }
+
+    /**
+     * Chooses the encoding of the response body
+     * @param length The length of the uncompressed body
+     * @return the encoding or <code>null</code> if the body should not be compressed
+     */
+    private ContentEncoding negotiateEncoding(int length) {
+        if (compressionThreshold < 0 || !response.getContentType().isCompressible()) return null;
+        if (exchange.getResponseHeaders().containsKey("Content-Encoding")) return null;
+
+        exchange.getResponseHeaders().add("Vary", "Accept-Encoding");
+
+        if (length < compressionThreshold || response.getCode() == 204 || response.getCode() == 304) return null;
+
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        if (ContentEncoding.GZIP.isAccepted(acceptEncoding)) return ContentEncoding.GZIP;
+        if (ContentEncoding.DEFLATE.isAccepted(acceptEncoding)) return ContentEncoding.DEFLATE;
+        return null;
+    }
+
+    /**
+     * Sends the body compressed with the provided encoding
+     * @param bs The buffer containing the uncompressed body
+     * @param length The length of the body inside the buffer
+     * @param encoding The encoding you want to use
+     * @throws IOException An exception that can occur while sending the body
+     */
+    private void sendCompressed(byte[] bs, int length, ContentEncoding encoding) throws IOException {
+        ResponseCompressor compressor = ResponseCompressor.acquire();
+        try {
+            int compressedLength = compressor.compress(bs, length, encoding);
+
+            if (compressedLength >= length) {
+                exchange.sendResponseHeaders(response.getCode(), length);
+                exchange.getResponseBody().write(bs, 0, length);
+                return;
+            }
+
+            exchange.getResponseHeaders().set("Content-Encoding", encoding.getName());
+            exchange.sendResponseHeaders(response.getCode(), compressedLength);
+            compressor.writeTo(exchange.getResponseBody());
+            ResponseCompressor.record(length, compressedLength);
+        } finally {
+            compressor.release();
+        }
+    }
+
     public Response getResponse() {
         return response;
     }
+
+    /**
+     * The output of a streamed response.
+     * Buffers the body until {@link #STREAM_BUFFER_LIMIT} is reached and then switches
+     * to a chunked response that writes directly into the exchange. A chunked response can not be tagged
+     * with a hash of its content, only the version tag set before the route was executed is sent
+     */
+    private class StreamingBody extends OutputStream {
+
+        private byte[] buffer = new byte[4096];
+        private int length;
+        private OutputStream target;
+
+        @Override
+        public void write(int b) throws IOException {
+            if (target != null) {
+                target.write(b);
+                return;
+            }
+            ensureCapacity(1);
+            if (target != null) target.write(b);
+            else buffer[length++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (target == null) ensureCapacity(len);
+
+            if (target != null) {
+                target.write(b, off, len);
+                return;
+            }
+            System.arraycopy(b, off, buffer, length, len);
+            length += len;
+        }
+
+        /**
+         * Makes sure the buffer can hold more bytes or commits the response if the limit is exceeded
+         * @param additional The amount of bytes that should be written
+         * @throws IOException An exception that can occur while committing the response
+         */
+        private void ensureCapacity(int additional) throws IOException {
+            if (length + additional <= buffer.length) return;
+
+            if (length + additional > STREAM_BUFFER_LIMIT) {
+                commit();
+                return;
+            }
+
+            buffer = Arrays.copyOf(buffer, Math.min(STREAM_BUFFER_LIMIT, Math.max(buffer.length * 2, length + additional)));
+        }
+
+        /**
+         * Sends the response headers for a chunked response and writes the buffered bytes
+         * @throws IOException An exception that can occur while sending the headers
+         */
+        private void commit() throws IOException {
+            prepareHeaders();
+
+            ContentEncoding encoding = negotiateEncoding(Integer.MAX_VALUE);
+            if (encoding != null) exchange.getResponseHeaders().set("Content-Encoding", encoding.getName());
+
+            exchange.sendResponseHeaders(response.getCode(), 0);
+
+            OutputStream os = exchange.getResponseBody();
+            if (encoding == ContentEncoding.GZIP) target = new GZIPOutputStream(os, 8192);
+            else if (encoding == ContentEncoding.DEFLATE) target = new DeflaterOutputStream(os);
+            else target = os;
+
+            target.write(buffer, 0, length);
+            buffer = null;
+        }
+
+        /**
+         * Checks if the response headers have already been sent
+         * @return <code>true</code> if the headers have been sent, otherwise <code>false</code>
+         */
+        boolean isCommitted() {
+            return target != null;
+        }
+
+        /**
+         * Completes the response, either by sending the buffered body or by closing the chunked stream
+         */
+        void finish() {
+            if (target == null) {
+                sendBody(buffer, length);
+                return;
+            }
+
+            try {
+                target.close();
+            } catch (IOException ignored) {
+            }
+        }
+
+        @Override
+        public void close() {
+        }
+    }
 }
@@ -0,0 +1,26 @@
+package de.gnmyt.mcdash.api.http;
+
+/**
+ * Thrown when the client sends more bytes for a resumable upload than it announced when starting it
+ */
+public class UploadSizeExceededException extends RuntimeException {
+
+    private final long size;
+
+    /**
+     * Basic constructor of the {@link UploadSizeExceededException}
+     * @param size The announced size of the upload in bytes
+     */
+    public UploadSizeExceededException(long size) {
+        super("The upload exceeds its announced size of " + size + " bytes");
+        this.size = size;
+    }
+
+    /**
+     * Gets the announced size of the upload
+     * @return the announced size in bytes
+     */
+    public long getSize() {
+        return size;
+    }
+}
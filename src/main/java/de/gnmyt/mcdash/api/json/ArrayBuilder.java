@@ -1,15 +1,16 @@
 package de.gnmyt.mcdash.api.json;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
-public class ArrayBuilder {
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
-    private ObjectMapper mapper = new ObjectMapper();
+public class ArrayBuilder implements JsonWriter {
 
-    private ArrayNode list = mapper.createArrayNode();
+    private final List<JsonWriter> entries = new ArrayList<>();
 
     /**
      * Starts a node builder
@@ -25,7 +26,7 @@ public class ArrayBuilder {
      * @return the current {@link ArrayBuilder} instance
      */
     public ArrayBuilder remove(int index) {
-        list.remove(index);
+        entries.remove(index);
         return this;
     }
 
@@ -35,16 +36,46 @@ public class ArrayBuilder {
      * @return the current {@link ArrayBuilder} instance
      */
     public ArrayBuilder add(ObjectNode node) {
-        list.add(node);
+        entries.add(generator -> generator.writeTree(node));
         return this;
     }
 
+    /**
+     * Adds a node builder to the array list
+     * @param node The node you want to add
+     * @return the current {@link ArrayBuilder} instance
+     */
+    public ArrayBuilder add(NodeBuilder node) {
+        entries.add(node);
+        return this;
+    }
+
+    /**
+     * Gets the amount of entries in the array list
+     * @return the amount of entries
+     */
+    public int size() {
+        return entries.size();
+    }
+
     /**
      * Gets the current object mapper
      * @return the current object mapper
      */
     public ObjectMapper getMapper() {
-        return mapper;
+        return JsonFactoryHolder.getMapper();
+    }
+
+    /**
+     * Writes the array to the provided generator
+     * @param generator The generator you want to write to
+     * @throws IOException An exception that can occur while writing the array
+     */
+    @Override
+    public void write(JsonGenerator generator) throws IOException {
+        generator.writeStartArray(this, entries.size());
+        for (JsonWriter entry : entries) entry.write(generator);
+        generator.writeEndArray();
     }
 
     /**
@@ -53,10 +84,10 @@ public class ArrayBuilder {
      */
     public String toJSON() {
         try {
-            return mapper.writer().writeValueAsString(list);
-        } catch (JsonProcessingException e) {
+            return JsonFactoryHolder.toString(this, false);
+        } catch (IOException e) {
             e.printStackTrace();
-            return "{}";
+            return "[]";
         }
     }
 
@@ -66,10 +97,10 @@ public class ArrayBuilder {
      */
     public String toPrettyJSON() {
         try {
-            return mapper.writerWithDefaultPrettyPrinter().writeValueAsString(list);
-        } catch (JsonProcessingException e) {
+            return JsonFactoryHolder.toString(this, true);
+        } catch (IOException e) {
             e.printStackTrace();
-            return "{\n}";
+            return "[\n]";
         }
     }
 
@@ -0,0 +1,54 @@
+package de.gnmyt.mcdash.api.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+/**
+ * Holds the json factory shared by all responses.
+ * Creating an {@link ObjectMapper} is expensive, so it is only done once
+ */
+public final class JsonFactoryHolder {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final JsonFactory FACTORY = MAPPER.getFactory();
+
+    private JsonFactoryHolder() {
+    }
+
+    /**
+     * Gets the shared object mapper
+     * @return the shared object mapper
+     */
+    public static ObjectMapper getMapper() {
+        return MAPPER;
+    }
+
+    /**
+     * Gets the shared json factory
+     * @return the shared json factory
+     */
+    public static JsonFactory getFactory() {
+        return FACTORY;
+    }
+
+    /**
+     * Writes a json value into a string
+     * @param writer The writer of the json value
+     * @param pretty <code>true</code> if the json should be pretty printed
+     * @return the json string
+     * @throws IOException An exception that can occur while writing the value
+     */
+    public static String toString(JsonWriter writer, boolean pretty) throws IOException {
+        StringWriter output = new StringWriter();
+        try (JsonGenerator generator = FACTORY.createGenerator(output)) {
+            if (pretty) generator.useDefaultPrettyPrinter();
+            writer.write(generator);
+        }
+        return output.toString();
+    }
+
+}
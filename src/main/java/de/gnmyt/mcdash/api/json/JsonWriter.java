@@ -0,0 +1,17 @@
+package de.gnmyt.mcdash.api.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
+@FunctionalInterface
+public interface JsonWriter {
+
+    /**
+     * Writes a json value using the provided generator
+     * @param generator The generator you want to write to
+     * @throws IOException An exception that can occur while writing the value
+     */
+    void write(JsonGenerator generator) throws IOException;
+
+}
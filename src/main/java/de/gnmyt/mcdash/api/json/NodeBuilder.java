@@ -1,14 +1,18 @@
 package de.gnmyt.mcdash.api.json;
 
-import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.util.Arrays;
 
-public class NodeBuilder {
+public class NodeBuilder implements JsonWriter {
 
-    private ArrayBuilder builder;
-    private ObjectNode node;
+    private final ArrayBuilder builder;
+
+    private Object[] entries = new Object[16];
+    private int size;
 
     /**
      * Basic constructor of the {@link NodeBuilder}
@@ -16,7 +20,6 @@ public class NodeBuilder {
      */
     public NodeBuilder(ArrayBuilder builder) {
         this.builder = builder;
-        node = builder.getMapper().createObjectNode();
     }
 
     /**
@@ -26,8 +29,7 @@ public class NodeBuilder {
      * @return the current {@link NodeBuilder} instance
      */
     public NodeBuilder add(String name, String value) {
-        node.put(name, value);
-        return this;
+        return put(name, value);
     }
 
     /**
@@ -37,8 +39,7 @@ public class NodeBuilder {
      * @return the current {@link NodeBuilder} instance
      */
     public NodeBuilder add(String name, Short value) {
-        node.put(name, value);
-        return this;
+        return put(name, value);
     }
 
     /**
@@ -48,8 +49,7 @@ public class NodeBuilder {
      * @return the current {@link NodeBuilder} instance
      */
     public NodeBuilder add(String name, Integer value) {
-        node.put(name, value);
-        return this;
+        return put(name, value);
     }
 
     /**
@@ -59,8 +59,7 @@ public class NodeBuilder {
      * @return the current {@link NodeBuilder} instance
      */
     public NodeBuilder add(String name, Long value) {
-        node.put(name, value);
-        return this;
+        return put(name, value);
     }
 
     /**
@@ -70,8 +69,7 @@ public class NodeBuilder {
      * @return the current {@link NodeBuilder} instance
      */
     public NodeBuilder add(String name, Float value) {
-        node.put(name, value);
-        return this;
+        return put(name, value);
     }
 
     /**
@@ -81,8 +79,7 @@ public class NodeBuilder {
      * @return the current {@link NodeBuilder} instance
      */
     public NodeBuilder add(String name, Double value) {
-        node.put(name, value);
-        return this;
+        return put(name, value);
     }
 
     /**
@@ -92,8 +89,7 @@ public class NodeBuilder {
      * @return the current {@link NodeBuilder} instance
      */
     public NodeBuilder add(String name, BigDecimal value) {
-        node.put(name, value);
-        return this;
+        return put(name, value);
     }
 
     /**
@@ -103,8 +99,7 @@ public class NodeBuilder {
      * @return the current {@link NodeBuilder} instance
      */
     public NodeBuilder add(String name, Boolean value) {
-        node.put(name, value);
-        return this;
+        return put(name, value);
     }
 
     /**
@@ -114,8 +109,7 @@ public class NodeBuilder {
      * @return the current {@link NodeBuilder} instance
      */
     public NodeBuilder add(String name, byte[] value) {
-        node.put(name, value);
-        return this;
+        return put(name, value);
     }
 
     /**
@@ -125,25 +119,84 @@ public class NodeBuilder {
      * @return the current {@link NodeBuilder} instance
      */
     public NodeBuilder add(String name, String[] value) {
-        ArrayNode array = builder.getMapper().createArrayNode();
-
-        for (String s : value) array.add(s);
-        node.set(name, array);
-        return this;
+        return put(name, value);
     }
 
     /**
      * Registers the current node entry
      */
     public void register() {
-        builder.add(node);
+        builder.add(this);
     }
 
     /**
-     * Gets the current node
+     * Gets the current node as a tree.
+     * The entries are only kept as a flat list, so the tree gets created on every call
      * @return the current node
      */
     public ObjectNode getNode() {
+        ObjectNode node = builder.getMapper().createObjectNode();
+        for (int i = 0; i < size; i += 2)
+            node.set((String) entries[i], builder.getMapper().valueToTree(entries[i + 1]));
         return node;
     }
+
+    /**
+     * Writes the node to the provided generator
+     * @param generator The generator you want to write to
+     * @throws IOException An exception that can occur while writing the node
+     */
+    @Override
+    public void write(JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        for (int i = 0; i < size; i += 2) {
+            generator.writeFieldName((String) entries[i]);
+            writeValue(generator, entries[i + 1]);
+        }
+        generator.writeEndObject();
+    }
+
+    /**
+     * Adds an entry to the flat entry list. An entry with the same name gets replaced and keeps its position,
+     * like in an {@link ObjectNode}, so that the node never contains a key twice
+     * @param name The name of the node entry
+     * @param value The value of the node entry
+     * @return the current {@link NodeBuilder} instance
+     */
+    private NodeBuilder put(String name, Object value) {
+        for (int i = 0; i < size; i += 2) {
+            if (entries[i].equals(name)) {
+                entries[i + 1] = value;
+                return this;
+            }
+        }
+
+        if (size + 2 > entries.length) entries = Arrays.copyOf(entries, entries.length * 2);
+        entries[size++] = name;
+        entries[size++] = value;
+        return this;
+    }
+
+    /**
+     * Writes a single value of the node
+     * @param generator The generator you want to write to
+     * @param value The value you want to write
+     * @throws IOException An exception that can occur while writing the value
+     */
+    private static void writeValue(JsonGenerator generator, Object value) throws IOException {
+        switch (value) {
+            case null -> generator.writeNull();
+            case String string -> generator.writeString(string);
+            case Integer number -> generator.writeNumber(number);
+            case Long number -> generator.writeNumber(number);
+            case Short number -> generator.writeNumber(number);
+            case Double number -> generator.writeNumber(number);
+            case Float number -> generator.writeNumber(number);
+            case BigDecimal number -> generator.writeNumber(number);
+            case Boolean bool -> generator.writeBoolean(bool);
+            case byte[] bytes -> generator.writeBinary(bytes);
+            case String[] strings -> generator.writeArray(strings, 0, strings.length);
+            default -> generator.writeObject(value);
+        }
+    }
 }
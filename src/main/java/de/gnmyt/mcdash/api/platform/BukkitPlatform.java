@@ -0,0 +1,358 @@
+package de.gnmyt.mcdash.api.platform;
+
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.bukkit.BanEntry;
+import org.bukkit.BanList;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.Statistic;
+import org.bukkit.World;
+import org.bukkit.command.CommandException;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * The {@link Platform} of a bukkit server
+ */
+public class BukkitPlatform implements Platform {
+
+    private static final int MAX_COMMAND_OUTPUT = 1000;
+
+    private final JavaPlugin plugin;
+    private final Statistic playStatistic;
+    private final Map<String, AtomicInteger> loadedChunks = new HashMap<>();
+    private final List<ChunkListener> chunkListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Basic constructor of the {@link BukkitPlatform}
+     * @param plugin The main instance of the plugin
+     */
+    public BukkitPlatform(JavaPlugin plugin) {
+        this.plugin = plugin;
+
+        Statistic statistic;
+        try {
+            statistic = Statistic.valueOf("PLAY_ONE_TICK"); // used below MC 1.15.2
+        } catch (IllegalArgumentException ignored) {
+            statistic = Statistic.valueOf("PLAY_ONE_MINUTE"); // MC 1.15.2 and above
+        }
+        playStatistic = statistic;
+
+        Bukkit.getPluginManager().registerEvents(new ChunkEventListener(loadedChunks, chunkListeners), plugin);
+    }
+
+    @Override
+    public String getName() {
+        return Bukkit.getName();
+    }
+
+    @Override
+    public String getVersion() {
+        return Bukkit.getBukkitVersion();
+    }
+
+    @Override
+    public String getIp() {
+        return Bukkit.getIp();
+    }
+
+    @Override
+    public int getPort() {
+        return Bukkit.getPort();
+    }
+
+    @Override
+    public String getMotd() {
+        return Bukkit.getMotd();
+    }
+
+    @Override
+    public int getMaxPlayers() {
+        return Bukkit.getMaxPlayers();
+    }
+
+    @Override
+    public boolean hasWhitelist() {
+        return Bukkit.hasWhitelist();
+    }
+
+    @Override
+    public int getOnlinePlayerCount() {
+        return Bukkit.getOnlinePlayers().size();
+    }
+
+    @Override
+    public List<PlayerInfo> getOnlinePlayers() {
+        List<PlayerInfo> players = new ArrayList<>();
+
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            players.add(new PlayerInfo(player.getUniqueId(), player.getName(), player.getStatistic(playStatistic),
+                    player.getWorld().getName(), player.getAddress().getHostString(), Math.round(player.getHealth()),
+                    player.getFoodLevel(), player.getGameMode().name(), player.isOp()));
+        }
+
+        return players;
+    }
+
+    @Override
+    public List<OfflinePlayerInfo> getBannedPlayers() {
+        List<OfflinePlayerInfo> players = new ArrayList<>();
+
+        for (OfflinePlayer player : Bukkit.getBannedPlayers()) {
+            BanEntry<?> entry = Bukkit.getBanList(BanList.Type.NAME).getBanEntry(player.getName());
+            players.add(new OfflinePlayerInfo(player.getUniqueId(), player.getName(),
+                    entry != null ? entry.getReason() : null, player.getLastPlayed()));
+        }
+
+        return players;
+    }
+
+    @Override
+    public List<OfflinePlayerInfo> getWhitelistedPlayers() {
+        List<OfflinePlayerInfo> players = new ArrayList<>();
+
+        for (OfflinePlayer player : Bukkit.getWhitelistedPlayers()) {
+            players.add(new OfflinePlayerInfo(player.getUniqueId(), player.getName(), null, player.getLastPlayed()));
+        }
+
+        return players;
+    }
+
+    @Override
+    public List<WorldInfo> getWorlds() {
+        List<WorldInfo> worlds = new ArrayList<>();
+
+        for (World world : Bukkit.getWorlds()) {
+            worlds.add(new WorldInfo(world.getName(), world.getEnvironment().name(), world.getSeed(),
+                    world.getDifficulty().name(), world.getTime(),
+                    world.isThundering() ? "thunder" : world.hasStorm() ? "rain" : "clear",
+                    world.getPlayers().size(), getLoadedChunks(world)));
+        }
+
+        return worlds;
+    }
+
+    /**
+     * Gets the amount of loaded chunks of a world from the counter that is maintained by the chunk events.
+     * The loaded chunks are only listed once per world to initialize the counter
+     * @param world The world you want to get the amount from
+     * @return the amount of loaded chunks
+     */
+    private int getLoadedChunks(World world) {
+        return loadedChunks.computeIfAbsent(world.getName(), name -> new AtomicInteger(world.getLoadedChunks().length))
+                .get();
+    }
+
+    @Override
+    public List<PluginInfo> getPlugins() {
+        List<PluginInfo> plugins = new ArrayList<>();
+
+        for (Plugin plugin : Bukkit.getPluginManager().getPlugins()) {
+            if (plugin.getClass().getProtectionDomain().getCodeSource() == null) continue;
+            String pluginJar = plugin.getClass().getProtectionDomain().getCodeSource().getLocation().getPath();
+            String pluginJarNoPath = pluginJar.substring(pluginJar.lastIndexOf(File.separator) + 1);
+
+            if (!new File("./plugins/" + pluginJarNoPath).exists()) continue;
+
+            plugins.add(new PluginInfo(plugin.getName(),
+                    plugin.getDescription().getAuthors().isEmpty() ? null : plugin.getDescription().getAuthors().get(0),
+                    plugin.getDescription().getDescription(), pluginJarNoPath, plugin.isEnabled(),
+                    plugin.getDescription().getVersion()));
+        }
+
+        return plugins;
+    }
+
+    @Override
+    public List<File> saveWorlds() {
+        List<File> folders = new ArrayList<>();
+
+        for (World world : Bukkit.getWorlds()) {
+            Bukkit.getScheduler().runTask(plugin, world::save);
+            folders.add(world.getWorldFolder());
+        }
+
+        return folders;
+    }
+
+    @Override
+    public CommandResult dispatchCommand(String command) {
+        List<String> output = Collections.synchronizedList(new ArrayList<>());
+        CommandSender sender = Bukkit.createCommandSender(message -> {
+            if (output.size() < MAX_COMMAND_OUTPUT) output.add(PlainTextComponentSerializer.plainText().serialize(message));
+        });
+
+        long start = System.nanoTime();
+        boolean success;
+        try {
+            success = Bukkit.dispatchCommand(sender, command);
+        } catch (CommandException e) {
+            output.add(e.getMessage());
+            success = false;
+        }
+        long duration = System.nanoTime() - start;
+
+        synchronized (output) {
+            return new CommandResult(command, success, List.copyOf(output), duration);
+        }
+    }
+
+    @Override
+    public File getDataFolder() {
+        return plugin.getDataFolder();
+    }
+
+    @Override
+    public Logger getLogger() {
+        return plugin.getLogger();
+    }
+
+    @Override
+    public <T> Future<T> callSync(Callable<T> task) {
+        return Bukkit.getScheduler().callSyncMethod(plugin, task);
+    }
+
+    @Override
+    public Task runSyncRepeating(Runnable task, long delay, long period) {
+        BukkitTask bukkitTask = Bukkit.getScheduler().runTaskTimer(plugin, task, delay, period);
+        return bukkitTask::cancel;
+    }
+
+    @Override
+    public void registerPlayerListener(PlayerListener listener) {
+        Bukkit.getPluginManager().registerEvents(new PlayerEventListener(listener), plugin);
+    }
+
+    @Override
+    public void registerChunkListener(ChunkListener listener) {
+        chunkListeners.add(listener);
+    }
+
+    @Override
+    public void disable() {
+        Bukkit.getPluginManager().disablePlugin(plugin);
+    }
+
+    /**
+     * Forwards the join and quit events of bukkit to a {@link PlayerListener}
+     */
+    public static class PlayerEventListener implements Listener {
+
+        private final PlayerListener listener;
+
+        /**
+         * Basic constructor of the {@link PlayerEventListener}
+         * @param listener The listener the events should be forwarded to
+         */
+        public PlayerEventListener(PlayerListener listener) {
+            this.listener = listener;
+        }
+
+        @EventHandler
+        public void onJoin(PlayerJoinEvent event) {
+            listener.onJoin(event.getPlayer().getUniqueId(), event.getPlayer().getName());
+        }
+
+        @EventHandler
+        public void onQuit(PlayerQuitEvent event) {
+            listener.onQuit(event.getPlayer().getUniqueId(), event.getPlayer().getName());
+        }
+    }
+
+    /**
+     * Counts the loaded chunks of every world and forwards chunk loads to the {@link ChunkListener}s.
+     * Generated chunks are attributed to the player nearest to them
+     */
+    public static class ChunkEventListener implements Listener {
+
+        private final Map<String, AtomicInteger> loadedChunks;
+        private final List<ChunkListener> listeners;
+        private final Location location = new Location(null, 0, 0, 0);
+
+        /**
+         * Basic constructor of the {@link ChunkEventListener}
+         * @param loadedChunks The counters of the loaded chunks by the name of their world
+         * @param listeners The listeners the chunk loads should be forwarded to
+         */
+        public ChunkEventListener(Map<String, AtomicInteger> loadedChunks, List<ChunkListener> listeners) {
+            this.loadedChunks = loadedChunks;
+            this.listeners = listeners;
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onLoad(ChunkLoadEvent event) {
+            String world = event.getWorld().getName();
+
+            AtomicInteger counter = loadedChunks.get(world);
+            if (counter != null) counter.incrementAndGet();
+
+            if (listeners.isEmpty()) return;
+
+            Player player = event.isNewChunk() ? getNearestPlayer(event.getChunk()) : null;
+            for (ChunkListener listener : listeners) {
+                listener.onChunkLoad(world, event.isNewChunk(), player != null ? player.getUniqueId() : null,
+                        player != null ? player.getName() : null);
+            }
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onUnload(ChunkUnloadEvent event) {
+            AtomicInteger counter = loadedChunks.get(event.getWorld().getName());
+            if (counter != null) counter.decrementAndGet();
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+        public void onWorldUnload(WorldUnloadEvent event) {
+            loadedChunks.remove(event.getWorld().getName());
+        }
+
+        /**
+         * Gets the player nearest to the center of a chunk
+         * @param chunk The chunk you want to get the nearest player of
+         * @return the nearest player or <code>null</code> if no player is in the world of the chunk
+         */
+        private Player getNearestPlayer(Chunk chunk) {
+            double centerX = (chunk.getX() << 4) + 8;
+            double centerZ = (chunk.getZ() << 4) + 8;
+
+            Player nearest = null;
+            double nearestDistance = Double.MAX_VALUE;
+            for (Player player : chunk.getWorld().getPlayers()) {
+                player.getLocation(location);
+                double distance = (location.getX() - centerX) * (location.getX() - centerX)
+                        + (location.getZ() - centerZ) * (location.getZ() - centerZ);
+                if (distance < nearestDistance) {
+                    nearest = player;
+                    nearestDistance = distance;
+                }
+            }
+            return nearest;
+        }
+    }
+
+}
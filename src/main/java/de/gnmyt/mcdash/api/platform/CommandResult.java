@@ -0,0 +1,13 @@
+package de.gnmyt.mcdash.api.platform;
+
+import java.util.List;
+
+/**
+ * The result of a command executed as the console
+ * @param command The command that has been executed
+ * @param success Has the command been found and executed successfully?
+ * @param output The messages the command sent to its sender, without formatting
+ * @param duration The time the command took on the main thread in nanoseconds
+ */
+public record CommandResult(String command, boolean success, List<String> output, long duration) {
+}
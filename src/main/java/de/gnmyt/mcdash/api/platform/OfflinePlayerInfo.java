@@ -0,0 +1,13 @@
+package de.gnmyt.mcdash.api.platform;
+
+import java.util.UUID;
+
+/**
+ * A player that is listed on the server without being online, e.g. on the ban list or the whitelist
+ * @param uuid The uuid of the player
+ * @param name The name of the player
+ * @param reason The reason of the ban or <code>null</code> if the player is not banned
+ * @param lastSeen The time the player was last seen in milliseconds
+ */
+public record OfflinePlayerInfo(UUID uuid, String name, String reason, long lastSeen) {
+}
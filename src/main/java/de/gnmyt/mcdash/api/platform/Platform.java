@@ -0,0 +1,202 @@
+package de.gnmyt.mcdash.api.platform;
+
+import java.io.File;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+
+/**
+ * The server the dashboard runs on. The web server, the statistics and the read routes only talk to the server
+ * through this interface, so that they can also run without a minecraft server (e.g. for load tests)
+ */
+public interface Platform {
+
+    /**
+     * Gets the name of the server software
+     * @return the name of the server software
+     */
+    String getName();
+
+    /**
+     * Gets the version of the server software
+     * @return the version of the server software
+     */
+    String getVersion();
+
+    /**
+     * Gets the ip the server is bound to
+     * @return the ip of the server or an empty string if it is bound to all interfaces
+     */
+    String getIp();
+
+    /**
+     * Gets the port of the minecraft server
+     * @return the port of the minecraft server
+     */
+    int getPort();
+
+    /**
+     * Gets the message of the day
+     * @return the message of the day
+     */
+    String getMotd();
+
+    /**
+     * Gets the maximum amount of players
+     * @return the maximum amount of players
+     */
+    int getMaxPlayers();
+
+    /**
+     * Checks if the whitelist is enabled
+     * @return <code>true</code> if the whitelist is enabled, otherwise <code>false</code>
+     */
+    boolean hasWhitelist();
+
+    /**
+     * Gets the amount of online players
+     * @return the amount of online players
+     */
+    int getOnlinePlayerCount();
+
+    /**
+     * Gets all online players
+     * @return the online players
+     */
+    List<PlayerInfo> getOnlinePlayers();
+
+    /**
+     * Gets all banned players
+     * @return the banned players
+     */
+    List<OfflinePlayerInfo> getBannedPlayers();
+
+    /**
+     * Gets all whitelisted players
+     * @return the whitelisted players
+     */
+    List<OfflinePlayerInfo> getWhitelistedPlayers();
+
+    /**
+     * Gets all loaded worlds
+     * @return the loaded worlds
+     */
+    List<WorldInfo> getWorlds();
+
+    /**
+     * Gets all plugins that have been installed from the plugins folder
+     * @return the installed plugins
+     */
+    List<PluginInfo> getPlugins();
+
+    /**
+     * Saves all loaded worlds on the main thread
+     * @return the folders of the worlds
+     */
+    List<File> saveWorlds();
+
+    /**
+     * Executes a command with the permissions of the console and captures the messages it sends.
+     * Must be called on the main thread. Messages a command sends after it returned (e.g. from an
+     * asynchronous task) are not part of the result
+     * @param command The command without the leading slash
+     * @return the result of the command
+     */
+    CommandResult dispatchCommand(String command);
+
+    /**
+     * Gets the folder the dashboard stores its data in
+     * @return the data folder
+     */
+    File getDataFolder();
+
+    /**
+     * Gets the logger of the dashboard
+     * @return the logger
+     */
+    Logger getLogger();
+
+    /**
+     * Calls a task on the main thread of the server
+     * @param task The task you want to call
+     * @return the future of the task
+     * @param <T> The type of the result
+     */
+    <T> Future<T> callSync(Callable<T> task);
+
+    /**
+     * Runs a task repeatedly on the main thread of the server
+     * @param task The task you want to run
+     * @param delay The delay in ticks before the first run
+     * @param period The period in ticks between two runs
+     * @return the scheduled task
+     */
+    Task runSyncRepeating(Runnable task, long delay, long period);
+
+    /**
+     * Registers a listener that gets notified when players join or quit
+     * @param listener The listener you want to register
+     */
+    void registerPlayerListener(PlayerListener listener);
+
+    /**
+     * Registers a listener that gets notified when chunks are loaded or generated
+     * @param listener The listener you want to register
+     */
+    void registerChunkListener(ChunkListener listener);
+
+    /**
+     * Disables the dashboard
+     */
+    void disable();
+
+    /**
+     * A task that has been scheduled on the main thread
+     */
+    interface Task {
+
+        /**
+         * Cancels the task
+         */
+        void cancel();
+    }
+
+    /**
+     * Gets notified when players join or quit the server
+     */
+    interface PlayerListener {
+
+        /**
+         * Called when a player joined the server
+         * @param uuid The uuid of the player
+         * @param name The name of the player
+         */
+        void onJoin(UUID uuid, String name);
+
+        /**
+         * Called when a player quit the server
+         * @param uuid The uuid of the player
+         * @param name The name of the player
+         */
+        void onQuit(UUID uuid, String name);
+    }
+
+    /**
+     * Gets notified on the main thread when chunks are loaded
+     */
+    interface ChunkListener {
+
+        /**
+         * Called when a chunk has been loaded from the disk or generated
+         * @param world The name of the world of the chunk
+         * @param generated Has the chunk been generated for the first time?
+         * @param player The uuid of the player nearest to a generated chunk or <code>null</code>
+         *               if the chunk has only been loaded or no player is in the world
+         * @param playerName The name of the nearest player or <code>null</code>
+         */
+        void onChunkLoad(String world, boolean generated, UUID player, String playerName);
+    }
+
+}
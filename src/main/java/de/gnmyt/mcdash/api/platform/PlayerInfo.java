@@ -0,0 +1,19 @@
+package de.gnmyt.mcdash.api.platform;
+
+import java.util.UUID;
+
+/**
+ * An online player
+ * @param uuid The uuid of the player
+ * @param name The name of the player
+ * @param playTime The play time of the player in ticks
+ * @param world The name of the world the player is in
+ * @param address The host name of the player
+ * @param health The health of the player
+ * @param foodLevel The food level of the player
+ * @param gameMode The name of the game mode of the player
+ * @param op Is the player an operator?
+ */
+public record PlayerInfo(UUID uuid, String name, long playTime, String world, String address, long health,
+                         long foodLevel, String gameMode, boolean op) {
+}
@@ -0,0 +1,14 @@
+package de.gnmyt.mcdash.api.platform;
+
+/**
+ * A plugin installed from the plugins folder
+ * @param name The name of the plugin
+ * @param author The first author of the plugin or <code>null</code> if no author is set
+ * @param description The description of the plugin
+ * @param path The file name of the plugin jar
+ * @param enabled Is the plugin enabled?
+ * @param version The version of the plugin
+ */
+public record PluginInfo(String name, String author, String description, String path, boolean enabled,
+                         String version) {
+}
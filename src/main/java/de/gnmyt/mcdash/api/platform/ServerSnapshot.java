@@ -0,0 +1,31 @@
+package de.gnmyt.mcdash.api.platform;
+
+import java.util.List;
+
+/**
+ * The state of the server at a single tick. Snapshots are immutable, so that the threads of the web server
+ * can read them without touching the main thread
+ * @param capturedAt The time the snapshot was captured in milliseconds
+ * @param maxPlayers The maximum amount of players
+ * @param whitelist Is the whitelist enabled?
+ * @param players The online players
+ * @param worlds The loaded worlds
+ * @param bannedPlayers The banned players
+ * @param whitelistedPlayers The whitelisted players
+ * @param plugins The plugins installed from the plugins folder
+ * @param pluginVersion The {@link de.gnmyt.mcdash.api.http.ResourceVersion#PLUGINS} version of the plugin list
+ * @param bannedVersion The version of the ban list, changes whenever its content changes
+ * @param whitelistVersion The version of the whitelist, changes whenever its content changes
+ */
+public record ServerSnapshot(long capturedAt, int maxPlayers, boolean whitelist, List<PlayerInfo> players,
+                             List<WorldInfo> worlds, List<OfflinePlayerInfo> bannedPlayers,
+                             List<OfflinePlayerInfo> whitelistedPlayers, List<PluginInfo> plugins,
+                             long pluginVersion, long bannedVersion, long whitelistVersion) {
+
+    /**
+     * The snapshot that is used until the first one has been captured
+     */
+    public static final ServerSnapshot EMPTY = new ServerSnapshot(0, 0, false, List.of(), List.of(), List.of(),
+            List.of(), List.of(), -1, -1, -1);
+
+}
@@ -0,0 +1,16 @@
+package de.gnmyt.mcdash.api.platform;
+
+/**
+ * A loaded world
+ * @param name The name of the world
+ * @param environment The name of the environment of the world
+ * @param seed The seed of the world
+ * @param difficulty The name of the difficulty of the world
+ * @param time The time of the world in ticks
+ * @param weather The weather of the world (<code>clear</code>, <code>rain</code> or <code>thunder</code>)
+ * @param players The amount of players in the world
+ * @param chunks The amount of loaded chunks of the world
+ */
+public record WorldInfo(String name, String environment, long seed, String difficulty, long time, String weather,
+                        int players, int chunks) {
+}
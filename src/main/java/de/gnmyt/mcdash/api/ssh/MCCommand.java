@@ -1,18 +1,22 @@
 package de.gnmyt.mcdash.api.ssh;
 
 import de.gnmyt.mcdash.MinecraftDashboard;
+import de.gnmyt.mcdash.api.entities.TaskPriority;
+import de.gnmyt.mcdash.api.platform.CommandResult;
+import de.gnmyt.mcdash.api.platform.Platform;
 import org.apache.commons.io.FileUtils;
 import org.apache.sshd.server.Environment;
 import org.apache.sshd.server.ExitCallback;
 import org.apache.sshd.server.channel.ChannelSession;
 import org.apache.sshd.server.command.Command;
-import org.bukkit.Bukkit;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
 
 public class MCCommand implements Command {
 
@@ -115,12 +119,34 @@ public class MCCommand implements Command {
     }
 
     /**
-     * Executes the given command
+     * Executes the given command and writes its output to the ssh client
      * @param commandString The command that should be executed
+     * @throws IOException Will be thrown if the output could not be written
+     * @throws InterruptedException Will be thrown if the session gets closed while waiting for the command
      */
-    private void executeCommand(String commandString) {
-        Bukkit.getScheduler().runTask(MinecraftDashboard.getInstance(),
-                () -> Bukkit.dispatchCommand(Bukkit.getConsoleSender(), commandString));
+    private void executeCommand(String commandString) throws IOException, InterruptedException {
+        if (commandString.isBlank()) return;
+
+        Platform platform = MinecraftDashboard.getPlatform();
+        long timeout = MinecraftDashboard.getDashboardConfig().getMainThreadTimeout();
+
+        platform.getLogger().warning("Executing command \"" + commandString + "\" (ssh)..");
+        out.write('\n');
+        out.flush();
+
+        CommandResult result;
+        try {
+            result = MinecraftDashboard.getMainThreadQueue().submit(TaskPriority.HIGH, null, timeout,
+                    () -> platform.dispatchCommand(commandString)).await(timeout);
+        } catch (ExecutionException | TimeoutException e) {
+            out.write(("Could not execute the command: " + (e instanceof TimeoutException ? "the server is too busy"
+                    : e.getCause().getMessage()) + "\r\n").getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            return;
+        }
+
+        for (String line : result.output()) out.write((line + "\r\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
     }
 
     /**
@@ -0,0 +1,344 @@
+package de.gnmyt.mcdash.api.tasks;
+
+import de.gnmyt.mcdash.api.controller.MetricsController;
+import de.gnmyt.mcdash.api.entities.TaskPriority;
+import de.gnmyt.mcdash.api.platform.Platform;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs the actions of the dashboard on the main thread of the server. The queue is drained once per tick
+ * until the time budget is used up, the remaining actions wait for the next tick. Actions of a higher
+ * {@link TaskPriority} run first, actions with the same key are coalesced into one.
+ * Actions submitted with a timeout are dropped if they could not start before their deadline
+ */
+public class MainThreadQueue implements Runnable {
+
+    private final Platform platform;
+    private final MetricsController metrics;
+    private final long budget;
+
+    private final Queue<Action<?>>[] queues;
+    private final Map<String, Action<?>> pending = new ConcurrentHashMap<>();
+    private final AtomicInteger depth = new AtomicInteger();
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+
+    private volatile long lastUsage;
+    private volatile long totalUsage;
+    private volatile long overruns;
+    private Platform.Task task;
+
+    /**
+     * Basic constructor of the {@link MainThreadQueue}
+     * @param platform The platform whose main thread runs the actions
+     * @param metrics The metrics controller the waiting time of the actions is recorded in
+     * @param budget The time the actions may take per tick in nanoseconds
+     */
+    @SuppressWarnings("unchecked")
+    public MainThreadQueue(Platform platform, MetricsController metrics, long budget) {
+        this.platform = platform;
+        this.metrics = metrics;
+        this.budget = budget;
+
+        queues = new Queue[TaskPriority.values().length];
+        for (int i = 0; i < queues.length; i++) queues[i] = new ConcurrentLinkedQueue<>();
+    }
+
+    /**
+     * Starts draining the queue every tick
+     */
+    public synchronized void start() {
+        if (task == null) task = platform.runSyncRepeating(this, 1, 1);
+    }
+
+    /**
+     * Stops draining the queue and cancels the actions that have not run yet
+     */
+    public synchronized void stop() {
+        if (task != null) task.cancel();
+        task = null;
+
+        for (Queue<Action<?>> queue : queues) {
+            Action<?> action;
+            while ((action = queue.poll()) != null) {
+                depth.decrementAndGet();
+                if (action.key != null) pending.remove(action.key, action);
+                action.future.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Submits an action to the main thread without a deadline
+     * @param priority The priority of the action
+     * @param key The key the action is coalesced by or <code>null</code> if it should always run
+     * @param task The task that should run on the main thread
+     * @param <T> The result type of the task
+     * @return the future that completes with the result of the task
+     * @see #submit(TaskPriority, String, long, Callable)
+     */
+    public <T> ActionFuture<T> submit(TaskPriority priority, String key, Callable<T> task) {
+        return submit(priority, key, 0, task);
+    }
+
+    /**
+     * Submits an action to the main thread.
+     * If an action with the same key is still waiting, its task gets replaced with the new one and both
+     * callers receive the same future. Actions sharing a key must therefore perform the same operation,
+     * e.g. <code>op:&lt;uuid&gt;:true</code> and <code>op:&lt;uuid&gt;:false</code> instead of a shared <code>op:&lt;uuid&gt;</code>.
+     * If the action could not start within the timeout, e.g. because the server is lagging, it is dropped
+     * and the future completes with a {@link TimeoutException}
+     * @param priority The priority of the action
+     * @param key The key the action is coalesced by or <code>null</code> if it should always run
+     * @param timeout The time in milliseconds the action may wait for the main thread or <code>0</code> to wait forever
+     * @param task The task that should run on the main thread
+     * @param <T> The result type of the task
+     * @return the future that completes with the result of the task or the exception it has thrown
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ActionFuture<T> submit(TaskPriority priority, String key, long timeout, Callable<T> task) {
+        long deadline = timeout > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout) : 0;
+
+        if (key == null) {
+            Action<T> action = new Action<>(null, task, deadline);
+            enqueue(priority, action);
+            return action.future;
+        }
+
+        Action<T> created = new Action<>(key, task, deadline);
+        Action<?> action = pending.compute(key, (k, existing) -> {
+            if (existing == null) return created;
+            ((Action<T>) existing).task = task;
+            existing.extendDeadline(deadline);
+            return existing;
+        });
+
+        if (action != created) {
+            coalesced.increment();
+            return (ActionFuture<T>) action.future;
+        }
+
+        enqueue(priority, created);
+        return created.future;
+    }
+
+    /**
+     * Runs the waiting actions until the budget of the tick is used up. At least one action runs in every tick,
+     * so that the queue keeps moving even if a single action takes longer than the whole budget
+     */
+    @Override
+    public void run() {
+        long start = System.nanoTime();
+        long deadline = start + budget;
+        boolean ran = false;
+
+        for (Queue<Action<?>> queue : queues) {
+            Action<?> action;
+            while ((!ran || System.nanoTime() < deadline) && (action = queue.poll()) != null) {
+                depth.decrementAndGet();
+                if (action.run()) {
+                    executed.increment();
+                    ran = true;
+                }
+            }
+        }
+
+        long usage = System.nanoTime() - start;
+        lastUsage = usage;
+        totalUsage += usage;
+        if (usage > budget) overruns++;
+    }
+
+    /**
+     * Gets the amount of actions waiting for the main thread
+     * @return the queue depth
+     */
+    public int getQueueDepth() {
+        return depth.get();
+    }
+
+    /**
+     * Gets the time the actions may take per tick
+     * @return the budget in nanoseconds
+     */
+    public long getBudget() {
+        return budget;
+    }
+
+    /**
+     * Gets the time the actions took in the last tick
+     * @return the used time in nanoseconds
+     */
+    public long getLastUsage() {
+        return lastUsage;
+    }
+
+    /**
+     * Gets the share of the budget the actions used in the last tick
+     * @return the used share, above 1 if the budget has been exceeded
+     */
+    public double getBudgetUsage() {
+        return (double) lastUsage / budget;
+    }
+
+    /**
+     * Gets the time the actions took on the main thread since the start
+     * @return the used time in nanoseconds
+     */
+    public long getTotalUsage() {
+        return totalUsage;
+    }
+
+    /**
+     * Gets the amount of ticks in which the actions took longer than the budget
+     * @return the amount of exceeded ticks
+     */
+    public long getOverruns() {
+        return overruns;
+    }
+
+    /**
+     * Gets the amount of actions that have run
+     * @return the amount of executed actions
+     */
+    public long getExecutedActions() {
+        return executed.sum();
+    }
+
+    /**
+     * Gets the amount of actions that have been dropped because they could not start before their deadline
+     * @return the amount of expired actions
+     */
+    public long getExpiredActions() {
+        return expired.sum();
+    }
+
+    /**
+     * Gets the amount of actions that have been merged into a waiting action with the same key
+     * @return the amount of coalesced actions
+     */
+    public long getCoalescedActions() {
+        return coalesced.sum();
+    }
+
+    /**
+     * Adds an action to the queue of its priority
+     * @param priority The priority of the action
+     * @param action The action you want to add
+     */
+    private void enqueue(TaskPriority priority, Action<?> action) {
+        depth.incrementAndGet();
+        queues[priority.ordinal()].add(action);
+    }
+
+    /**
+     * An action waiting for the main thread
+     * @param <T> The result type of the task
+     */
+    private class Action<T> {
+
+        private final String key;
+        private final ActionFuture<T> future = new ActionFuture<>();
+        private final long enqueued = System.nanoTime();
+        private volatile Callable<T> task;
+        private volatile long deadline;
+
+        /**
+         * Basic constructor of the {@link Action}
+         * @param key The key the action is coalesced by or <code>null</code>
+         * @param task The task that should run
+         * @param deadline The time in nanoseconds the action has to start before or <code>0</code> if it has none
+         */
+        Action(String key, Callable<T> task, long deadline) {
+            this.key = key;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Extends the deadline of the action for a caller that has been merged into it.
+         * Only called while holding the pending entry of the key
+         * @param deadline The deadline of the merged caller or <code>0</code> if it has none
+         */
+        void extendDeadline(long deadline) {
+            if (this.deadline != 0 && (deadline == 0 || deadline - this.deadline > 0)) this.deadline = deadline;
+        }
+
+        /**
+         * Runs the task and completes the future. The action is removed from the pending actions first,
+         * so that actions submitted from now on are queued again instead of being merged into this one.
+         * Actions whose future is already done (e.g. cancelled) or whose deadline has passed are skipped
+         * @return <code>true</code> if the task has run, otherwise <code>false</code>
+         */
+        boolean run() {
+            if (key != null) pending.remove(key, this);
+
+            long now = System.nanoTime();
+            if (future.isDone()) return false;
+            if (deadline != 0 && now - deadline > 0) {
+                expired.increment();
+                future.completeExceptionally(new TimeoutException("The action could not start within its deadline"));
+                return false;
+            }
+
+            metrics.recordMainThreadWait(now - enqueued);
+            future.started = true;
+
+            try {
+                future.complete(task.call());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * The future of an action, which also tells if the action has already started on the main thread
+     * @param <T> The result type of the task
+     */
+    public static class ActionFuture<T> extends CompletableFuture<T> {
+
+        private volatile boolean started;
+
+        /**
+         * Checks if the task of the action has started running on the main thread
+         * @return <code>true</code> if the task has started, otherwise <code>false</code>
+         */
+        public boolean isStarted() {
+            return started;
+        }
+
+        /**
+         * Waits for the result of the action. The timeout only limits the time the action may wait for the
+         * main thread: once the task has started, its result is awaited no matter how long it runs, so that
+         * work which actually ran is never reported as timed out
+         * @param timeout The time in milliseconds to wait for the action to start
+         * @return the result of the task
+         * @throws InterruptedException if the current thread has been interrupted while waiting
+         * @throws ExecutionException if the task has thrown an exception or expired in the queue
+         * @throws TimeoutException if the task has not started within the timeout
+         */
+        public T await(long timeout) throws InterruptedException, ExecutionException, TimeoutException {
+            try {
+                return get(timeout, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (!started) throw e;
+                return get();
+            }
+        }
+    }
+
+}
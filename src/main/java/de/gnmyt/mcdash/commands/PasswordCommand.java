@@ -1,5 +1,6 @@
 package de.gnmyt.mcdash.commands;
 
+import de.gnmyt.mcdash.MinecraftDashboard;
 import de.gnmyt.mcdash.api.config.AccountManager;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
@@ -26,6 +27,7 @@ public class PasswordCommand implements CommandExecutor {
 
         if (args.length == 1) {
             accountManager.register(sender.getName(), args[0]);
+            MinecraftDashboard.getSessionController().revokeSessions(sender.getName());
             sender.sendMessage("§aYour password has been changed successfully");
         } else {
             sender.sendMessage("§cPlease use /panel <new-password>");
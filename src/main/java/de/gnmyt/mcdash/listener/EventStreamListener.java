@@ -0,0 +1,49 @@
+package de.gnmyt.mcdash.listener;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import de.gnmyt.mcdash.api.controller.EventController;
+import de.gnmyt.mcdash.api.entities.EventTopic;
+
+public class EventStreamListener implements Listener {
+
+    private final EventController events;
+
+    /**
+     * Basic constructor of the {@link EventStreamListener}
+     * @param events The controller the player events get published to
+     */
+    public EventStreamListener(EventController events) {
+        this.events = events;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent e) {
+        publish("join", e.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent e) {
+        publish("quit", e.getPlayer());
+    }
+
+    /**
+     * Publishes a player event
+     * @param type The type of the event
+     * @param player The player that joined or left
+     */
+    private void publish(String type, Player player) {
+        events.publish(EventTopic.PLAYERS, generator -> {
+            generator.writeStartObject();
+            generator.writeStringField("type", type);
+            generator.writeStringField("uuid", player.getUniqueId().toString());
+            generator.writeStringField("name", player.getName());
+            generator.writeEndObject();
+        });
+    }
+}
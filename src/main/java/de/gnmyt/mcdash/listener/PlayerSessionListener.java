@@ -1,15 +1,12 @@
 package de.gnmyt.mcdash.listener;
 
 import java.time.Instant;
+import java.util.UUID;
 
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
-import org.bukkit.event.player.PlayerJoinEvent;
-import org.bukkit.event.player.PlayerQuitEvent;
-
+import de.gnmyt.mcdash.api.platform.Platform;
 import de.gnmyt.mcdash.stats.StatsService;
 
-public class PlayerSessionListener implements Listener {
+public class PlayerSessionListener implements Platform.PlayerListener {
 
     private final StatsService stats;
     private final String serverId;
@@ -19,15 +16,13 @@ public class PlayerSessionListener implements Listener {
         this.serverId = serverId;
     }
 
-    @EventHandler
-    public void onJoin(PlayerJoinEvent e) {
-        var p = e.getPlayer();
-        stats.logJoin(p.getUniqueId(), p.getName(), serverId, Instant.now());
+    @Override
+    public void onJoin(UUID uuid, String name) {
+        stats.logJoin(uuid, name, serverId, Instant.now());
     }
 
-    @EventHandler
-    public void onQuit(PlayerQuitEvent e) {
-        var p = e.getPlayer();
-        stats.logQuit(p.getUniqueId(), p.getName(), serverId, Instant.now());
+    @Override
+    public void onQuit(UUID uuid, String name) {
+        stats.logQuit(uuid, name, serverId, Instant.now());
     }
-}
\ No newline at end of file
+}
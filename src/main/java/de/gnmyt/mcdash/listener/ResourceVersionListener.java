@@ -0,0 +1,22 @@
+package de.gnmyt.mcdash.listener;
+
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.event.server.PluginEnableEvent;
+
+import de.gnmyt.mcdash.api.http.ResourceVersion;
+
+public class ResourceVersionListener implements Listener {
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPluginEnable(PluginEnableEvent e) {
+        ResourceVersion.PLUGINS.increment();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPluginDisable(PluginDisableEvent e) {
+        ResourceVersion.PLUGINS.increment();
+    }
+}
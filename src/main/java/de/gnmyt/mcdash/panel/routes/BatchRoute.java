@@ -0,0 +1,263 @@
+package de.gnmyt.mcdash.panel.routes;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.net.httpserver.Headers;
+import de.gnmyt.mcdash.MinecraftDashboard;
+import de.gnmyt.mcdash.api.handler.BatchExchange;
+import de.gnmyt.mcdash.api.handler.DefaultHandler;
+import de.gnmyt.mcdash.api.handler.Router;
+import de.gnmyt.mcdash.api.http.HTTPMethod;
+import de.gnmyt.mcdash.api.http.RateLimitClass;
+import de.gnmyt.mcdash.api.http.Request;
+import de.gnmyt.mcdash.api.http.ResponseController;
+import de.gnmyt.mcdash.api.json.JsonFactoryHolder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class BatchRoute extends DefaultHandler {
+
+    private static final int MAX_REQUESTS = 20;
+    private static final int MAX_RESPONSE_SIZE = 4 * 1024 * 1024;
+    private static final List<String> FORWARDED_HEADERS = List.of("User-Agent", "Accept-Language");
+
+    @Override
+    public String path() {
+        return "batch";
+    }
+
+    @Override
+    public RateLimitClass rateLimitClass(HTTPMethod method) {
+        return RateLimitClass.READ;
+    }
+
+    /**
+     * Executes multiple api requests with the account of the batch request.
+     * The body is a json array of requests in the format <code>{"id": "stats", "method": "GET", "path": "stats", "body": {}}</code>.
+     * Consecutive <code>GET</code> requests run in parallel, all other requests run on their own in the provided order
+     * @param request The request object from the HttpExchange
+     * @param response The response controller from the HttpExchange
+     */
+    @Override
+    public void post(Request request, ResponseController response) throws Exception {
+        JsonNode requests;
+        try {
+            requests = JsonFactoryHolder.getMapper().readTree(request.getBodyString());
+        } catch (IOException e) {
+            response.code(400).message("The batch is not valid json");
+            return;
+        }
+
+        if (requests == null || !requests.isArray() || requests.isEmpty()) {
+            response.code(400).message("You need to provide a list of requests");
+            return;
+        }
+
+        if (requests.size() > MAX_REQUESTS) {
+            response.code(413).messageFormat("A batch may contain up to %d requests", MAX_REQUESTS);
+            return;
+        }
+
+        List<BatchResult> results = new ArrayList<>(requests.size());
+        for (JsonNode node : requests) results.add(new BatchResult(node.path("id").asText(null)));
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> running = new ArrayList<>();
+
+            for (int i = 0; i < requests.size(); i++) {
+                JsonNode node = requests.get(i);
+                BatchResult result = results.get(i);
+                String method = node.path("method").asText("GET").toUpperCase();
+
+                if (method.equals("GET")) {
+                    running.add(executor.submit(() -> execute(request, response, node, method, result)));
+                    continue;
+                }
+
+                awaitAll(running);
+                execute(request, response, node, method, result);
+            }
+
+            awaitAll(running);
+        }
+
+        response.json(generator -> {
+            generator.writeStartArray();
+            for (BatchResult result : results) result.write(generator);
+            generator.writeEndArray();
+        });
+    }
+
+    /**
+     * Executes a single request of the batch
+     * @param request The batch request
+     * @param response The response controller of the batch request
+     * @param node The sub request from the batch body
+     * @param method The http method of the sub request
+     * @param result The result the response should be written to
+     */
+    private void execute(Request request, ResponseController response, JsonNode node, String method, BatchResult result) {
+        String path = node.path("path").asText("");
+        Router router = MinecraftDashboard.getRouter();
+        if (!path.startsWith("/")) path = router.getPrefix() + "/" + path;
+
+        URI uri;
+        try {
+            uri = new URI(path);
+        } catch (Exception e) {
+            result.fail(400, "The path is invalid");
+            return;
+        }
+
+        Router.Route route = router.find(uri.getRawPath());
+        if (route == null) {
+            result.fail(404, "Route not found");
+            return;
+        }
+
+        if (route.handler() instanceof BatchRoute) {
+            result.fail(400, "Batches can not be nested");
+            return;
+        }
+
+        HTTPMethod httpMethod = HTTPMethod.fromName(method);
+        if (httpMethod != null && !route.handler().batchable(httpMethod)) {
+            result.fail(400, "The route can not be used in a batch");
+            return;
+        }
+
+        Headers headers = new Headers();
+        for (String name : FORWARDED_HEADERS) {
+            String value = request.getHeaders().getFirst(name);
+            if (value != null) headers.set(name, value);
+        }
+
+        byte[] body = encodeBody(node.get("body"));
+        if (body.length > 0) headers.set("Content-Type", "application/x-www-form-urlencoded");
+        headers.set("Content-Length", String.valueOf(body.length));
+
+        BatchExchange exchange = new BatchExchange(response.getExchange(), method, uri, headers, body, MAX_RESPONSE_SIZE);
+        route.handler().handle(exchange, route.pathParameters(), request.getUsername());
+
+        if (exchange.isTruncated()) {
+            result.fail(507, "The response is too large for a batch");
+            return;
+        }
+
+        result.complete(exchange.getResponseCode(), exchange.getResponseHeaders().getFirst("Content-Type"),
+                exchange.getResponseBytes());
+    }
+
+    /**
+     * Encodes the body of a sub request. Objects are sent form encoded like the requests of the web ui
+     * @param body The body from the batch request
+     * @return the encoded body
+     */
+    private byte[] encodeBody(JsonNode body) {
+        if (body == null || body.isNull()) return new byte[0];
+        if (!body.isObject()) return body.asText().getBytes(StandardCharsets.UTF_8);
+
+        StringBuilder form = new StringBuilder();
+        Iterator<Map.Entry<String, JsonNode>> fields = body.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if (!form.isEmpty()) form.append('&');
+
+            String value = field.getValue().isValueNode() ? field.getValue().asText() : field.getValue().toString();
+            form.append(URLEncoder.encode(field.getKey(), StandardCharsets.UTF_8)).append('=')
+                    .append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+        }
+        return form.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Waits until all running requests are done
+     * @param running The futures of the running requests
+     * @throws Exception An exception that can occur while waiting
+     */
+    private void awaitAll(List<Future<?>> running) throws Exception {
+        for (Future<?> future : running) future.get();
+        running.clear();
+    }
+
+    /**
+     * The response of a single request of the batch
+     */
+    private static class BatchResult {
+
+        private final String id;
+        private int status = 500;
+        private String contentType;
+        private byte[] body;
+        private String error;
+
+        /**
+         * Basic constructor of the {@link BatchResult}
+         * @param id The id the client has given the request or <code>null</code>
+         */
+        BatchResult(String id) {
+            this.id = id;
+        }
+
+        /**
+         * Stores the response of the route
+         * @param status The status code of the response
+         * @param contentType The content type of the response
+         * @param body The body of the response
+         */
+        void complete(int status, String contentType, byte[] body) {
+            this.status = status;
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        /**
+         * Stores an error of a request that could not be executed
+         * @param status The status code of the error
+         * @param error The message of the error
+         */
+        void fail(int status, String error) {
+            this.status = status;
+            this.error = error;
+        }
+
+        /**
+         * Writes the result into the combined response
+         * @param generator The generator of the batch response
+         * @throws IOException An exception that can occur while writing the result
+         */
+        void write(JsonGenerator generator) throws IOException {
+            generator.writeStartObject();
+            if (id != null) generator.writeStringField("id", id);
+            generator.writeNumberField("status", status);
+            generator.writeFieldName("body");
+
+            if (error != null) {
+                generator.writeStartObject();
+                generator.writeStringField("message", error);
+                generator.writeEndObject();
+            } else if (body == null || body.length == 0) {
+                generator.writeNull();
+            } else if (contentType != null && contentType.startsWith("application/json")) {
+                generator.writeRawValue(new String(body, StandardCharsets.UTF_8));
+            } else if (contentType == null || contentType.startsWith("text/")) {
+                generator.writeString(new String(body, StandardCharsets.UTF_8));
+            } else {
+                generator.writeBinary(body);
+            }
+
+            generator.writeEndObject();
+        }
+    }
+
+}
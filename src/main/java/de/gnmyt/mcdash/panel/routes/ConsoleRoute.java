@@ -1,24 +1,42 @@
 package de.gnmyt.mcdash.panel.routes;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import de.gnmyt.mcdash.MinecraftDashboard;
+import de.gnmyt.mcdash.api.controller.EventController;
+import de.gnmyt.mcdash.api.entities.EventTopic;
+import de.gnmyt.mcdash.api.entities.TaskPriority;
 import de.gnmyt.mcdash.api.handler.DefaultHandler;
+import de.gnmyt.mcdash.api.http.HTTPMethod;
+import de.gnmyt.mcdash.api.http.RateLimitClass;
 import de.gnmyt.mcdash.api.http.Request;
 import de.gnmyt.mcdash.api.http.ResponseController;
+import de.gnmyt.mcdash.api.platform.CommandResult;
 import org.apache.commons.io.FileUtils;
 import org.bukkit.Bukkit;
 
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 
 
 public class ConsoleRoute extends DefaultHandler {
 
+    private static final int MAX_COMMANDS = 50;
+
     @Override
     public String path() {
         return "console";
     }
 
+    @Override
+    public RateLimitClass rateLimitClass(HTTPMethod method) {
+        return RateLimitClass.HEAVY_IO;
+    }
+
     /**
      * Gets the console log
      * @param request The request object from the HttpExchange
@@ -58,18 +76,91 @@ public class ConsoleRoute extends DefaultHandler {
     }
 
     /**
-     * Sends a console command
+     * Executes one or multiple console commands and answers with their output.
+     * A single command is sent as <code>command</code>, a batch as <code>commands</code> with one command per line.
+     * All commands of a batch run in the same tick, the output is also sent to the <code>commands</code> event stream
      * @param request The request object from the HttpExchange
      * @param response The response controller from the HttpExchange
+     * @throws Exception An exception that can occur while waiting for the main thread
      */
     @Override
-    public void post(Request request, ResponseController response) {
-        if (!isStringInBody(request, response, "command")) return;
+    public void post(Request request, ResponseController response) throws Exception {
+        List<String> commands = getCommands(request);
+
+        if (commands.isEmpty()) {
+            response.code(400).message("You need to provide a command");
+            return;
+        }
+
+        if (commands.size() > MAX_COMMANDS) {
+            response.code(413).messageFormat("A batch may contain up to %d commands", MAX_COMMANDS);
+            return;
+        }
 
-        Bukkit.getLogger().warning("Executing command \"" + getStringFromBody(request, "command") + "\"..");
+        for (String command : commands)
+            Bukkit.getLogger().warning("Executing command \"" + command + "\" (" + request.getUsername() + ")..");
+
+        List<CommandResult> results = callSync(response, TaskPriority.HIGH, null, manager.getMainThreadTimeout(), () -> {
+            List<CommandResult> executed = new ArrayList<>(commands.size());
+            for (String command : commands) executed.add(platform.dispatchCommand(command));
+            return executed;
+        });
+
+        EventController events = MinecraftDashboard.getEventController();
+        for (CommandResult result : results) {
+            events.publish(EventTopic.COMMANDS, generator -> {
+                generator.writeStartObject();
+                generator.writeStringField("user", request.getUsername());
+                writeResult(generator, result);
+                generator.writeEndObject();
+            });
+        }
+
+        response.json(generator -> {
+            generator.writeStartObject();
+            generator.writeStringField("message", "Action executed.");
+            generator.writeArrayFieldStart("results");
+            for (CommandResult result : results) {
+                generator.writeStartObject();
+                writeResult(generator, result);
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        });
+    }
 
-        runSync(() -> Bukkit.dispatchCommand(Bukkit.getConsoleSender(), getStringFromBody(request, "command")));
+    /**
+     * Gets the commands of a request without the leading slashes and empty lines
+     * @param request The request object from the HttpExchange
+     * @return the commands of the request
+     */
+    private List<String> getCommands(Request request) {
+        String body = getStringFromBody(request, "commands");
+        if (body == null) body = getStringFromBody(request, "command");
+        if (body == null) return List.of();
+
+        List<String> commands = new ArrayList<>();
+        for (String line : body.split("\\r?\\n")) {
+            String command = line.strip();
+            if (command.startsWith("/")) command = command.substring(1);
+            if (!command.isEmpty()) commands.add(command);
+        }
+        return commands;
+    }
 
-        response.message("Action executed.");
+    /**
+     * Writes the fields of a command result
+     * @param generator The generator of the json object
+     * @param result The result of the command
+     * @throws IOException An exception that can occur while writing the fields
+     */
+    private static void writeResult(JsonGenerator generator, CommandResult result) throws IOException {
+        generator.writeStringField("command", result.command());
+        generator.writeBooleanField("success", result.success());
+        generator.writeNumberField("duration", result.duration() / 1e6);
+        generator.writeArrayFieldStart("output");
+        for (String line : result.output()) generator.writeString(line);
+        generator.writeEndArray();
     }
 }
@@ -0,0 +1,105 @@
+package de.gnmyt.mcdash.panel.routes;
+
+import de.gnmyt.mcdash.MinecraftDashboard;
+import de.gnmyt.mcdash.api.controller.EventController;
+import de.gnmyt.mcdash.api.entities.EventTopic;
+import de.gnmyt.mcdash.api.handler.DefaultHandler;
+import de.gnmyt.mcdash.api.http.ContentType;
+import de.gnmyt.mcdash.api.http.HTTPMethod;
+import de.gnmyt.mcdash.api.http.Request;
+import de.gnmyt.mcdash.api.http.ResponseController;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.EnumSet;
+import java.util.Set;
+
+public class EventsRoute extends DefaultHandler {
+
+    private static final int MAX_STREAMS = 64;
+
+    private final EventController events = MinecraftDashboard.getEventController();
+
+    @Override
+    public String path() {
+        return "events";
+    }
+
+    /**
+     * Every open stream keeps a request thread busy, so the limit of this route
+     * is the maximum amount of connected clients. In the <code>pooled</code> execution mode the streams may
+     * only take a quarter of the web server threads, so that the other routes are never starved
+     * @return the concurrency limit of the route
+     */
+    @Override
+    public int maxConcurrency() {
+        if (manager.getExecutionMode().equalsIgnoreCase("pooled")) return Math.max(1, manager.getHttpThreads() / 4);
+        return MAX_STREAMS;
+    }
+
+    @Override
+    public boolean compressResponses() {
+        return false;
+    }
+
+    @Override
+    public boolean batchable(HTTPMethod method) {
+        return false;
+    }
+
+    /**
+     * Browsers can not send headers with an event stream, so the session token may also be provided in the query
+     * @param request The request object from the HttpExchange
+     * @param controller The response controller from the HttpExchange
+     * @return the name of the authenticated account or <code>null</code> if the authentication failed
+     */
+    @Override
+    protected String authenticate(Request request, ResponseController controller) {
+        String token = getStringFromQuery(request, "token");
+        if (token == null || request.getHeaders().containsKey("Authorization"))
+            return super.authenticate(request, controller);
+
+        String username = sessionController.getUsername(token);
+        if (username == null || !accountManager.accountExists(username)) {
+            controller.code(401).message("The provided session is invalid or expired");
+            return null;
+        }
+        return username;
+    }
+
+    /**
+     * Opens an event stream of the topics provided in the query (e.g. <code>?topics=stats,players</code>).
+     * Without topics the client receives all events
+     * @param request The request object from the HttpExchange
+     * @param response The response controller from the HttpExchange
+     */
+    @Override
+    public void get(Request request, ResponseController response) throws Exception {
+        Set<EventTopic> topics = EnumSet.noneOf(EventTopic.class);
+
+        String query = getStringFromQuery(request, "topics");
+        if (query == null || query.isEmpty()) {
+            topics.addAll(EnumSet.allOf(EventTopic.class));
+        } else {
+            for (String name : query.split(",")) {
+                EventTopic topic = EventTopic.getByName(name.trim());
+                if (topic == null) {
+                    response.code(400).messageFormat("The topic %s does not exist", name.trim());
+                    return;
+                }
+                topics.add(topic);
+            }
+        }
+
+        response.type(ContentType.EVENT_STREAM).header("Cache-Control", "no-cache").header("X-Accel-Buffering", "no");
+
+        EventController.Subscriber subscriber = events.subscribe(topics);
+        try (OutputStream output = response.stream()) {
+            subscriber.pipe(output);
+        } catch (IOException ignored) {
+        } finally {
+            events.unsubscribe(subscriber);
+        }
+    }
+
+}
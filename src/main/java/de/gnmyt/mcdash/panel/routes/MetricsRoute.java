@@ -0,0 +1,29 @@
+package de.gnmyt.mcdash.panel.routes;
+
+import de.gnmyt.mcdash.MinecraftDashboard;
+import de.gnmyt.mcdash.api.controller.MetricsController;
+import de.gnmyt.mcdash.api.handler.DefaultHandler;
+import de.gnmyt.mcdash.api.http.ContentType;
+import de.gnmyt.mcdash.api.http.Request;
+import de.gnmyt.mcdash.api.http.ResponseController;
+
+public class MetricsRoute extends DefaultHandler {
+
+    private final MetricsController metrics = MinecraftDashboard.getMetricsController();
+
+    @Override
+    public String path() {
+        return "metrics";
+    }
+
+    /**
+     * Gets the request metrics of the web server in the Prometheus text format
+     * @param request The request object from the HttpExchange
+     * @param response The response controller from the HttpExchange
+     */
+    @Override
+    public void get(Request request, ResponseController response) {
+        response.header("Cache-Control", "no-store").type(ContentType.METRICS).text(metrics.scrape());
+    }
+
+}
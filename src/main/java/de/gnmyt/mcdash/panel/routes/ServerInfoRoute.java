@@ -1,13 +1,12 @@
 package de.gnmyt.mcdash.panel.routes;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import de.gnmyt.mcdash.api.handler.DefaultHandler;
 import de.gnmyt.mcdash.api.http.Request;
 import de.gnmyt.mcdash.api.http.ResponseController;
+import de.gnmyt.mcdash.api.json.JsonFactoryHolder;
 import okhttp3.OkHttpClient;
 import org.apache.commons.io.FileUtils;
-import org.bukkit.Bukkit;
 
 import java.io.File;
 import java.util.Base64;
@@ -23,7 +22,7 @@ public class ServerInfoRoute extends DefaultHandler {
             publicIp = new OkHttpClient().newCall(new okhttp3.Request.Builder().url("https://api.ipify.org").build())
                     .execute().body().string();
         } catch (Exception e) {
-            publicIp = (Bukkit.getIp().isEmpty() ? "localhost" : Bukkit.getIp());
+            publicIp = (platform.getIp().isEmpty() ? "localhost" : platform.getIp());
         }
     }
 
@@ -43,12 +42,12 @@ public class ServerInfoRoute extends DefaultHandler {
             iconBase64 = "data:image/png;base64," + ICON_BASE64;
         }
 
-        ObjectNode mapper = new ObjectMapper().createObjectNode()
-                .put("software", Bukkit.getName())
-                .put("version", Bukkit.getBukkitVersion())
+        ObjectNode mapper = JsonFactoryHolder.getMapper().createObjectNode()
+                .put("software", platform.getName())
+                .put("version", platform.getVersion())
                 .put("ip", publicIp)
-                .put("port", Bukkit.getPort())
-                .put("motd", Bukkit.getMotd())
+                .put("port", platform.getPort())
+                .put("motd", platform.getMotd())
                 .put("icon", iconBase64);
 
         response.header("Content-Type", "application/json").text(mapper.toString());
@@ -0,0 +1,51 @@
+package de.gnmyt.mcdash.panel.routes;
+
+import de.gnmyt.mcdash.api.handler.DefaultHandler;
+import de.gnmyt.mcdash.api.http.Request;
+import de.gnmyt.mcdash.api.http.ResponseController;
+
+public class SessionRoute extends DefaultHandler {
+
+    @Override
+    public String path() {
+        return "session";
+    }
+
+    /**
+     * Creates a new session token for the account of the provided credentials.
+     * A session token can not be used to create a new one, otherwise a leaked token could renew itself forever
+     * @param request The request object from the HttpExchange
+     * @param response The response controller from the HttpExchange
+     */
+    @Override
+    public void post(Request request, ResponseController response) {
+        String authorization = request.getHeaders().getFirst("Authorization");
+        if (authorization == null || authorization.startsWith("Bearer ")) {
+            response.code(401).message("You need to provide your credentials to create a session");
+            return;
+        }
+
+        String token = sessionController.createSession(request.getUsername());
+
+        response.json("token=\"" + token + "\"", "expires_in=" + sessionController.getSessionDuration() / 1000);
+    }
+
+    /**
+     * Revokes the session token used for this request
+     * @param request The request object from the HttpExchange
+     * @param response The response controller from the HttpExchange
+     */
+    @Override
+    public void delete(Request request, ResponseController response) {
+        String authorization = request.getHeaders().getFirst("Authorization");
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            response.code(400).message("You need to provide a session token");
+            return;
+        }
+
+        sessionController.revokeSession(authorization.substring(7));
+
+        response.message("Session successfully revoked");
+    }
+
+}
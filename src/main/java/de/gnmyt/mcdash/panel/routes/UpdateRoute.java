@@ -2,6 +2,8 @@ package de.gnmyt.mcdash.panel.routes;
 
 import de.gnmyt.mcdash.MinecraftDashboard;
 import de.gnmyt.mcdash.api.handler.DefaultHandler;
+import de.gnmyt.mcdash.api.http.HTTPMethod;
+import de.gnmyt.mcdash.api.http.RateLimitClass;
 import de.gnmyt.mcdash.api.http.Request;
 import de.gnmyt.mcdash.api.http.ResponseController;
 
@@ -12,6 +14,16 @@ public class UpdateRoute extends DefaultHandler {
         return "update";
     }
 
+    @Override
+    public RateLimitClass rateLimitClass(HTTPMethod method) {
+        return RateLimitClass.HEAVY_IO;
+    }
+
+    @Override
+    public int maxConcurrency() {
+        return 1;
+    }
+
     @Override
     public void get(Request request, ResponseController response) throws Exception {
         response.json("available=" + !MinecraftDashboard.getUpdateManager().isLatestVersion(),
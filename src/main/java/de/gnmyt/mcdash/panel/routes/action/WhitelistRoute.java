@@ -19,7 +19,7 @@ public class WhitelistRoute extends DefaultHandler {
      */
     @Override
     public void get(Request request, ResponseController response) throws Exception {
-        response.json("status="+Bukkit.hasWhitelist());
+        response.json("status="+snapshots.getSnapshot().whitelist());
     }
 
     /**
@@ -31,9 +31,14 @@ public class WhitelistRoute extends DefaultHandler {
     public void patch(Request request, ResponseController response) throws Exception {
         if (!isBooleanInBody(request, response, "status")) return;
 
-        runSync(() -> {
-            Bukkit.setWhitelist(getBooleanFromBody(request, "status"));
-            response.message("Whitelist successfully " + (getBooleanFromBody(request, "status") ? "enabled" : "disabled"));
+        boolean status = getBooleanFromBody(request, "status");
+
+        callSync(response, "whitelist:status:" + status, () -> {
+            Bukkit.setWhitelist(status);
+            return null;
         });
+        snapshots.refresh();
+
+        response.message("Whitelist successfully " + (status ? "enabled" : "disabled"));
     }
 }
@@ -3,9 +3,13 @@ package de.gnmyt.mcdash.panel.routes.backups;
 import de.gnmyt.mcdash.MinecraftDashboard;
 import de.gnmyt.mcdash.api.controller.BackupController;
 import de.gnmyt.mcdash.api.handler.DefaultHandler;
+import de.gnmyt.mcdash.api.http.ContentType;
+import de.gnmyt.mcdash.api.http.HTTPMethod;
+import de.gnmyt.mcdash.api.http.RateLimitClass;
 import de.gnmyt.mcdash.api.http.Request;
 import de.gnmyt.mcdash.api.http.ResponseController;
-import org.apache.commons.io.FileUtils;
+
+import java.util.List;
 
 public class BackupDownloadRoute extends DefaultHandler {
 
@@ -16,6 +20,31 @@ public class BackupDownloadRoute extends DefaultHandler {
         return "download";
     }
 
+    @Override
+    public List<String> paths() {
+        return List.of("{backup_id}/download", path());
+    }
+
+    @Override
+    public RateLimitClass rateLimitClass(HTTPMethod method) {
+        return RateLimitClass.HEAVY_IO;
+    }
+
+    @Override
+    public boolean compressResponses() {
+        return false;
+    }
+
+    @Override
+    public boolean batchable(HTTPMethod method) {
+        return false;
+    }
+
+    @Override
+    public int maxConcurrency() {
+        return 2;
+    }
+
     /**
      * Downloads a backup
      * @param request The request object from the HttpExchange
@@ -24,9 +53,12 @@ public class BackupDownloadRoute extends DefaultHandler {
      */
     @Override
     public void get(Request request, ResponseController response) throws Exception {
-        if (!isStringInQuery(request, response, "backup_id")) return;
+        String backupId = getStringFromPath(request, "backup_id");
 
-        String backupId = getStringFromQuery(request, "backup_id");
+        if (backupId == null) {
+            if (!isStringInQuery(request, response, "backup_id")) return;
+            backupId = getStringFromQuery(request, "backup_id");
+        }
 
         if (!controller.backupExists(backupId)) {
             response.code(404).message("Backup not found");
@@ -35,6 +67,6 @@ public class BackupDownloadRoute extends DefaultHandler {
 
         response.header("Content-Disposition", "attachment; filename=Backup.zip");
 
-        response.bytes(FileUtils.readFileToByteArray(controller.getBackup(backupId)));
+        response.type(ContentType.BINARY).file(controller.getBackup(backupId));
     }
 }
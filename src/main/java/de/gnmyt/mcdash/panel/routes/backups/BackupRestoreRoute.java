@@ -3,6 +3,8 @@ package de.gnmyt.mcdash.panel.routes.backups;
 import de.gnmyt.mcdash.MinecraftDashboard;
 import de.gnmyt.mcdash.api.controller.BackupController;
 import de.gnmyt.mcdash.api.handler.DefaultHandler;
+import de.gnmyt.mcdash.api.http.HTTPMethod;
+import de.gnmyt.mcdash.api.http.RateLimitClass;
 import de.gnmyt.mcdash.api.http.Request;
 import de.gnmyt.mcdash.api.http.ResponseController;
 
@@ -15,6 +17,16 @@ public class BackupRestoreRoute extends DefaultHandler {
         return "restore";
     }
 
+    @Override
+    public RateLimitClass rateLimitClass(HTTPMethod method) {
+        return RateLimitClass.HEAVY_IO;
+    }
+
+    @Override
+    public int maxConcurrency() {
+        return 1;
+    }
+
     /**
      * Restores a backup
      * @param request The request object from the HttpExchange
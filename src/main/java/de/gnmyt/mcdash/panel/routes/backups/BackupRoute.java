@@ -9,22 +9,31 @@ import java.util.List;
 import java.util.Set;
 
 import org.apache.commons.io.FileUtils;
-import org.bukkit.Bukkit;
-import org.bukkit.World;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import de.gnmyt.mcdash.MinecraftDashboard;
 import de.gnmyt.mcdash.api.controller.BackupController;
 import de.gnmyt.mcdash.api.entities.BackupMode;
 import de.gnmyt.mcdash.api.handler.DefaultHandler;
-import de.gnmyt.mcdash.api.http.ContentType;
+import de.gnmyt.mcdash.api.http.HTTPMethod;
+import de.gnmyt.mcdash.api.http.RateLimitClass;
 import de.gnmyt.mcdash.api.http.Request;
+import de.gnmyt.mcdash.api.http.ResourceVersion;
 import de.gnmyt.mcdash.api.http.ResponseController;
 import de.gnmyt.mcdash.api.json.ArrayBuilder;
 import de.gnmyt.mcdash.api.json.NodeBuilder;
 
 public class BackupRoute extends DefaultHandler {
 
+    @Override
+    public RateLimitClass rateLimitClass(HTTPMethod method) {
+        return RateLimitClass.HEAVY_IO;
+    }
+
+    @Override
+    public int maxConcurrency() {
+        return 2;
+    }
+
     /**
      * Gets a list of all directories that should be backed up
      * @param mode The mode of the backup
@@ -54,14 +63,7 @@ public class BackupRoute extends DefaultHandler {
 
             if (backupMode == BackupMode.WORLDS) {
                 // Sauvegarder proprement chaque monde sur le thread principal
-                for (World world : Bukkit.getWorlds()) {
-                    new BukkitRunnable() {
-                        @Override public void run() {
-                            world.save();
-                        }
-                    }.runTask(MinecraftDashboard.getInstance());
-                    directories.add(world.getWorldFolder());
-                }
+                directories.addAll(MinecraftDashboard.getPlatform().saveWorlds());
             }
 
             if (backupMode == BackupMode.PLUGINS) {
@@ -85,6 +87,17 @@ public class BackupRoute extends DefaultHandler {
 
     private final BackupController controller = MinecraftDashboard.getBackupController();
 
+    /**
+     * Gets the version of the backup list. The modification time of the folder
+     * covers backups that have been added or removed outside of the panel
+     * @param request The request object from the HttpExchange
+     * @return the version of the backup list
+     */
+    @Override
+    public String version(Request request) {
+        return ResourceVersion.BACKUPS.get() + "-" + controller.getBackupFolder().lastModified();
+    }
+
     /**
      * Gets a list of all backups
      * @param request The request object from the HttpExchange
@@ -107,7 +120,7 @@ public class BackupRoute extends DefaultHandler {
             return;
         }
 
-        response.type(ContentType.JSON).text(backups.toJSON());
+        response.json(backups);
     }
 
     /**
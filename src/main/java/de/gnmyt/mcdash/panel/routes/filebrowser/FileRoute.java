@@ -1,13 +1,25 @@
 package de.gnmyt.mcdash.panel.routes.filebrowser;
 
 import de.gnmyt.mcdash.api.handler.MultipartHandler;
+import de.gnmyt.mcdash.api.http.ContentType;
+import de.gnmyt.mcdash.api.http.HTTPMethod;
+import de.gnmyt.mcdash.api.http.RateLimitClass;
 import de.gnmyt.mcdash.api.http.Request;
 import de.gnmyt.mcdash.api.http.ResponseController;
+import org.apache.commons.fileupload.FileItemIterator;
+import org.apache.commons.fileupload.FileItemStream;
+import org.apache.commons.fileupload.FileUploadException;
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.FilenameUtils;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.UUID;
 
 public class FileRoute extends MultipartHandler {
 
@@ -18,6 +30,31 @@ public class FileRoute extends MultipartHandler {
         return "file";
     }
 
+    @Override
+    public RateLimitClass rateLimitClass(HTTPMethod method) {
+        return RateLimitClass.HEAVY_IO;
+    }
+
+    @Override
+    public boolean compressResponses() {
+        return false;
+    }
+
+    @Override
+    public boolean batchable(HTTPMethod method) {
+        return method != HTTPMethod.GET;
+    }
+
+    @Override
+    public int maxConcurrency() {
+        return 4;
+    }
+
+    @Override
+    public long maxBodySize() {
+        return 16L * 1024 * 1024;
+    }
+
     /**
      * Gets the content of a file in a directory
      * @param request The request object from the HttpExchange
@@ -37,7 +74,7 @@ public class FileRoute extends MultipartHandler {
 
         response.header("Content-Disposition", "attachment; filename=" + file.getName());
 
-        response.bytes(FileUtils.readFileToByteArray(file));
+        response.type(ContentType.BINARY).file(file);
     }
 
     /**
@@ -80,11 +117,31 @@ public class FileRoute extends MultipartHandler {
             return;
         }
 
-        request.getFiles().forEach(file -> {
-            try {
-                file.write(new File(path+"/"+file.getName()));
-            } catch (Exception e) { response.code(500).message("Could not write file."); }
-        });
+        FileItemIterator uploads = request.getUploads();
+        if (uploads == null) {
+            response.code(400).message("You need to provide the file as multipart/form-data.");
+            return;
+        }
+
+        try {
+            while (uploads.hasNext()) {
+                FileItemStream upload = uploads.next();
+                if (upload.isFormField()) continue;
+
+                String name = FilenameUtils.getName(upload.getName());
+                if (name == null || name.isEmpty() || !isValidFilePath(path + "/" + name)) {
+                    response.code(400).message("Invalid file name.");
+                    return;
+                }
+
+                try (InputStream input = upload.openStream()) {
+                    writeFile(input, new File(path, name).toPath());
+                }
+            }
+        } catch (FileUploadException | IOException e) {
+            response.code(500).message("Could not write file.");
+            return;
+        }
 
         response.message("File uploaded successfully.");
     }
@@ -110,6 +167,24 @@ public class FileRoute extends MultipartHandler {
          else response.code(500).message("Could not delete file.");
     }
 
+    /**
+     * Writes a stream into a file. The data goes into a temporary file next to the target, which then
+     * replaces the target, so that an interrupted upload never leaves a half written file behind.
+     * The temporary file has a unique name, so that concurrent uploads of the same file do not mix
+     * @param input The stream you want to write
+     * @param target The file you want to write to
+     * @throws IOException An exception that can occur while writing the file
+     */
+    public static void writeFile(InputStream input, Path target) throws IOException {
+        Path temp = target.resolveSibling("." + target.getFileName() + "." + UUID.randomUUID() + ".upload");
+        try {
+            Files.copy(input, temp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
     /**
      * Checks if the file path is valid
      * @param path The file path you want to check
@@ -1,7 +1,8 @@
 package de.gnmyt.mcdash.panel.routes.filebrowser;
 
 import de.gnmyt.mcdash.api.handler.DefaultHandler;
-import de.gnmyt.mcdash.api.http.ContentType;
+import de.gnmyt.mcdash.api.http.HTTPMethod;
+import de.gnmyt.mcdash.api.http.RateLimitClass;
 import de.gnmyt.mcdash.api.http.Request;
 import de.gnmyt.mcdash.api.http.ResponseController;
 import de.gnmyt.mcdash.api.json.ArrayBuilder;
@@ -20,6 +21,11 @@ public class FolderRoute extends DefaultHandler {
         return "folder";
     }
 
+    @Override
+    public RateLimitClass rateLimitClass(HTTPMethod method) {
+        return RateLimitClass.HEAVY_IO;
+    }
+
     /**
      * Gets all files and folders from a specific directory
      * @param request The request object from the HttpExchange
@@ -46,7 +52,7 @@ public class FolderRoute extends DefaultHandler {
                     .register();
         }
 
-        response.type(ContentType.JSON).text(builder.toJSON());
+        response.json(builder);
     }
 
     /**
@@ -0,0 +1,197 @@
+package de.gnmyt.mcdash.panel.routes.filebrowser;
+
+import de.gnmyt.mcdash.MinecraftDashboard;
+import de.gnmyt.mcdash.api.controller.UploadController;
+import de.gnmyt.mcdash.api.handler.DefaultHandler;
+import de.gnmyt.mcdash.api.http.HTTPMethod;
+import de.gnmyt.mcdash.api.http.RateLimitClass;
+import de.gnmyt.mcdash.api.http.Request;
+import de.gnmyt.mcdash.api.http.RequestBodyTooLargeException;
+import de.gnmyt.mcdash.api.http.UploadSizeExceededException;
+import de.gnmyt.mcdash.api.http.ResponseController;
+import org.apache.commons.io.FilenameUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+
+public class UploadRoute extends DefaultHandler {
+
+    private static final long CHUNK_SIZE = 8L * 1024 * 1024;
+
+    private final UploadController uploads = MinecraftDashboard.getUploadController();
+
+    @Override
+    public List<String> paths() {
+        return Arrays.asList("upload", "upload/{upload_id}");
+    }
+
+    @Override
+    public RateLimitClass rateLimitClass(HTTPMethod method) {
+        return method == HTTPMethod.PATCH ? RateLimitClass.READ : RateLimitClass.HEAVY_IO;
+    }
+
+    @Override
+    public int maxConcurrency() {
+        return 4;
+    }
+
+    @Override
+    public long maxBodySize() {
+        return CHUNK_SIZE;
+    }
+
+    /**
+     * Starts a resumable upload. The data is then sent in chunks to <code>upload/{upload_id}</code>
+     * @param request The request object from the HttpExchange
+     * @param response The response controller from the HttpExchange
+     */
+    @Override
+    public void post(Request request, ResponseController response) throws Exception {
+        if (!isStringInBody(request, response, "name")) return;
+        if (!isStringInBody(request, response, "size")) return;
+
+        String path = getStringFromBody(request, "path") != null ? getStringFromBody(request, "path") : ".";
+
+        if (!FolderRoute.isValidExitingFolder(path)) {
+            response.code(404).message("Folder does not exist");
+            return;
+        }
+
+        String name = FilenameUtils.getName(getStringFromBody(request, "name"));
+        if (name.isEmpty() || !FileRoute.isValidFilePath(path + "/" + name)) {
+            response.code(400).message("Invalid file name.");
+            return;
+        }
+
+        long size;
+        try {
+            size = Long.parseLong(getStringFromBody(request, "size"));
+        } catch (NumberFormatException e) {
+            size = -1;
+        }
+
+        if (size < 0) {
+            response.code(400).message("You need to provide a valid size");
+            return;
+        }
+
+        File target = new File(path, name);
+        if (target.isDirectory()) {
+            response.code(409).message("A folder with this name already exists");
+            return;
+        }
+
+        UploadController.Upload upload = uploads.createUpload(target, size);
+
+        response.code(201).json(generator -> {
+            generator.writeStartObject();
+            generator.writeStringField("id", upload.getId());
+            generator.writeNumberField("offset", upload.getOffset());
+            generator.writeNumberField("chunk_size", CHUNK_SIZE);
+            generator.writeBooleanField("complete", upload.isComplete());
+            generator.writeEndObject();
+        });
+    }
+
+    /**
+     * Gets the offset of an upload. Clients use it to continue after a broken connection
+     * @param request The request object from the HttpExchange
+     * @param response The response controller from the HttpExchange
+     */
+    @Override
+    public void get(Request request, ResponseController response) throws Exception {
+        UploadController.Upload upload = uploads.getUpload(getStringFromPath(request, "upload_id"));
+        if (upload == null) {
+            response.code(404).message("Upload not found");
+            return;
+        }
+
+        sendOffset(response, upload);
+    }
+
+    /**
+     * Writes the next chunk of an upload. The <code>Upload-Offset</code> header has to match the current offset.
+     * A chunk larger than the chunk size is answered with <code>413</code> and the current offset, the bytes
+     * received until then are kept. Only sending more bytes than announced cancels the upload
+     * @param request The request object from the HttpExchange
+     * @param response The response controller from the HttpExchange
+     */
+    @Override
+    public void patch(Request request, ResponseController response) throws Exception {
+        UploadController.Upload upload = uploads.getUpload(getStringFromPath(request, "upload_id"));
+        if (upload == null) {
+            response.code(404).message("Upload not found");
+            return;
+        }
+
+        if (!upload.getLock().tryLock()) {
+            response.code(409);
+            sendOffset(response, upload);
+            return;
+        }
+
+        try {
+            if (!String.valueOf(upload.getOffset()).equals(request.getHeaders().getFirst("Upload-Offset"))) {
+                response.code(409);
+                sendOffset(response, upload);
+                return;
+            }
+
+            try (InputStream input = request.getBodyStream()) {
+                uploads.write(upload, input);
+            } catch (UploadSizeExceededException e) {
+                uploads.cancelUpload(upload);
+                response.code(413).message("The upload is larger than announced");
+                return;
+            } catch (RequestBodyTooLargeException e) {
+                response.code(413);
+                sendOffset(response, upload);
+                return;
+            } catch (IOException e) {
+                response.code(500);
+                sendOffset(response, upload);
+                return;
+            }
+        } finally {
+            upload.getLock().unlock();
+        }
+
+        sendOffset(response, upload);
+    }
+
+    /**
+     * Cancels an upload
+     * @param request The request object from the HttpExchange
+     * @param response The response controller from the HttpExchange
+     */
+    @Override
+    public void delete(Request request, ResponseController response) throws Exception {
+        UploadController.Upload upload = uploads.getUpload(getStringFromPath(request, "upload_id"));
+        if (upload == null) {
+            response.code(404).message("Upload not found");
+            return;
+        }
+
+        uploads.cancelUpload(upload);
+        response.message("Upload successfully cancelled.");
+    }
+
+    /**
+     * Sends the progress of an upload
+     * @param response The response controller from the HttpExchange
+     * @param upload The upload you want to send
+     */
+    private void sendOffset(ResponseController response, UploadController.Upload upload) {
+        response.json(generator -> {
+            generator.writeStartObject();
+            generator.writeNumberField("offset", upload.getOffset());
+            generator.writeNumberField("size", upload.getSize());
+            generator.writeBooleanField("complete", upload.isComplete());
+            generator.writeEndObject();
+        });
+    }
+
+}
@@ -1,7 +1,6 @@
 package de.gnmyt.mcdash.panel.routes.manage;
 
 import de.gnmyt.mcdash.api.handler.DefaultHandler;
-import de.gnmyt.mcdash.api.http.ContentType;
 import de.gnmyt.mcdash.api.http.Request;
 import de.gnmyt.mcdash.api.http.ResponseController;
 import de.gnmyt.mcdash.api.json.ArrayBuilder;
@@ -36,7 +35,7 @@ public class PropertiesRoute extends DefaultHandler {
                 .add("value", value.toString())
                 .register());
 
-        response.type(ContentType.JSON).text(builder.toJSON());
+        response.json(builder);
     }
 
     /**
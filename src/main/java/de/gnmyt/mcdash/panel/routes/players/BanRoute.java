@@ -1,13 +1,12 @@
 package de.gnmyt.mcdash.panel.routes.players;
 
 import de.gnmyt.mcdash.api.handler.DefaultHandler;
-import de.gnmyt.mcdash.api.http.ContentType;
 import de.gnmyt.mcdash.api.http.Request;
 import de.gnmyt.mcdash.api.http.ResponseController;
 import de.gnmyt.mcdash.api.json.ArrayBuilder;
+import de.gnmyt.mcdash.api.platform.OfflinePlayerInfo;
 import org.bukkit.BanList;
 import org.bukkit.Bukkit;
-import org.bukkit.OfflinePlayer;
 
 public class BanRoute extends DefaultHandler {
 
@@ -16,6 +15,16 @@ public class BanRoute extends DefaultHandler {
         return "banlist";
     }
 
+    /**
+     * Gets the version of the ban list
+     * @param request The request object from the HttpExchange
+     * @return the version of the ban list
+     */
+    @Override
+    public String version(Request request) {
+        return String.valueOf(snapshots.getSnapshot().bannedVersion());
+    }
+
     /**
      * Gets all banned players
      * @param request The request object from the HttpExchange
@@ -25,16 +34,16 @@ public class BanRoute extends DefaultHandler {
     public void get(Request request, ResponseController response) throws Exception {
         ArrayBuilder builder = new ArrayBuilder();
 
-        for (OfflinePlayer player : Bukkit.getBannedPlayers()) {
+        for (OfflinePlayerInfo player : snapshots.getSnapshot().bannedPlayers()) {
             builder.addNode()
-                    .add("uuid", player.getUniqueId().toString())
-                    .add("name", player.getName())
-                    .add("reason", Bukkit.getBanList(BanList.Type.NAME).getBanEntry(player.getName()).getReason())
-                    .add("last_seen", player.getLastPlayed())
+                    .add("uuid", player.uuid().toString())
+                    .add("name", player.name())
+                    .add("reason", player.reason())
+                    .add("last_seen", player.lastSeen())
                     .register();
         }
 
-        response.type(ContentType.JSON).text(builder.toJSON());
+        response.json(builder);
     }
 
     /**
@@ -49,10 +58,14 @@ public class BanRoute extends DefaultHandler {
         String username = getStringFromBody(request,"username");
         String reason = getStringFromBody(request, "reason") != null ? getStringFromBody(request, "reason") : "";
 
-        Bukkit.getBanList(BanList.Type.NAME).addBan(username, reason, null, "MCDash");
+        callSync(response, "ban:" + username.toLowerCase() + ":" + reason, () -> {
+            Bukkit.getBanList(BanList.Type.NAME).addBan(username, reason, null, "MCDash");
 
-        if (Bukkit.getPlayer(username) != null)
-            runSync(() -> Bukkit.getPlayer(username).kickPlayer("You are banned from this server" + (reason.isEmpty() ? "." : ": " + reason)));
+            if (Bukkit.getPlayer(username) != null)
+                Bukkit.getPlayer(username).kickPlayer("You are banned from this server" + (reason.isEmpty() ? "." : ": " + reason));
+            return null;
+        });
+        snapshots.refresh();
 
         response.message("Successfully added the player to the ban list.");
     }
@@ -68,7 +81,11 @@ public class BanRoute extends DefaultHandler {
 
         String username = getStringFromBody(request, "username");
 
-        Bukkit.getBanList(BanList.Type.NAME).pardon(username);
+        callSync(response, "pardon:" + username.toLowerCase(), () -> {
+            Bukkit.getBanList(BanList.Type.NAME).pardon(username);
+            return null;
+        });
+        snapshots.refresh();
 
         response.message("Successfully removed the player from the ban list.");
     }
@@ -4,6 +4,7 @@ import de.gnmyt.mcdash.api.handler.DefaultHandler;
 import de.gnmyt.mcdash.api.http.Request;
 import de.gnmyt.mcdash.api.http.ResponseController;
 import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
 
 public class KickRoute extends DefaultHandler {
 
@@ -24,13 +25,20 @@ public class KickRoute extends DefaultHandler {
         String username = getStringFromBody(request, "username");
         String reason = getStringFromBody(request, "reason") != null ? getStringFromBody(request, "reason") : "";
 
-        if (Bukkit.getPlayer(username) != null) {
-            runSync(() -> Bukkit.getPlayer(username).kickPlayer(reason));
-        } else {
+        boolean kicked = callSync(response, "kick:" + username.toLowerCase(), () -> {
+            Player player = Bukkit.getPlayer(username);
+            if (player == null) return false;
+
+            player.kickPlayer(reason);
+            return true;
+        });
+
+        if (!kicked) {
             response.code(404).message("Player not found");
             return;
         }
 
+        snapshots.refresh();
         response.message("Successfully kicked the player");
     }
 
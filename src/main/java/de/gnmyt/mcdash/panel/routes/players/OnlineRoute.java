@@ -1,13 +1,10 @@
 package de.gnmyt.mcdash.panel.routes.players;
 
 import de.gnmyt.mcdash.api.handler.DefaultHandler;
-import de.gnmyt.mcdash.api.http.ContentType;
 import de.gnmyt.mcdash.api.http.Request;
 import de.gnmyt.mcdash.api.http.ResponseController;
 import de.gnmyt.mcdash.api.json.ArrayBuilder;
-import org.bukkit.Bukkit;
-import org.bukkit.Statistic;
-import org.bukkit.entity.Player;
+import de.gnmyt.mcdash.api.platform.PlayerInfo;
 
 public class OnlineRoute extends DefaultHandler {
 
@@ -26,27 +23,20 @@ public class OnlineRoute extends DefaultHandler {
 
         ArrayBuilder builder = new ArrayBuilder();
 
-        Statistic playStat;
-        try {
-            playStat = Statistic.valueOf("PLAY_ONE_TICK"); // used below MC 1.15.2
-        } catch (IllegalArgumentException ignored) {
-            playStat = Statistic.valueOf("PLAY_ONE_MINUTE"); // MC 1.15.2 and above
-        }
-
-        for (Player player : Bukkit.getOnlinePlayers()) {
+        for (PlayerInfo player : snapshots.getSnapshot().players()) {
             builder.addNode()
-                    .add("uuid", player.getUniqueId().toString())
-                    .add("name", player.getName())
-                    .add("player_time", player.getStatistic(playStat))
-                    .add("current_world", player.getWorld().getName())
-                    .add("address", player.getAddress().getHostName())
-                    .add("health", Math.round(player.getHealth()))
-                    .add("food_level", Math.round(player.getFoodLevel()))
-                    .add("game_mode", player.getGameMode().name())
-                    .add("is_op", player.isOp())
+                    .add("uuid", player.uuid().toString())
+                    .add("name", player.name())
+                    .add("player_time", player.playTime())
+                    .add("current_world", player.world())
+                    .add("address", player.address())
+                    .add("health", player.health())
+                    .add("food_level", player.foodLevel())
+                    .add("game_mode", player.gameMode())
+                    .add("is_op", player.op())
                     .register();
         }
 
-        response.type(ContentType.JSON).text(builder.toJSON());
+        response.json(builder);
     }
 }
@@ -32,7 +32,10 @@ public class OpRoute extends DefaultHandler {
         Player player = getPlayer(request, response);
         if (player == null) return;
 
-        runSync(() -> player.setOp(true));
+        callSync(response, "op:" + player.getUniqueId() + ":true", () -> {
+            player.setOp(true);
+            return null;
+        });
         response.message("The player is now op");
     }
 
@@ -41,7 +44,10 @@ public class OpRoute extends DefaultHandler {
         Player player = getPlayer(request, response);
         if (player == null) return;
 
-        runSync(() -> player.setOp(false));
+        callSync(response, "op:" + player.getUniqueId() + ":false", () -> {
+            player.setOp(false);
+            return null;
+        });
         response.message("The player is no longer op");
     }
 }
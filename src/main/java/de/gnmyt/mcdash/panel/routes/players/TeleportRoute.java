@@ -4,6 +4,8 @@ import de.gnmyt.mcdash.api.handler.DefaultHandler;
 import de.gnmyt.mcdash.api.http.Request;
 import de.gnmyt.mcdash.api.http.ResponseController;
 import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
 
 public class TeleportRoute extends DefaultHandler {
 
@@ -31,7 +33,16 @@ public class TeleportRoute extends DefaultHandler {
             return;
         }
 
-        runSync(() -> Bukkit.getPlayer(player).teleport(Bukkit.getWorld(world).getSpawnLocation()));
+        boolean teleported = callSync(response, "teleport:" + player.toLowerCase() + ":" + world, () -> {
+            Player target = Bukkit.getPlayer(player);
+            World targetWorld = Bukkit.getWorld(world);
+            return target != null && targetWorld != null && target.teleport(targetWorld.getSpawnLocation());
+        });
+
+        if (!teleported) {
+            response.code(400).message("The player " + player + " could not be teleported to the world " + world);
+            return;
+        }
 
         response.message("Successfully teleported the player " + player + " to the world " + world);
     }
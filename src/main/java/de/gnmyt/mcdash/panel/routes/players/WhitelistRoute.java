@@ -3,13 +3,12 @@ package de.gnmyt.mcdash.panel.routes.players;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import de.gnmyt.mcdash.api.handler.DefaultHandler;
-import de.gnmyt.mcdash.api.http.ContentType;
 import de.gnmyt.mcdash.api.http.Request;
 import de.gnmyt.mcdash.api.http.ResponseController;
 import de.gnmyt.mcdash.api.json.ArrayBuilder;
+import de.gnmyt.mcdash.api.platform.OfflinePlayerInfo;
 import okhttp3.OkHttpClient;
 import org.bukkit.Bukkit;
-import org.bukkit.OfflinePlayer;
 
 import java.io.File;
 import java.io.IOException;
@@ -27,6 +26,21 @@ public class WhitelistRoute extends DefaultHandler {
         return "whitelist";
     }
 
+    @Override
+    public int maxConcurrency() {
+        return 4;
+    }
+
+    /**
+     * Gets the version of the whitelist
+     * @param request The request object from the HttpExchange
+     * @return the version of the whitelist
+     */
+    @Override
+    public String version(Request request) {
+        return String.valueOf(snapshots.getSnapshot().whitelistVersion());
+    }
+
     /**
      * Gets all whitelisted players
      * @param request The request object from the HttpExchange
@@ -36,15 +50,15 @@ public class WhitelistRoute extends DefaultHandler {
     public void get(Request request, ResponseController response) throws Exception {
         ArrayBuilder builder = new ArrayBuilder();
 
-        for (OfflinePlayer player : Bukkit.getWhitelistedPlayers()) {
+        for (OfflinePlayerInfo player : snapshots.getSnapshot().whitelistedPlayers()) {
             builder.addNode()
-                    .add("uuid", player.getUniqueId().toString())
-                    .add("name", player.getName())
-                    .add("last_seen", player.getLastPlayed())
+                    .add("uuid", player.uuid().toString())
+                    .add("name", player.name())
+                    .add("last_seen", player.lastSeen())
                     .register();
         }
 
-        response.type(ContentType.JSON).text(builder.toJSON());
+        response.json(builder);
     }
 
     /**
@@ -53,7 +67,7 @@ public class WhitelistRoute extends DefaultHandler {
      * @param response The response controller from the HttpExchange
      */
     @Override
-    public void put(Request request, ResponseController response) {
+    public void put(Request request, ResponseController response) throws Exception {
         if (!isStringInBody(request, response, "username")) return;
 
         UUID uuid = getUUID(getStringFromBody(request, "username"));
@@ -76,7 +90,11 @@ public class WhitelistRoute extends DefaultHandler {
             throw new RuntimeException(e);
         }
 
-        Bukkit.reloadWhitelist();
+        callSync(response, "whitelist:reload", () -> {
+            Bukkit.reloadWhitelist();
+            return null;
+        });
+        snapshots.refresh();
 
         response.message("Successfully added the player to the whitelist.");
     }
@@ -106,7 +124,11 @@ public class WhitelistRoute extends DefaultHandler {
 
         Files.write(Paths.get("whitelist.json"), builder.toJSON().getBytes());
 
-        Bukkit.reloadWhitelist();
+        callSync(response, "whitelist:reload", () -> {
+            Bukkit.reloadWhitelist();
+            return null;
+        });
+        snapshots.refresh();
 
         response.message("Successfully removed the player from the whitelist.");
     }
@@ -1,14 +1,10 @@
 package de.gnmyt.mcdash.panel.routes.plugin;
 
 import de.gnmyt.mcdash.api.handler.DefaultHandler;
-import de.gnmyt.mcdash.api.http.ContentType;
 import de.gnmyt.mcdash.api.http.Request;
 import de.gnmyt.mcdash.api.http.ResponseController;
 import de.gnmyt.mcdash.api.json.ArrayBuilder;
-import org.bukkit.Bukkit;
-import org.bukkit.plugin.Plugin;
-
-import java.io.File;
+import de.gnmyt.mcdash.api.platform.PluginInfo;
 
 public class PluginListRoute extends DefaultHandler {
 
@@ -17,6 +13,16 @@ public class PluginListRoute extends DefaultHandler {
         return "list";
     }
 
+    /**
+     * Gets the version of the plugin list
+     * @param request The request object from the HttpExchange
+     * @return the version of the plugin list
+     */
+    @Override
+    public String version(Request request) {
+        return String.valueOf(snapshots.getSnapshot().pluginVersion());
+    }
+
     /**
      * Gets all plugins of the server
      * @param request The request object from the HttpExchange
@@ -27,24 +33,18 @@ public class PluginListRoute extends DefaultHandler {
 
         ArrayBuilder builder = new ArrayBuilder();
 
-        for (Plugin plugin : Bukkit.getPluginManager().getPlugins()) {
-            if (plugin.getClass().getProtectionDomain().getCodeSource() == null) continue;
-            String pluginJar = plugin.getClass().getProtectionDomain().getCodeSource().getLocation().getPath();
-            String pluginJarNoPath = pluginJar.substring(pluginJar.lastIndexOf(File.separator) + 1);
-            
-            if (!new File("./plugins/" + pluginJarNoPath).exists()) continue;
-
+        for (PluginInfo plugin : snapshots.getSnapshot().plugins()) {
             builder.addNode()
-                    .add("name", plugin.getName())
-                    .add("author", plugin.getDescription().getAuthors().size() == 0 ? null : plugin.getDescription().getAuthors().get(0))
-                    .add("description", plugin.getDescription().getDescription())
-                    .add("path", pluginJarNoPath)
-                    .add("enabled", plugin.isEnabled())
-                    .add("version", plugin.getDescription().getVersion())
+                    .add("name", plugin.name())
+                    .add("author", plugin.author())
+                    .add("description", plugin.description())
+                    .add("path", plugin.path())
+                    .add("enabled", plugin.enabled())
+                    .add("version", plugin.version())
                     .register();
         }
 
-        response.type(ContentType.JSON).text(builder.toJSON());
+        response.json(builder);
     }
 
 }
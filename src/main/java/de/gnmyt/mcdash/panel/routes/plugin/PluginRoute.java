@@ -56,14 +56,17 @@ public class PluginRoute extends DefaultHandler {
         Plugin plugin = getPlugin(request, response);
         if (plugin == null) return;
 
-        runSync(() -> {
-            try {
-                Bukkit.getPluginManager().enablePlugin(plugin);
-                response.message("Plugin successfully enabled");
-            } catch (Exception e) {
-                response.code(500).message("Could not enable the plugin");
-            }
+        boolean enabled = callSync(response, "plugin:" + plugin.getName() + ":enable", () -> {
+            Bukkit.getPluginManager().enablePlugin(plugin);
+            return plugin.isEnabled();
         });
+
+        if (!enabled) {
+            response.code(500).message("Could not enable the plugin");
+            return;
+        }
+
+        response.message("Plugin successfully enabled");
     }
 
     /**
@@ -76,14 +79,17 @@ public class PluginRoute extends DefaultHandler {
         Plugin plugin = getPlugin(request, response);
         if (plugin == null) return;
 
-        runSync(() -> {
-            try {
-                Bukkit.getPluginManager().disablePlugin(plugin);
-                response.message("Plugin successfully disabled");
-            } catch (Exception e) {
-                response.code(500).message("Could not disable the plugin");
-            }
+        boolean enabled = callSync(response, "plugin:" + plugin.getName() + ":disable", () -> {
+            Bukkit.getPluginManager().disablePlugin(plugin);
+            return plugin.isEnabled();
         });
+
+        if (enabled) {
+            response.code(500).message("Could not disable the plugin");
+            return;
+        }
+
+        response.message("Plugin successfully disabled");
     }
 
 }
@@ -9,6 +9,7 @@ import de.gnmyt.mcdash.api.entities.ScheduleActionType;
 import de.gnmyt.mcdash.api.handler.DefaultHandler;
 import de.gnmyt.mcdash.api.http.Request;
 import de.gnmyt.mcdash.api.http.ResponseController;
+import de.gnmyt.mcdash.api.json.JsonFactoryHolder;
 
 import java.util.ArrayList;
 import java.util.Objects;
@@ -36,7 +37,7 @@ public class ScheduleActionRoute extends DefaultHandler {
         String name = getStringFromBody(request, "name");
         String actions = getStringFromBody(request, "actions");
 
-        ObjectMapper mapper = new ObjectMapper();
+        ObjectMapper mapper = JsonFactoryHolder.getMapper();
 
         if (scheduleManager.getScheduleByName(name) == null) {
             response.code(404).message("The schedule does not exist");
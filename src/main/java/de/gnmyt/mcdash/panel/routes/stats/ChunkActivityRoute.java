@@ -0,0 +1,55 @@
+package de.gnmyt.mcdash.panel.routes.stats;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import de.gnmyt.mcdash.MinecraftDashboard;
+import de.gnmyt.mcdash.api.handler.DefaultHandler;
+import de.gnmyt.mcdash.api.http.Request;
+import de.gnmyt.mcdash.api.http.ResponseController;
+import de.gnmyt.mcdash.stats.StatsService;
+
+public class ChunkActivityRoute extends DefaultHandler {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Override
+    public String path() {
+        return "chunks";
+    }
+
+    /**
+     * Série temporelle des chunks chargés/générés par monde, et joueurs ayant généré le plus de chunks.
+     * Mêmes paramètres que players/concurrency : from, to, days, bucket (minutes), plus limit (explorateurs)
+     */
+    @Override
+    public void get(Request request, ResponseController response) throws Exception {
+        Instant to = ConcurrencyRoute.parseInstant(request.getQuery().get("to"), Instant.now());
+        Instant from = ConcurrencyRoute.parseInstant(request.getQuery().get("from"), null);
+
+        if (from == null) {
+            int days = Math.max(1, ConcurrencyRoute.parseInt(request.getQuery().getOrDefault("days", "1"), 1));
+            from = to.minus(Duration.ofDays(days));
+        }
+
+        int bucket = Math.max(1, ConcurrencyRoute.parseInt(request.getQuery().getOrDefault("bucket", "5"), 5));
+        int limit = ConcurrencyRoute.parseInt(request.getQuery().getOrDefault("limit", "10"), 10);
+
+        StatsService stats = MinecraftDashboard.getStatsModule().getStatsService();
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("points", stats.queryChunkActivity(from, to, bucket));
+        body.put("explorers", stats.queryTopExplorers(from, to, limit));
+
+        response.header("Content-Type", "application/json; charset=utf-8");
+        response.bytes(MAPPER.writeValueAsBytes(body));
+    }
+}
@@ -0,0 +1,46 @@
+package de.gnmyt.mcdash.panel.routes.stats;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import de.gnmyt.mcdash.MinecraftDashboard;
+import de.gnmyt.mcdash.api.handler.DefaultHandler;
+import de.gnmyt.mcdash.api.http.Request;
+import de.gnmyt.mcdash.api.http.ResponseController;
+import de.gnmyt.mcdash.stats.ChunkActivitySampler;
+
+public class ChunkLiveRoute extends DefaultHandler {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Override
+    public String path() {
+        return "chunks/live";
+    }
+
+    /**
+     * Activité des chunks en temps réel (mise à jour chaque seconde, sans appel au serveur) :
+     * la fenêtre en cours et la dernière minute complète, avec les joueurs qui génèrent le plus de chunks
+     */
+    @Override
+    public void get(Request request, ResponseController response) throws Exception {
+        ChunkActivitySampler sampler = MinecraftDashboard.getStatsModule().getChunkSampler();
+        if (sampler == null) {
+            response.code(503).message("The statistics are not running");
+            return;
+        }
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("current", sampler.getCurrent());
+        body.put("previous", sampler.getPrevious());
+
+        response.header("Content-Type", "application/json; charset=utf-8");
+        response.bytes(MAPPER.writeValueAsBytes(body));
+    }
+}
@@ -42,18 +42,18 @@ public class ConcurrencyRoute extends DefaultHandler {
         int bucket = parseInt(request.getQuery().getOrDefault("bucket", "5"), 5);
         if (bucket < 1) bucket = 1;
 
-        StatsService stats = MinecraftDashboard.getInstance().getStatsModule().getStatsService();
+        StatsService stats = MinecraftDashboard.getStatsModule().getStatsService();
         List<ConcurrencyPoint> points = stats.queryConcurrency(from, to, bucket);
 
         response.header("Content-Type", "application/json; charset=utf-8");
         response.bytes(MAPPER.writeValueAsBytes(points));
     }
 
-    private static int parseInt(String s, int def) {
+    static int parseInt(String s, int def) {
         try { return Integer.parseInt(s); } catch (Exception e) { return def; }
     }
 
-    private static Instant parseInstant(String raw, Instant def) {
+    static Instant parseInstant(String raw, Instant def) {
         if (raw == null || raw.isEmpty()) return def;
         try {
             // nombre => epoch sec (10) ou ms (13)
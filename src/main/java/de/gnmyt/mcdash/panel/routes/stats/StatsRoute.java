@@ -3,13 +3,24 @@ package de.gnmyt.mcdash.panel.routes.stats;
 import de.gnmyt.mcdash.MinecraftDashboard;
 import de.gnmyt.mcdash.api.controller.StatsController;
 import de.gnmyt.mcdash.api.handler.DefaultHandler;
+import de.gnmyt.mcdash.api.http.HTTPMethod;
+import de.gnmyt.mcdash.api.http.RateLimitClass;
 import de.gnmyt.mcdash.api.http.Request;
 import de.gnmyt.mcdash.api.http.ResponseController;
-import org.bukkit.Bukkit;
 
 public class StatsRoute extends DefaultHandler {
 
-    private final StatsController STATS = new StatsController(MinecraftDashboard.getInstance());
+    private final StatsController STATS = MinecraftDashboard.getStatsController();
+
+    @Override
+    public RateLimitClass rateLimitClass(HTTPMethod method) {
+        return RateLimitClass.HEAVY_IO;
+    }
+
+    @Override
+    public int maxConcurrency() {
+        return 4;
+    }
 
     /**
      * Gets the current server statistics such as the tps, processors, memory and the space
@@ -21,6 +32,6 @@ public class StatsRoute extends DefaultHandler {
         response.json("tps="+STATS.getTPS(), "processors="+STATS.getAvailableProcessors(),
                 "free_memory="+STATS.getFreeMemory(), "total_memory="+STATS.getTotalMemory(), "used_memory="+STATS.getUsedMemory(),
                 "free_space="+STATS.getFreeSpace(), "total_space="+STATS.getTotalSpace(), "used_space="+STATS.getUsedSpace(),
-                "max_players="+ Bukkit.getMaxPlayers(), "online_players="+Bukkit.getOnlinePlayers().size());
+                "max_players="+STATS.getMaxPlayers(), "online_players="+STATS.getOnlinePlayers());
     }
 }
@@ -3,7 +3,8 @@ package de.gnmyt.mcdash.panel.routes.store;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import de.gnmyt.mcdash.api.handler.DefaultHandler;
-import de.gnmyt.mcdash.api.http.ContentType;
+import de.gnmyt.mcdash.api.http.HTTPMethod;
+import de.gnmyt.mcdash.api.http.RateLimitClass;
 import de.gnmyt.mcdash.api.http.Request;
 import de.gnmyt.mcdash.api.http.ResponseController;
 import de.gnmyt.mcdash.api.json.ArrayBuilder;
@@ -19,6 +20,7 @@ import java.io.File;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.Objects;
+import java.util.concurrent.TimeoutException;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 
@@ -29,6 +31,16 @@ public class StoreRoute extends DefaultHandler {
 
     private static final String ROOT_URL = "https://api.spiget.org/v2/";
 
+    @Override
+    public RateLimitClass rateLimitClass(HTTPMethod method) {
+        return RateLimitClass.HEAVY_IO;
+    }
+
+    @Override
+    public int maxConcurrency() {
+        return 2;
+    }
+
     @Override
     public void get(Request request, ResponseController response) throws Exception {
         String query = request.getQuery().containsKey("query") ? getStringFromQuery(request, "query") : "";
@@ -46,7 +58,7 @@ public class StoreRoute extends DefaultHandler {
         okhttp3.Response httpResponse = client.newCall(new okhttp3.Request.Builder().url(url).build()).execute();
 
         if (httpResponse.code() != 200) {
-            response.type(ContentType.JSON).text(new ArrayBuilder().toJSON());
+            response.json(new ArrayBuilder());
             return;
         }
 
@@ -63,7 +75,7 @@ public class StoreRoute extends DefaultHandler {
                         .register();
         });
 
-        response.type(ContentType.JSON).text(items.toJSON());
+        response.json(items);
     }
 
     @Override
@@ -99,16 +111,17 @@ public class StoreRoute extends DefaultHandler {
         FileUtils.copyInputStreamToFile(client.newCall(new okhttp3.Request.Builder().url(fileUrl).build())
                 .execute().body().byteStream(), new File("plugins//Managed-" + projectId + ".jar"));
 
-        runSync(() -> {
-            try {
-                Bukkit.getPluginManager().loadPlugin(new File("plugins//Managed-" + projectId + ".jar"));
-            } catch (Exception e) {
-                FileUtils.deleteQuietly(new File("plugins//Managed-" + projectId + ".jar"));
-                response.code(400).json("message=\"The item with the id '" + projectId
-                                + "' is not a valid plugin\"", "error=\"" + e.getMessage() + "\"");
-                return;
-            }
-            response.message("The item with the id '" + projectId + "' has been installed");
-        });
+        try {
+            callSync(response, () -> Bukkit.getPluginManager().loadPlugin(new File("plugins//Managed-" + projectId + ".jar")));
+        } catch (TimeoutException e) {
+            throw e;
+        } catch (Exception e) {
+            FileUtils.deleteQuietly(new File("plugins//Managed-" + projectId + ".jar"));
+            response.code(400).json("message=\"The item with the id '" + projectId
+                            + "' is not a valid plugin\"", "error=\"" + e.getMessage() + "\"");
+            return;
+        }
+
+        response.message("The item with the id '" + projectId + "' has been installed");
     }
 }
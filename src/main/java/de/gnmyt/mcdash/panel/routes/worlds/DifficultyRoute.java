@@ -4,6 +4,8 @@ import de.gnmyt.mcdash.api.handler.DefaultHandler;
 import de.gnmyt.mcdash.api.http.Request;
 import de.gnmyt.mcdash.api.http.ResponseController;
 import org.bukkit.Bukkit;
+import org.bukkit.Difficulty;
+import org.bukkit.World;
 
 public class DifficultyRoute extends DefaultHandler {
 
@@ -26,16 +28,31 @@ public class DifficultyRoute extends DefaultHandler {
         String difficulty = getStringFromBody(request, "difficulty");
         String world = getStringFromBody(request, "world");
 
+        Difficulty level;
         if (difficulty.equalsIgnoreCase("peaceful")) {
-            runSync(() -> Bukkit.getWorld(world).setDifficulty(org.bukkit.Difficulty.PEACEFUL));
+            level = Difficulty.PEACEFUL;
         } else if (difficulty.equalsIgnoreCase("easy")) {
-            runSync(() -> Bukkit.getWorld(world).setDifficulty(org.bukkit.Difficulty.EASY));
+            level = Difficulty.EASY;
         } else if (difficulty.equalsIgnoreCase("normal")) {
-            runSync(() -> Bukkit.getWorld(world).setDifficulty(org.bukkit.Difficulty.NORMAL));
+            level = Difficulty.NORMAL;
         } else if (difficulty.equalsIgnoreCase("hard")) {
-            runSync(() -> Bukkit.getWorld(world).setDifficulty(org.bukkit.Difficulty.HARD));
+            level = Difficulty.HARD;
         } else {
             response.code(400).message("The difficulty must be 'peaceful', 'easy', 'normal' or 'hard'");
+            return;
+        }
+
+        boolean updated = callSync(response, "difficulty:" + world + ":" + level, () -> {
+            World target = Bukkit.getWorld(world);
+            if (target == null) return false;
+
+            target.setDifficulty(level);
+            return true;
+        });
+
+        if (!updated) {
+            response.code(404).message("The world " + world + " does not exist");
+            return;
         }
 
         response.message("Successfully updated the difficulty of the world " + world);
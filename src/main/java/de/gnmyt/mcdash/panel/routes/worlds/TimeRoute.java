@@ -4,6 +4,7 @@ import de.gnmyt.mcdash.api.handler.DefaultHandler;
 import de.gnmyt.mcdash.api.http.Request;
 import de.gnmyt.mcdash.api.http.ResponseController;
 import org.bukkit.Bukkit;
+import org.bukkit.World;
 
 public class TimeRoute extends DefaultHandler {
 
@@ -31,7 +32,18 @@ public class TimeRoute extends DefaultHandler {
             return;
         }
 
-        runSync(() -> Bukkit.getWorld(world).setTime(time));
+        boolean updated = callSync(response, "time:" + world + ":" + time, () -> {
+            World target = Bukkit.getWorld(world);
+            if (target == null) return false;
+
+            target.setTime(time);
+            return true;
+        });
+
+        if (!updated) {
+            response.code(404).message("The world " + world + " does not exist");
+            return;
+        }
 
         response.message("Successfully updated the time of the world " + world);
     }
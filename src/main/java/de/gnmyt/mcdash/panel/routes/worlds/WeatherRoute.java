@@ -4,6 +4,7 @@ import de.gnmyt.mcdash.api.handler.DefaultHandler;
 import de.gnmyt.mcdash.api.http.Request;
 import de.gnmyt.mcdash.api.http.ResponseController;
 import org.bukkit.Bukkit;
+import org.bukkit.World;
 
 public class WeatherRoute extends DefaultHandler {
 
@@ -26,23 +27,27 @@ public class WeatherRoute extends DefaultHandler {
         String weather = getStringFromBody(request, "weather");
         String world = getStringFromBody(request, "world");
 
-        if (weather.equalsIgnoreCase("rain")) {
-            runSync(() -> {
-                Bukkit.getWorld(world).setStorm(true);
-                Bukkit.getWorld(world).setThundering(false);
-            });
-        } else if (weather.equalsIgnoreCase("thunder")) {
-            runSync(() -> {
-                Bukkit.getWorld(world).setStorm(true);
-                Bukkit.getWorld(world).setThundering(true);
-            });
-        } else if (weather.equalsIgnoreCase("clear")) {
-            runSync(() -> {
-                Bukkit.getWorld(world).setStorm(false);
-                Bukkit.getWorld(world).setThundering(false);
-            });
-        } else {
+        if (!weather.equalsIgnoreCase("rain") && !weather.equalsIgnoreCase("thunder")
+                && !weather.equalsIgnoreCase("clear")) {
             response.code(400).message("The weather must be 'rain', 'thunder' or 'clear'");
+            return;
+        }
+
+        boolean storm = !weather.equalsIgnoreCase("clear");
+        boolean thundering = weather.equalsIgnoreCase("thunder");
+
+        boolean updated = callSync(response, "weather:" + world + ":" + weather.toLowerCase(), () -> {
+            World target = Bukkit.getWorld(world);
+            if (target == null) return false;
+
+            target.setStorm(storm);
+            target.setThundering(thundering);
+            return true;
+        });
+
+        if (!updated) {
+            response.code(404).message("The world " + world + " does not exist");
+            return;
         }
 
         response.message("Successfully updated the weather of the world " + world);
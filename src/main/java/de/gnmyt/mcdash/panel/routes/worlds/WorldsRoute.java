@@ -2,10 +2,10 @@ package de.gnmyt.mcdash.panel.routes.worlds;
 
 import de.gnmyt.mcdash.MinecraftDashboard;
 import de.gnmyt.mcdash.api.handler.DefaultHandler;
-import de.gnmyt.mcdash.api.http.ContentType;
 import de.gnmyt.mcdash.api.http.Request;
 import de.gnmyt.mcdash.api.http.ResponseController;
 import de.gnmyt.mcdash.api.json.ArrayBuilder;
+import de.gnmyt.mcdash.api.platform.WorldInfo;
 import org.apache.commons.io.FileUtils;
 import org.bukkit.Bukkit;
 import org.bukkit.World;
@@ -13,9 +13,12 @@ import org.bukkit.WorldCreator;
 import org.bukkit.WorldType;
 
 import java.io.File;
+import java.util.concurrent.TimeUnit;
 
 public class WorldsRoute extends DefaultHandler {
 
+    private static final long CREATE_TIMEOUT = TimeUnit.MINUTES.toMillis(1);
+
     /**
      * Gets all worlds
      * @param request The request object from the HttpExchange
@@ -26,20 +29,20 @@ public class WorldsRoute extends DefaultHandler {
     public void get(Request request, ResponseController response) throws Exception {
         ArrayBuilder builder = new ArrayBuilder();
 
-        for (World world : Bukkit.getWorlds()) {
+        for (WorldInfo world : snapshots.getSnapshot().worlds()) {
             builder.addNode()
-                    .add("name", world.getName())
-                    .add("environment", world.getEnvironment().name())
-                    .add("seed", world.getSeed())
-                    .add("difficulty", world.getDifficulty().name())
-                    .add("time", world.getTime())
-                    .add("weather", world.isThundering() ? "thunder" : world.hasStorm() ? "rain" : "clear")
-                    .add("players", world.getPlayers().size())
-                    .add("chunks", world.getLoadedChunks().length)
+                    .add("name", world.name())
+                    .add("environment", world.environment())
+                    .add("seed", world.seed())
+                    .add("difficulty", world.difficulty())
+                    .add("time", world.time())
+                    .add("weather", world.weather())
+                    .add("players", world.players())
+                    .add("chunks", world.chunks())
                     .register();
         }
 
-        response.type(ContentType.JSON).text(builder.toJSON());
+        response.json(builder);
     }
 
     /**
@@ -68,11 +71,16 @@ public class WorldsRoute extends DefaultHandler {
             return;
         }
 
-        runSync(() -> Bukkit.createWorld(new WorldCreator(name)
+        World world = callSync(response, null, CREATE_TIMEOUT, () -> Bukkit.createWorld(new WorldCreator(name)
                 .environment(World.Environment.valueOf(environment.toUpperCase()))
                 .generateStructures(true)
                 .type(WorldType.NORMAL)));
 
+        if (world == null) {
+            response.code(500).message("Could not create the world " + name);
+            return;
+        }
+
         MinecraftDashboard.getWorldManager().addWorld(name);
 
         response.message("Successfully created the world " + name);
@@ -100,14 +108,16 @@ public class WorldsRoute extends DefaultHandler {
             return;
         }
 
-        runSync(() -> {
-            Bukkit.unloadWorld(name, false);
+        boolean unloaded = callSync(response, () -> Bukkit.unloadWorld(name, false));
+        if (!unloaded) {
+            response.code(500).message("Could not unload the world " + name);
+            return;
+        }
 
-            try {
-                FileUtils.deleteDirectory(new File(Bukkit.getWorldContainer().getAbsolutePath() + "/" + name));
-            } catch (Exception ignored) {
-            }
-        });
+        try {
+            FileUtils.deleteDirectory(new File(Bukkit.getWorldContainer().getAbsolutePath() + "/" + name));
+        } catch (Exception ignored) {
+        }
 
         MinecraftDashboard.getWorldManager().removeWorld(name);
 
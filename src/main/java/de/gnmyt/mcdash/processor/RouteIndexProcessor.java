@@ -0,0 +1,140 @@
+package de.gnmyt.mcdash.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Generates the {@code RouteIndex} class, which lists every route of the panel.
+ * This replaces scanning the class path for handlers on every start of the plugin
+ */
+@SupportedAnnotationTypes("*")
+public class RouteIndexProcessor extends AbstractProcessor {
+
+    private static final String ROUTE_PACKAGE = "de.gnmyt.mcdash.panel.routes";
+    private static final String HANDLER_CLASS = "de.gnmyt.mcdash.api.handler.DefaultHandler";
+    private static final String INDEX_PACKAGE = "de.gnmyt.mcdash.panel";
+    private static final String INDEX_CLASS = "RouteIndex";
+
+    private boolean generated;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (generated || roundEnv.getRootElements().isEmpty()) return false;
+
+        TypeElement handler = processingEnv.getElementUtils().getTypeElement(HANDLER_CLASS);
+        if (handler == null) return false;
+
+        TypeMirror handlerType = processingEnv.getTypeUtils().erasure(handler.asType());
+        Set<String> routes = new TreeSet<>();
+
+        for (TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements())) {
+            if (isRoute(type, handlerType)) routes.add(type.getQualifiedName().toString());
+        }
+
+        writeIndex(routes);
+        generated = true;
+        return false;
+    }
+
+    /**
+     * Checks if a class is a route that can be registered
+     * @param type The class you want to check
+     * @param handlerType The type of the default handler
+     * @return <code>true</code> if the class is a public, non-abstract handler in the route package
+     */
+    private boolean isRoute(TypeElement type, TypeMirror handlerType) {
+        if (type.getKind() != ElementKind.CLASS) return false;
+
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+        String packageName = pkg.getQualifiedName().toString();
+        if (!packageName.equals(ROUTE_PACKAGE) && !packageName.startsWith(ROUTE_PACKAGE + ".")) return false;
+
+        Set<Modifier> modifiers = type.getModifiers();
+        if (!modifiers.contains(Modifier.PUBLIC) || modifiers.contains(Modifier.ABSTRACT)) return false;
+        if (!processingEnv.getTypeUtils().isSubtype(type.asType(), handlerType)) return false;
+
+        if (!hasDefaultConstructor(type)) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Routes need a public constructor without parameters", type);
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks if a class has a public constructor without parameters
+     * @param type The class you want to check
+     * @return <code>true</code> if the constructor exists, otherwise <code>false</code>
+     */
+    private boolean hasDefaultConstructor(TypeElement type) {
+        for (Element element : type.getEnclosedElements()) {
+            if (element.getKind() != ElementKind.CONSTRUCTOR) continue;
+
+            ExecutableElement constructor = (ExecutableElement) element;
+            if (constructor.getParameters().isEmpty() && constructor.getModifiers().contains(Modifier.PUBLIC))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Writes the source of the route index
+     * @param routes The qualified names of all routes
+     */
+    private void writeIndex(Set<String> routes) {
+        StringBuilder source = new StringBuilder()
+                .append("package ").append(INDEX_PACKAGE).append(";\n\n")
+                .append("import ").append(HANDLER_CLASS).append(";\n\n")
+                .append("import java.util.List;\n")
+                .append("import java.util.function.Supplier;\n\n")
+                .append("@javax.annotation.processing.Generated(\"").append(getClass().getName()).append("\")\n")
+                .append("public final class ").append(INDEX_CLASS).append(" {\n\n")
+                .append("    private static final List<Supplier<? extends DefaultHandler>> ROUTES = List.of(\n");
+
+        int index = 0;
+        for (String route : routes) {
+            source.append("            ").append(route).append("::new");
+            source.append(++index < routes.size() ? ",\n" : "\n");
+        }
+
+        source.append("    );\n\n")
+                .append("    private ").append(INDEX_CLASS).append("() {\n    }\n\n")
+                .append("    /**\n")
+                .append("     * Gets the constructors of all routes in the {@code ").append(ROUTE_PACKAGE).append("} package\n")
+                .append("     * @return the constructors of all routes\n")
+                .append("     */\n")
+                .append("    public static List<Supplier<? extends DefaultHandler>> getRoutes() {\n")
+                .append("        return ROUTES;\n")
+                .append("    }\n\n")
+                .append("}\n");
+
+        try (Writer writer = processingEnv.getFiler().createSourceFile(INDEX_PACKAGE + "." + INDEX_CLASS).openWriter()) {
+            writer.write(source.toString());
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Could not write the route index: " + e.getMessage());
+        }
+    }
+
+}
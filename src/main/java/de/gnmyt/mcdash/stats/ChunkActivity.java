@@ -0,0 +1,9 @@
+package de.gnmyt.mcdash.stats;
+import java.time.Instant;
+import java.util.List;
+
+/** Activité des chunks d'une fenêtre : chargements/générations par monde et générations par joueur (tri décroissant) */
+public record ChunkActivity(Instant since, int seconds, List<ChunkActivityPoint> worlds, List<ChunkGenerationPoint> players) {
+
+    public static final ChunkActivity EMPTY = new ChunkActivity(Instant.EPOCH, 0, List.of(), List.of());
+}
@@ -0,0 +1,4 @@
+package de.gnmyt.mcdash.stats;
+import java.time.Instant;
+
+public record ChunkActivityPoint(Instant tsUtc, String world, int loaded, int generated) {}
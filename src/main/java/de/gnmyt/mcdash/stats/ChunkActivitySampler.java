@@ -0,0 +1,132 @@
+package de.gnmyt.mcdash.stats;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import de.gnmyt.mcdash.api.platform.Platform;
+
+/**
+ * Compte les chunks chargés et générés par monde, et les chunks générés par joueur (le plus proche du chunk).
+ * Les compteurs ne sont modifiés que sur le thread principal ; une vue immuable est publiée chaque seconde
+ * pour les routes, et chaque fenêtre d'une minute est enregistrée comme série temporelle.
+ */
+public class ChunkActivitySampler implements Runnable, Platform.ChunkListener {
+
+    private static final int WINDOW_SECONDS = 60;
+
+    private final Platform platform;
+    private final StatsService stats;
+    private final String serverId;
+
+    private final Map<String, int[]> worlds = new HashMap<>();       // [chargés, générés] de la fenêtre en cours
+    private final Map<UUID, PlayerCount> players = new HashMap<>();
+    private Instant windowStart = now();
+    private int elapsed;
+
+    private volatile ChunkActivity current = ChunkActivity.EMPTY;
+    private volatile ChunkActivity previous = ChunkActivity.EMPTY;
+    private volatile long loadedTotal;
+    private volatile long generatedTotal;
+    private Platform.Task task;
+
+    public ChunkActivitySampler(Platform platform, StatsService stats, String serverId) {
+        this.platform = platform;
+        this.stats = stats;
+        this.serverId = serverId;
+    }
+
+    @Override
+    public void onChunkLoad(String world, boolean generated, UUID player, String playerName) {
+        if (task == null) return;
+
+        int[] counts = worlds.computeIfAbsent(world, k -> new int[2]);
+        counts[0]++;
+        loadedTotal++;
+
+        if (!generated) return;
+        counts[1]++;
+        generatedTotal++;
+
+        if (player != null) players.computeIfAbsent(player, k -> new PlayerCount(playerName)).generated++;
+    }
+
+    /** Appelé chaque seconde sur le thread principal */
+    @Override
+    public void run() {
+        elapsed++;
+        current = snapshot();
+
+        if (elapsed < WINDOW_SECONDS) return;
+
+        ChunkActivity window = current;
+        stats.recordChunkActivity(serverId, window.since(), window.worlds(), window.players());
+
+        previous = window;
+        worlds.clear();
+        players.clear();
+        windowStart = now();
+        elapsed = 0;
+        current = new ChunkActivity(windowStart, 0, List.of(), List.of());
+    }
+
+    /** planifie toutes les secondes (20 ticks) */
+    public void start() {
+        platform.registerChunkListener(this);
+        this.task = platform.runSyncRepeating(this, 20L, 20L);
+    }
+
+    public void cancel() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    /** Fenêtre en cours (jusqu'à une minute) */
+    public ChunkActivity getCurrent() {
+        return current;
+    }
+
+    /** Dernière fenêtre complète d'une minute */
+    public ChunkActivity getPrevious() {
+        return previous;
+    }
+
+    public long getLoadedTotal() {
+        return loadedTotal;
+    }
+
+    public long getGeneratedTotal() {
+        return generatedTotal;
+    }
+
+    private ChunkActivity snapshot() {
+        List<ChunkActivityPoint> worldPoints = new ArrayList<>(worlds.size());
+        worlds.forEach((world, counts) -> worldPoints.add(new ChunkActivityPoint(windowStart, world, counts[0], counts[1])));
+
+        List<ChunkGenerationPoint> playerPoints = new ArrayList<>(players.size());
+        players.forEach((uuid, count) -> playerPoints.add(new ChunkGenerationPoint(windowStart, uuid, count.name, count.generated)));
+        playerPoints.sort(Comparator.comparingInt(ChunkGenerationPoint::generated).reversed());
+
+        return new ChunkActivity(windowStart, elapsed, List.copyOf(worldPoints), List.copyOf(playerPoints));
+    }
+
+    private static Instant now() {
+        return Instant.now().truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    private static final class PlayerCount {
+        private final String name;
+        private int generated;
+
+        private PlayerCount(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package de.gnmyt.mcdash.stats;
+import java.time.Instant;
+import java.util.UUID;
+
+public record ChunkGenerationPoint(Instant tsUtc, UUID playerUuid, String playerName, int generated) {}
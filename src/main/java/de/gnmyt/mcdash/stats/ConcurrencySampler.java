@@ -2,30 +2,36 @@ package de.gnmyt.mcdash.stats;
 
 import java.time.Instant;
 
-import org.bukkit.Bukkit;
-import org.bukkit.plugin.Plugin;
-import org.bukkit.scheduler.BukkitRunnable;
+import de.gnmyt.mcdash.api.platform.Platform;
 
-public class ConcurrencySampler extends BukkitRunnable {
+public class ConcurrencySampler implements Runnable {
 
-    private final Plugin plugin;
+    private final Platform platform;
     private final StatsService stats;
     private final String serverId;
+    private Platform.Task task;
 
-    public ConcurrencySampler(Plugin plugin, StatsService stats, String serverId) {
-        this.plugin = plugin;
+    public ConcurrencySampler(Platform platform, StatsService stats, String serverId) {
+        this.platform = platform;
         this.stats = stats;
         this.serverId = serverId;
     }
 
     @Override
     public void run() {
-        int online = Bukkit.getOnlinePlayers().size();
+        int online = platform.getOnlinePlayerCount();
         stats.sampleConcurrency(serverId, online, "ok", Instant.now());
     }
 
     /** planifie toutes les 60s (20 ticks = 1s) */
     public void start() {
-        this.runTaskTimer(plugin, 20L, 20L * 60L);
+        this.task = platform.runSyncRepeating(this, 20L, 20L * 60L);
     }
-}
\ No newline at end of file
+
+    public void cancel() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+}
@@ -13,18 +13,18 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
-import org.bukkit.plugin.Plugin;
+import de.gnmyt.mcdash.api.platform.Platform;
 
 public class SqliteStatsService implements StatsService, AutoCloseable {
 
     private static final DateTimeFormatter ISO_UTC = DateTimeFormatter.ISO_INSTANT;
 
-    private final Plugin plugin;
+    private final Platform platform;
     private final String serverId;
     private Connection conn;
 
-    public SqliteStatsService(Plugin plugin, String serverId) {
-        this.plugin = plugin;
+    public SqliteStatsService(Platform platform, String serverId) {
+        this.platform = platform;
         this.serverId = serverId;
         this.conn = open();
         initSchema();
@@ -32,7 +32,7 @@ public class SqliteStatsService implements StatsService, AutoCloseable {
 
     private Connection open() {
         try {
-            File dataDir = new File(plugin.getDataFolder(), "data");
+            File dataDir = new File(platform.getDataFolder(), "data");
             if (!dataDir.exists() && !dataDir.mkdirs()) {
                 throw new IllegalStateException("Cannot create data dir: " + dataDir);
             }
@@ -74,12 +74,37 @@ public class SqliteStatsService implements StatsService, AutoCloseable {
             """;
         final String ddlIdx3 = "CREATE INDEX IF NOT EXISTS idx_pc_server_ts ON player_concurrency(server_id, ts_utc);";
 
+        final String ddlChunks = """
+            CREATE TABLE IF NOT EXISTS chunk_activity (
+              ts_utc    TEXT    NOT NULL,
+              server_id TEXT    NOT NULL,
+              world     TEXT    NOT NULL,
+              loaded    INTEGER NOT NULL,
+              generated INTEGER NOT NULL,
+              PRIMARY KEY (ts_utc, server_id, world)
+            );
+            """;
+        final String ddlGen = """
+            CREATE TABLE IF NOT EXISTS chunk_generation (
+              ts_utc      TEXT    NOT NULL,
+              server_id   TEXT    NOT NULL,
+              player_uuid TEXT    NOT NULL,
+              player_name TEXT    NOT NULL,
+              generated   INTEGER NOT NULL,
+              PRIMARY KEY (ts_utc, server_id, player_uuid)
+            );
+            """;
+        final String ddlIdx4 = "CREATE INDEX IF NOT EXISTS idx_cg_server_ts ON chunk_generation(server_id, ts_utc);";
+
         try (Statement s = conn.createStatement()) {
             s.execute(ddlEvents);
             s.execute(ddlIdx1);
             s.execute(ddlIdx2);
             s.execute(ddlConc);
             s.execute(ddlIdx3);
+            s.execute(ddlChunks);
+            s.execute(ddlGen);
+            s.execute(ddlIdx4);
         } catch (SQLException e) {
             throw new RuntimeException("Failed to init schema", e);
         }
@@ -109,7 +134,7 @@ public class SqliteStatsService implements StatsService, AutoCloseable {
             ps.setString(5, serverId);
             ps.executeUpdate();
         } catch (SQLException e) {
-            plugin.getLogger().warning("Failed to insert " + event + " for " + name + ": " + e.getMessage());
+            platform.getLogger().warning("Failed to insert " + event + " for " + name + ": " + e.getMessage());
         }
     }
 
@@ -127,7 +152,58 @@ public class SqliteStatsService implements StatsService, AutoCloseable {
             ps.setString(4, status == null ? "ok" : status);
             ps.executeUpdate();
         } catch (SQLException e) {
-            plugin.getLogger().warning("Failed to insert concurrency sample: " + e.getMessage());
+            platform.getLogger().warning("Failed to insert concurrency sample: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void recordChunkActivity(String serverId, Instant tsUtc, List<ChunkActivityPoint> worlds,
+                                    List<ChunkGenerationPoint> players) {
+        if (worlds.isEmpty() && players.isEmpty()) return;
+
+        final String sqlWorld = """
+            INSERT OR REPLACE INTO chunk_activity
+            (ts_utc, server_id, world, loaded, generated)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+        final String sqlPlayer = """
+            INSERT OR REPLACE INTO chunk_generation
+            (ts_utc, server_id, player_uuid, player_name, generated)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+        String ts = ISO_UTC.format(tsUtc);
+
+        // Une seule transaction par fenêtre : un fsync au lieu d'un par ligne
+        try {
+            conn.setAutoCommit(false);
+            try (PreparedStatement ps = conn.prepareStatement(sqlWorld)) {
+                for (ChunkActivityPoint p : worlds) {
+                    ps.setString(1, ts);
+                    ps.setString(2, serverId);
+                    ps.setString(3, p.world());
+                    ps.setInt(4, p.loaded());
+                    ps.setInt(5, p.generated());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+            try (PreparedStatement ps = conn.prepareStatement(sqlPlayer)) {
+                for (ChunkGenerationPoint p : players) {
+                    ps.setString(1, ts);
+                    ps.setString(2, serverId);
+                    ps.setString(3, p.playerUuid().toString());
+                    ps.setString(4, p.playerName());
+                    ps.setInt(5, p.generated());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+            conn.commit();
+        } catch (SQLException e) {
+            try { conn.rollback(); } catch (SQLException ignored) {}
+            platform.getLogger().warning("Failed to insert chunk activity: " + e.getMessage());
+        } finally {
+            try { conn.setAutoCommit(true); } catch (SQLException ignored) {}
         }
     }
 
@@ -175,11 +251,76 @@ public class SqliteStatsService implements StatsService, AutoCloseable {
                 }
             }
         } catch (SQLException e) {
-            plugin.getLogger().warning("queryConcurrency failed: " + e.getMessage());
+            platform.getLogger().warning("queryConcurrency failed: " + e.getMessage());
         }
         return list;
     }
     
+    @Override
+    public List<ChunkActivityPoint> queryChunkActivity(Instant from, Instant to, int bucketMinutes) {
+        final String sql = """
+            SELECT
+            ((strftime('%s', ts_utc) / (? * 60)) * (? * 60)) AS bucket_epoch,
+            world,
+            SUM(loaded) AS loaded,
+            SUM(generated) AS generated
+            FROM chunk_activity
+            WHERE server_id = ? AND ts_utc >= ? AND ts_utc <= ?
+            GROUP BY bucket_epoch, world
+            ORDER BY bucket_epoch, world
+            """;
+
+        var list = new ArrayList<ChunkActivityPoint>();
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            int bucket = Math.max(1, bucketMinutes);
+            ps.setInt(1, bucket);
+            ps.setInt(2, bucket);
+            ps.setString(3, serverId);
+            ps.setString(4, from.toString());
+            ps.setString(5, to.toString());
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    list.add(new ChunkActivityPoint(Instant.ofEpochSecond(rs.getLong("bucket_epoch")),
+                            rs.getString("world"), rs.getInt("loaded"), rs.getInt("generated")));
+                }
+            }
+        } catch (SQLException e) {
+            platform.getLogger().warning("queryChunkActivity failed: " + e.getMessage());
+        }
+        return list;
+    }
+
+    @Override
+    public List<ChunkGenerationPoint> queryTopExplorers(Instant from, Instant to, int limit) {
+        final String sql = """
+            SELECT player_uuid, MAX(player_name) AS player_name, SUM(generated) AS generated
+            FROM chunk_generation
+            WHERE server_id = ? AND ts_utc >= ? AND ts_utc <= ?
+            GROUP BY player_uuid
+            ORDER BY generated DESC
+            LIMIT ?
+            """;
+
+        var list = new ArrayList<ChunkGenerationPoint>();
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, serverId);
+            ps.setString(2, from.toString());
+            ps.setString(3, to.toString());
+            ps.setInt(4, Math.max(1, Math.min(100, limit)));
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    list.add(new ChunkGenerationPoint(from, UUID.fromString(rs.getString("player_uuid")),
+                            rs.getString("player_name"), rs.getInt("generated")));
+                }
+            }
+        } catch (SQLException e) {
+            platform.getLogger().warning("queryTopExplorers failed: " + e.getMessage());
+        }
+        return list;
+    }
+
     @Override
     public List<SessionEvent> getRecentEvents(int limit) {
         final String sql = """
@@ -202,7 +343,7 @@ public class SqliteStatsService implements StatsService, AutoCloseable {
                 }
             }
         } catch (SQLException e) {
-            plugin.getLogger().warning("getRecentEvents failed: " + e.getMessage());
+            platform.getLogger().warning("getRecentEvents failed: " + e.getMessage());
         }
         return list;
     }
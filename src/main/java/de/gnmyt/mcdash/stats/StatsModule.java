@@ -1,38 +1,39 @@
 package de.gnmyt.mcdash.stats;
 
-import org.bukkit.Bukkit;
-import org.bukkit.plugin.PluginManager;
-import org.bukkit.plugin.java.JavaPlugin;
-
+import de.gnmyt.mcdash.api.platform.Platform;
 import de.gnmyt.mcdash.listener.PlayerSessionListener;
 
 public final class StatsModule {
 
-    private final JavaPlugin plugin;
+    private final Platform platform;
     private final String serverId;
 
     private StatsService statsService;
     private ConcurrencySampler sampler;
+    private ChunkActivitySampler chunkSampler;
 
-    public StatsModule(JavaPlugin plugin, String serverId) {
-        this.plugin = plugin;
+    public StatsModule(Platform platform, String serverId) {
+        this.platform = platform;
         this.serverId = serverId;
     }
 
     public void start() {
         // Implémentation : SQLite
-        this.statsService = new SqliteStatsService(plugin, serverId);
+        this.statsService = new SqliteStatsService(platform, serverId);
         this.statsService.onStartup();
 
         // Listener JOIN/QUIT
-        PluginManager pm = Bukkit.getPluginManager();
-        pm.registerEvents(new PlayerSessionListener(statsService, serverId), plugin);
+        platform.registerPlayerListener(new PlayerSessionListener(statsService, serverId));
 
         // Sampler chaque minute
-        this.sampler = new ConcurrencySampler(plugin, statsService, serverId);
+        this.sampler = new ConcurrencySampler(platform, statsService, serverId);
         this.sampler.start();
 
-        plugin.getLogger().info("[StatsModule] started (serverId=" + serverId + ")");
+        // Chargements/générations de chunks, fenêtres d'une minute
+        this.chunkSampler = new ChunkActivitySampler(platform, statsService, serverId);
+        this.chunkSampler.start();
+
+        platform.getLogger().info("[StatsModule] started (serverId=" + serverId + ")");
     }
 
     public void stop() {
@@ -40,14 +41,22 @@ public final class StatsModule {
             sampler.cancel();
             sampler = null;
         }
+        if (chunkSampler != null) {
+            chunkSampler.cancel();
+            chunkSampler = null;
+        }
         if (statsService != null) {
             statsService.close();
             statsService = null;
         }
-        plugin.getLogger().info("[StatsModule] stopped");
+        platform.getLogger().info("[StatsModule] stopped");
     }
 
     public StatsService getStatsService() {
         return statsService;
     }
+
+    public ChunkActivitySampler getChunkSampler() {
+        return chunkSampler;
+    }
 }
\ No newline at end of file
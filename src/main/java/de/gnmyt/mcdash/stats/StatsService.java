@@ -9,9 +9,14 @@ public interface StatsService {
     void logJoin(UUID playerUuid, String playerName, String serverId, Instant tsUtc);
     void logQuit(UUID playerUuid, String playerName, String serverId, Instant tsUtc);
     void sampleConcurrency(String serverId, int onlinePlayers, String status, Instant tsUtc);
+    void recordChunkActivity(String serverId, Instant tsUtc, List<ChunkActivityPoint> worlds, List<ChunkGenerationPoint> players);
 
     List<ConcurrencyPoint> queryConcurrency(Instant from, Instant to, int bucketMinutes);
     List<SessionEvent> getRecentEvents(int limit);
+    List<ChunkActivityPoint> queryChunkActivity(Instant from, Instant to, int bucketMinutes);
+
+    /** Joueurs ayant généré le plus de chunks sur la période (tsUtc = début de période) */
+    List<ChunkGenerationPoint> queryTopExplorers(Instant from, Instant to, int limit);
 
     /** Optionnel: housekeeping au démarrage (fermer sessions “ouvertes” > Xh, etc.) */
     default void onStartup() {}
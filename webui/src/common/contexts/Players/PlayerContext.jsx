@@ -1,5 +1,5 @@
 import {useState, useEffect, createContext} from "react";
-import {jsonRequest} from "@/common/utils/RequestUtil";
+import {jsonRequest, subscribeEvents} from "@/common/utils/RequestUtil";
 
 export const PlayerContext = createContext({});
 
@@ -16,8 +16,12 @@ export const PlayerProvider = (props) => {
 
     useEffect(() => {
         updatePlayers();
-        const interval = setInterval(() => updatePlayers(), 5000);
-        return () => clearInterval(interval);
+        const unsubscribe = subscribeEvents({players: () => updatePlayers()});
+        const interval = setInterval(() => updatePlayers(), 30000);
+        return () => {
+            unsubscribe();
+            clearInterval(interval);
+        };
     }, []);
 
     return (
@@ -1,19 +1,40 @@
 // Get the default headers of the request
 const getHeaders = () => {
+    if (sessionStorage.getItem("session")) return {Authorization: "Bearer " + sessionStorage.getItem("session")};
     return localStorage.getItem("token") ? {Authorization: "Basic " + localStorage.getItem("token")} : {};
 }
 
+// Exchange the stored credentials for a short-lived session token
+const refreshSession = async () => {
+    sessionStorage.removeItem("session");
+    if (!localStorage.getItem("token")) return false;
+
+    const response = await fetch("/api/session", {method: "POST", headers: getHeaders()});
+    if (!response.ok) return false;
+
+    sessionStorage.setItem("session", (await response.json()).token);
+    return true;
+}
+
 // Run a plain request with all default values
 export const request = async (path, method = "GET", body = {}, headers = {}, abort = true) => {
-    const controller = new AbortController();
-    if (abort) setTimeout(() => {controller.abort()}, 10000);
+    if (!sessionStorage.getItem("session")) await refreshSession();
 
+    const send = () => {
+        const controller = new AbortController();
+        if (abort) setTimeout(() => {controller.abort()}, 10000);
 
-    return await fetch("/api/" + path, {
-        headers: {...getHeaders(), ...headers}, method,
-        body: method !== "GET" ? new URLSearchParams(body) : undefined,
-        signal: controller.signal
-    });
+        return fetch("/api/" + path, {
+            headers: {...getHeaders(), ...headers}, method,
+            body: method !== "GET" ? (typeof body === "string" || body instanceof Blob ? body : new URLSearchParams(body)) : undefined,
+            signal: controller.signal
+        });
+    }
+
+    const response = await send();
+    if (response.status === 401 && sessionStorage.getItem("session") && await refreshSession()) return await send();
+
+    return response;
 }
 
 // Run a GET request and get the json of the response
@@ -21,6 +42,41 @@ export const jsonRequest = async (path, headers = {}) => {
     return (await request(path, "GET", null, headers)).json();
 }
 
+// Run multiple requests in a single round trip, e.g. [{path: "stats"}, {path: "players/online"}]
+export const batchRequest = async (requests) => {
+    const response = await request("batch", "POST", JSON.stringify(requests), {"Content-Type": "application/json"});
+    return (await response.json()).map(result => result.body);
+}
+
+// Subscribe to live server events, e.g. {stats: (data) => ...}. Returns a function that closes the stream
+export const subscribeEvents = (handlers) => {
+    let source, closed = false;
+
+    const connect = async () => {
+        if (!sessionStorage.getItem("session") && !await refreshSession()) return;
+        if (closed) return;
+
+        source = new EventSource("/api/events?topics=" + Object.keys(handlers).join(",")
+            + "&token=" + encodeURIComponent(sessionStorage.getItem("session")));
+
+        Object.entries(handlers).forEach(([topic, handler]) =>
+            source.addEventListener(topic, (event) => handler(JSON.parse(event.data))));
+
+        source.onerror = () => {
+            if (source.readyState !== EventSource.CLOSED || closed) return;
+            sessionStorage.removeItem("session");
+            setTimeout(connect, 5000);
+        };
+    }
+
+    connect();
+
+    return () => {
+        closed = true;
+        source?.close();
+    };
+}
+
 // Dispatches the provided command
 export const dispatchCommand = (command) => {
     return postRequest("console", {command});
@@ -69,4 +125,36 @@ export const uploadRequest = async (path, file, headers = {}) => {
         headers: {...getHeaders(true), ...headers}, method: "PUT",
         body: formData
     });
-}
\ No newline at end of file
+}
+
+// Upload a large file in chunks. A chunk that fails is retried from the offset the server has received
+export const resumableUploadRequest = async (path, file) => {
+    const created = await postRequest("filebrowser/upload", {path, name: file.name, size: file.size});
+    if (!created.ok) return created;
+
+    let {id, offset, chunk_size: chunkSize, complete} = await created.json();
+    let attempts = 0;
+
+    while (!complete) {
+        const response = await request("filebrowser/upload/" + id, "PATCH",
+            file.slice(offset, offset + chunkSize), {"Upload-Offset": String(offset)}, false).catch(() => null);
+
+        if (response?.ok) {
+            ({offset, complete} = await response.json());
+            attempts = 0;
+            continue;
+        }
+
+        if (response?.status === 404 || response?.status === 413 || ++attempts > 5) {
+            await deleteRequest("filebrowser/upload/" + id).catch(() => null);
+            return response ?? new Response(null, {status: 500});
+        }
+
+        await new Promise(resolve => setTimeout(resolve, 1000 * 2 ** attempts));
+
+        const state = await request("filebrowser/upload/" + id).catch(() => null);
+        if (state?.ok) ({offset, complete} = await state.json());
+    }
+
+    return new Response(null, {status: 200});
+}
@@ -14,6 +14,7 @@ export const Login = () => {
     const login = (e) => {
         if (e) e.preventDefault();
         localStorage.setItem("token", Buffer.from(`${username}:${password}`).toString("base64"));
+        sessionStorage.removeItem("session");
         checkToken().then((r) => setLoginFailed(!r));
     }
 
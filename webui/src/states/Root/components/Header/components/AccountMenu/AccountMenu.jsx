@@ -5,6 +5,7 @@ import {SettingsContext} from "@contexts/Settings";
 import {TokenContext} from "@contexts/Token";
 import {t} from "i18next";
 import ChangeLanguageDialog from "./components/ChangeLanguageDialog";
+import {deleteRequest} from "@/common/utils/RequestUtil.js";
 
 const DONATION_URL = "https://ko-fi.com/gnmyt";
 
@@ -23,8 +24,11 @@ export const AccountMenu = ({menuOpen, setMenuOpen}) => {
 
     const logout = () => {
         setMenuOpen(false);
-        localStorage.removeItem("token");
-        checkToken();
+        deleteRequest("session").finally(() => {
+            localStorage.removeItem("token");
+            sessionStorage.removeItem("session");
+            checkToken();
+        });
     }
 
     const openDonation = () => {
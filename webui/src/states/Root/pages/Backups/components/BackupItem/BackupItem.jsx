@@ -24,7 +24,7 @@ export const BackupItem = ({id, created, size, latest, tag, modes, setDelete}) =
     }
 
     const download = () => {
-        downloadRequest("backups/download?backup_id=" + id);
+        downloadRequest("backups/" + encodeURIComponent(id) + "/download");
     }
 
     return (
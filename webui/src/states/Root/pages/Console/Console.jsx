@@ -1,4 +1,4 @@
-import {dispatchCommand, request} from "@/common/utils/RequestUtil";
+import {dispatchCommand, request, subscribeEvents} from "@/common/utils/RequestUtil";
 import React, {useEffect, useRef, useState} from "react";
 import {Terminal} from "xterm";
 import {FitAddon} from "xterm-addon-fit";
@@ -59,7 +59,22 @@ export const Console = () => {
         terminal.open(terminalRef.current);
         fitAddon.fit();
 
-        const updateConsole = () => {
+        const writeLine = (line) => {
+            const logLevelRegex = /\[(\d{2}:\d{2}:\d{2})] \[.*?\/(INFO|WARN(ING)?|ERROR)]: /;
+
+            line = line.replace(logLevelRegex, (match, time, level) => {
+                let colorCode = '\x1b[0m';
+                if (level === 'INFO') colorCode = '\x1b[34m';
+                else if (level === 'WARN' || level === 'WARNING') colorCode = '\x1b[33m';
+                else if (level === 'ERROR') colorCode = '\x1b[31m';
+
+                return `[${time}] [${colorCode}${level}\x1b[0m]: ${colorCode === '\x1b[34m' ? '' : colorCode}`;
+            });
+
+            terminal.writeln(line + '\x1b[0m');
+        };
+
+        const loadConsole = () => {
             request("console/?startLine=" + currentLine).then(async (r) => {
                 const lines = (await r.text()).split("\n");
                 let lineAmount = lines.length;
@@ -67,35 +82,20 @@ export const Console = () => {
 
                 if (currentLine === 0 && lines.length >= 100) lines.splice(0, lines.length - 100);
 
-                lines.forEach((line) => {
-                    const logLevelRegex = /\[(\d{2}:\d{2}:\d{2})] \[.*?\/(INFO|WARN(ING)?|ERROR)]: /;
-
-                    line = line.replace(logLevelRegex, (match, time, level) => {
-                        let colorCode = '\x1b[0m';
-                        if (level === 'INFO') colorCode = '\x1b[34m';
-                        else if (level === 'WARN' || level === 'WARNING') colorCode = '\x1b[33m';
-                        else if (level === 'ERROR') colorCode = '\x1b[31m';
-
-                        return `[${time}] [${colorCode}${level}\x1b[0m]: ${colorCode === '\x1b[34m' ? '' : colorCode}`;
-                    });
-
-                    terminal.writeln(line + '\x1b[0m');
-                });
+                lines.forEach(writeLine);
 
                 currentLine += lineAmount;
             });
         };
 
-        const interval = setInterval(() => {
-            updateConsole();
-        }, 2000);
+        loadConsole();
 
-        updateConsole();
+        const unsubscribe = subscribeEvents({console: (data) => data.lines.forEach(writeLine)});
 
         return () => {
             terminal.dispose();
             window.removeEventListener("resize", resize);
-            clearInterval(interval);
+            unsubscribe();
         };
     }, []);
 
@@ -2,7 +2,9 @@ import {Box, Chip, CircularProgress, IconButton, Stack, Tooltip, Typography} fro
 import {Close, CreateNewFolder, UploadFile} from "@mui/icons-material";
 import NewFolderDialog from "@/states/Root/pages/Files/components/FileHeader/components/NewFolderDialog";
 import React, {useState} from "react";
-import {uploadRequest} from "@/common/utils/RequestUtil.js";
+import {resumableUploadRequest, uploadRequest} from "@/common/utils/RequestUtil.js";
+
+const RESUMABLE_UPLOAD_SIZE = 32 * 1024 * 1024;
 import {t} from "i18next";
 
 export const FileHeader = ({currentFile, directory, setDirectory, setCurrentFile, updateFiles, setSnackbar}) => {
@@ -17,7 +19,10 @@ export const FileHeader = ({currentFile, directory, setDirectory, setCurrentFile
             setLoading(true);
             const file = input.files[0];
 
-            uploadRequest("filebrowser/file?path=." + directory, file).then(() => {
+            const send = file.size > RESUMABLE_UPLOAD_SIZE ? resumableUploadRequest("." + directory, file)
+                : uploadRequest("filebrowser/file?path=." + directory, file);
+
+            send.then(() => {
                 updateFiles();
                 setSnackbar(t("files.file_uploaded"));
                 setLoading(false);
@@ -1,26 +1,25 @@
 import { useState, useEffect, createContext } from "react";
-import { jsonRequest } from "@/common/utils/RequestUtil";
+import { jsonRequest, subscribeEvents } from "@/common/utils/RequestUtil";
 
 export const StatsContext = createContext({});
 
 export const StatsProvider = (props) => {
     const [stats, setStats] = useState([]);
 
-    const updateStats = () => {
-        jsonRequest("stats/").then((r) => {
-            setStats((prevStats) => {
-                const newStats = [...prevStats, {date: new Date(), ...r}];
-                if (newStats.length > 20)
-                    newStats.shift();
-                return newStats;
-            });
+    const addStats = (r) => {
+        setStats((prevStats) => {
+            const newStats = [...prevStats, {date: new Date(), ...r}];
+            if (newStats.length > 20)
+                newStats.shift();
+            return newStats;
         });
     };
 
+    const updateStats = () => jsonRequest("stats/").then(addStats);
+
     useEffect(() => {
         updateStats();
-        const interval = setInterval(() => updateStats(), 1000);
-        return () => clearInterval(interval);
+        return subscribeEvents({stats: addStats});
     }, []);
 
     return (
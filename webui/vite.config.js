@@ -1,9 +1,26 @@
 import {defineConfig} from "vite";
 import path from "path";
+import fs from "fs";
+import zlib from "zlib";
 import react from "@vitejs/plugin-react";
 
+// Writes a brotli compressed copy next to every text asset, the plugin serves it from its in-memory cache
+const brotliAssets = () => ({
+    name: "brotli-assets",
+    apply: "build",
+    writeBundle(options, bundle) {
+        for (const fileName of Object.keys(bundle)) {
+            if (!/\.(html|js|css|svg|json)$/.test(fileName)) continue;
+            const file = path.resolve(options.dir, fileName);
+            fs.writeFileSync(file + ".br", zlib.brotliCompressSync(fs.readFileSync(file), {
+                params: {[zlib.constants.BROTLI_PARAM_QUALITY]: zlib.constants.BROTLI_MAX_QUALITY}
+            }));
+        }
+    }
+});
+
 export default defineConfig({
-    plugins: [react()],
+    plugins: [react(), brotliAssets()],
     server: {
         proxy: {
             "/api": "http://localhost:7867"